@@ -32,9 +32,9 @@ export const fetchCoinDetails = async (coinId: string) => {
   }
 };
 
-export const fetchMarketChart = async (coinId: string, days: number) => {
+export const fetchMarketChart = async (coinId: string, days: number, points = 200) => {
   try {
-    const response = await axios.get(`${API_URL}/coins/${coinId}/chart?days=${days}`);
+    const response = await axios.get(`${API_URL}/coins/${coinId}/chart?days=${days}&points=${points}`);
     return response.data;
   } catch (error) {
     console.error(`Error fetching market chart for coin ${coinId}:`, error);
@@ -50,4 +50,18 @@ export const searchCoin = async (keyword: string) => {
     console.error('Error searching coins:', error);
     throw error;
   }
-};
\ No newline at end of file
+};
+
+export const subscribePrices = (coinIds: string[], onPrices: (prices: any[]) => void) => {
+  const query = coinIds.length > 0 ? `?ids=${coinIds.join(',')}` : '';
+  const source = new EventSource(`${API_URL}/coins/stream${query}`);
+
+  source.addEventListener('prices', (event) => {
+    onPrices(JSON.parse((event as MessageEvent).data));
+  });
+  source.onerror = (error) => {
+    console.error('Price stream error:', error);
+  };
+
+  return () => source.close();
+};
@@ -0,0 +1,93 @@
+package com.fakecombank.orion.bench;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Compares a JMH JSON result with the stored baseline. A benchmark regresses when its score is worse than the
+// baseline by more than the tolerance (lower throughput, or higher time per op), or when it allocates more per
+// operation by more than the tolerance plus a small absolute allowance for profiler noise. Benchmarks without a
+// baseline are reported and skipped. With update set the result replaces the baseline instead.
+//
+// Usage: BaselineCheck <result.json> <baseline.json> <tolerance> <update>
+public class BaselineCheck {
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    private static final double ALLOCATION_SLACK_BYTES = 64;
+
+    public static void main(String[] args) throws Exception {
+        Path result = Paths.get(args[0]);
+        Path baseline = Paths.get(args[1]);
+        double tolerance = Double.parseDouble(args[2]);
+
+        if (Boolean.parseBoolean(args[3])) {
+            Files.createDirectories(baseline.getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated from " + result);
+            return;
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> expected = index(objectMapper.readTree(baseline.toFile()));
+        Map<String, JsonNode> actual = index(objectMapper.readTree(new File(result.toString())));
+        int regressions = 0;
+
+        for (Map.Entry<String, JsonNode> entry : actual.entrySet()) {
+            JsonNode run = entry.getValue();
+            JsonNode base = expected.get(entry.getKey());
+
+            if (base == null) {
+                System.out.println("NEW   " + entry.getKey() + " " + score(run));
+                continue;
+            }
+
+            boolean higherIsBetter = "thrpt".equals(run.path("mode").asText());
+            double score = run.path("primaryMetric").path("score").asDouble();
+            double baseScore = base.path("primaryMetric").path("score").asDouble();
+            double change = (score - baseScore) / baseScore;
+            boolean slower = higherIsBetter ? change < -tolerance : change > tolerance;
+
+            double allocation = run.path("secondaryMetrics").path(ALLOCATION).path("score").asDouble();
+            double baseAllocation = base.path("secondaryMetrics").path(ALLOCATION).path("score").asDouble();
+            boolean allocates = allocation > baseAllocation * (1 + tolerance) + ALLOCATION_SLACK_BYTES;
+
+            if (slower || allocates) {
+                regressions++;
+            }
+
+            System.out.printf("%s %s %s (%+.1f%%), %.0f B/op (baseline %.0f B/op)%n",
+                    slower || allocates ? "FAIL " : "OK   ", entry.getKey(), score(run), change * 100, allocation, baseAllocation);
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + Math.round(tolerance * 100) + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+
+        for (JsonNode run : runs) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+
+            run.path("params").fields().forEachRemaining(param -> key.append(':').append(param.getKey()).append('=')
+                    .append(param.getValue().asText()));
+            byKey.put(key.toString(), run);
+        }
+
+        return byKey;
+    }
+
+    private static String score(JsonNode run) {
+        JsonNode metric = run.path("primaryMetric");
+
+        return String.format("%.1f %s", metric.path("score").asDouble(), metric.path("scoreUnit").asText());
+    }
+}
@@ -0,0 +1,92 @@
+package com.fakecombank.orion.bench;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.mail.MailSenderAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.model.Wallet;
+import com.fakecombank.orion.repository.CoinRepository;
+import com.fakecombank.orion.repository.UserRepository;
+import com.fakecombank.orion.service.WalletService;
+import com.fakecombank.orion.service.impl.AssetServiceImpl;
+import com.fakecombank.orion.service.impl.ConflictRetryServiceImpl;
+import com.fakecombank.orion.service.impl.IdempotencyServiceImpl;
+import com.fakecombank.orion.service.impl.JournalServiceImpl;
+import com.fakecombank.orion.service.impl.LedgerServiceImpl;
+import com.fakecombank.orion.service.impl.LivePriceServiceImpl;
+import com.fakecombank.orion.service.impl.MatchingEngineImpl;
+import com.fakecombank.orion.service.impl.OrderFillWriter;
+import com.fakecombank.orion.service.impl.OrderServiceImpl;
+import com.fakecombank.orion.service.impl.WalletServiceImpl;
+
+// The order, wallet and idempotency services with their real collaborators on an in-memory H2 database. Only the
+// beans on those paths are imported, so mail, payments and market-data polling stay out of the measurements.
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = { SecurityAutoConfiguration.class, UserDetailsServiceAutoConfiguration.class,
+        MailSenderAutoConfiguration.class })
+@EntityScan(basePackageClasses = User.class)
+@EnableJpaRepositories(basePackageClasses = UserRepository.class)
+@Import({ OrderServiceImpl.class, AssetServiceImpl.class, WalletServiceImpl.class, LivePriceServiceImpl.class,
+        JournalServiceImpl.class, LedgerServiceImpl.class, ConflictRetryServiceImpl.class, MatchingEngineImpl.class,
+        OrderFillWriter.class, IdempotencyServiceImpl.class })
+public class BenchApplication {
+
+    public static ConfigurableApplicationContext start(String name) {
+        String journalDir;
+
+        try {
+            journalDir = Files.createTempDirectory("orion-bench-journal").toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Passed as arguments so they win over any application.properties on the orion classpath.
+        return new SpringApplicationBuilder(BenchApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.open-in-view=false",
+                        "--logging.level.root=WARN",
+                        "--journal.dir=" + journalDir,
+                        "--journal.await-flush=false",
+                        "--market-data.price.max-age-seconds=86400");
+    }
+
+    public static User user(ConfigurableApplicationContext context, String email, long balance) {
+        User user = new User();
+        user.setEmail(email);
+        user = context.getBean(UserRepository.class).save(user);
+
+        WalletService walletService = context.getBean(WalletService.class);
+        Wallet wallet = walletService.getUserWallet(user);
+        walletService.addBalance(wallet, balance);
+
+        return user;
+    }
+
+    public static Coin coin(ConfigurableApplicationContext context, String id, String symbol) {
+        Coin coin = new Coin();
+        coin.setId(id);
+        coin.setSymbol(symbol);
+
+        return context.getBean(CoinRepository.class).save(coin);
+    }
+}
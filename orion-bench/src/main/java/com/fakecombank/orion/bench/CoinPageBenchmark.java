@@ -0,0 +1,71 @@
+package com.fakecombank.orion.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fakecombank.orion.model.Coin;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Deserializing a /coins/markets page the way CoinServiceImpl and MarketDataPoller do, with the ObjectMapper
+// defaults Spring Boot applies (unknown properties ignored).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoinPageBenchmark {
+    private static final TypeReference<List<Coin>> COINS = new TypeReference<List<Coin>>() {};
+    private static final String COIN = """
+            {"id":"coin-%1$d","symbol":"c%1$d","name":"Coin %1$d","image":"https://assets.coingecko.com/coins/images/%1$d/large/coin.png",\
+            "current_price":%2$.2f,"market_cap":%3$d,"market_cap_rank":%1$d,"fully_diluted_valuation":%3$d,\
+            "total_volume":%4$d,"high_24h":%5$.2f,"low_24h":%6$.2f,"price_change_24h":-512.43,\
+            "price_change_percentage_24h":-0.78,"market_cap_change_24h":-10064712345,\
+            "market_cap_change_percentage_24h":-0.77,"circulating_supply":19700000,"total_supply":21000000,\
+            "max_supply":21000000,"ath":73738.0,"ath_change_percentage":-11.2,"ath_date":"2024-03-14T07:10:36.635Z",\
+            "atl":67.81,"atl_change_percentage":96470.5,"atl_date":"2013-07-06T00:00:00.000Z",\
+            "roi":null,"last_updated":"2024-05-01T12:00:00.000Z"}""";
+
+    @Param({ "100", "250" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        StringBuilder page = new StringBuilder("[");
+        for (int i = 1; i <= pageSize; i++) {
+            double price = 65000.0 / i;
+
+            page.append(i > 1 ? "," : "")
+                    .append(String.format(Locale.ROOT, COIN, i, price, 1_280_000_000_000L / i,
+                            35_000_000_000L / i, price * 1.02, price * 0.97));
+        }
+        body = page.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Coin> readMarketsPage() throws Exception {
+
+        return objectMapper.readValue(body, COINS);
+    }
+}
@@ -0,0 +1,62 @@
+package com.fakecombank.orion.bench;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import com.fakecombank.orion.utils.EventJournal;
+
+// Durable appends from concurrent writers, each waiting for its event to be fsynced, the way JournalServiceImpl
+// appends after a commit. Writers share group-commit flushes, so throughput should grow with the thread count.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class EventJournalBenchmark {
+    private static final byte CREDIT = 1;
+
+    private Path dir;
+    private EventJournal journal;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("orion-bench-event-journal");
+        journal = new EventJournal(dir, 1 << 26);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        FileSystemUtils.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public long durableAppend() {
+        byte[] payload = ByteBuffer.allocate(16).putLong(ThreadLocalRandom.current().nextInt(1_000)).putLong(1).array();
+        long sequence = journal.append(CREDIT, payload);
+
+        journal.awaitFlushed(sequence);
+
+        return sequence;
+    }
+}
@@ -0,0 +1,59 @@
+package com.fakecombank.orion.bench;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fakecombank.orion.utils.FixedPoint;
+
+// One order's worth of money math, pricing the order, debiting the buyer and crediting the seller, in fixed-point
+// longs versus BigDecimal. The quantity varies per call so the multiply cannot be folded; with -prof gc the
+// fixed-point path should show no allocation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedPointBenchmark {
+    private static final double PRICE = 65000.12;
+    private static final double QUANTITY = 0.015;
+
+    private final long price = FixedPoint.of(PRICE);
+    private final long quantity = FixedPoint.of(QUANTITY);
+    private long buyer = FixedPoint.of(1_000_000.0);
+    private long seller;
+    private BigDecimal decimalBuyer = BigDecimal.valueOf(1_000_000.0);
+    private BigDecimal decimalSeller = BigDecimal.ZERO;
+    private int step;
+
+    @Benchmark
+    public long fixedPoint() {
+        long amount = FixedPoint.multiply(price, quantity + (step++ & 7), RoundingMode.CEILING);
+
+        buyer -= amount;
+        seller += amount;
+
+        return buyer + seller;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal amount = BigDecimal.valueOf(PRICE * (QUANTITY + (step++ & 7) / 1e8));
+
+        decimalBuyer = decimalBuyer.subtract(amount);
+        decimalSeller = decimalSeller.add(amount);
+
+        return decimalBuyer.add(decimalSeller);
+    }
+}
@@ -0,0 +1,74 @@
+package com.fakecombank.orion.bench;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fakecombank.orion.model.Wallet;
+import com.fakecombank.orion.service.IdempotencyService;
+
+// What an Idempotency-Key costs a wallet transfer on top of the transfer itself: the first call claims and completes
+// a record in the database, a retry of a recent key is answered from the in-memory cache.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdempotencyBenchmark {
+    private static final int REPLAYED_KEYS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private IdempotencyService idempotencyService;
+    private ResponseEntity<Wallet> response;
+    private long fresh;
+    private int replays;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchApplication.start("idempotency");
+        idempotencyService = context.getBean(IdempotencyService.class);
+
+        Wallet wallet = new Wallet();
+        wallet.setId(10001L);
+        wallet.setBalance(BigDecimal.valueOf(900));
+        response = new ResponseEntity<>(wallet, HttpStatus.ACCEPTED);
+
+        for (int i = 0; i < REPLAYED_KEYS; i++) {
+            idempotencyService.execute(1L, "replay-" + i, "wallet_transfer", Wallet.class, () -> response);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<Wallet> firstCall() {
+
+        return idempotencyService.execute(1L, "fresh-" + fresh++, "wallet_transfer", Wallet.class, () -> response);
+    }
+
+    @Benchmark
+    public ResponseEntity<Wallet> replay() {
+
+        return idempotencyService.execute(1L, "replay-" + replays++ % REPLAYED_KEYS, "wallet_transfer", Wallet.class,
+                () -> response);
+    }
+}
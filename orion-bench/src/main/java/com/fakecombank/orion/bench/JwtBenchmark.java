@@ -0,0 +1,49 @@
+package com.fakecombank.orion.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import com.fakecombank.orion.config.JwtProvider;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private Authentication auth;
+    private String header;
+
+    @Setup
+    public void setUp() {
+        auth = UsernamePasswordAuthenticationToken.authenticated("bench@fakecombank.com", null,
+                AuthorityUtils.createAuthorityList("ROLE_CUSTOMER"));
+        header = "Bearer " + JwtProvider.generateToken(auth);
+    }
+
+    @Benchmark
+    public String generateToken() {
+
+        return JwtProvider.generateToken(auth);
+    }
+
+    @Benchmark
+    public String getEmailFromToken() {
+
+        return JwtProvider.getEmailFromToken(header);
+    }
+}
@@ -0,0 +1,61 @@
+package com.fakecombank.orion.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.fakecombank.orion.config.JwtConstant;
+import com.fakecombank.orion.config.JwtProvider;
+import com.fakecombank.orion.config.JwtTokenValidator;
+
+import jakarta.servlet.FilterChain;
+
+// One authenticated request through the filter. The request and response are reused; OncePerRequestFilter clears its
+// already-filtered marker on the way out, and the security context is cleared as a servlet container would.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenValidatorBenchmark {
+    private final JwtTokenValidator validator = new JwtTokenValidator();
+    private final FilterChain chain = (request, response) -> {
+    };
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        Authentication auth = UsernamePasswordAuthenticationToken.authenticated("bench@fakecombank.com", null,
+                AuthorityUtils.createAuthorityList("ROLE_CUSTOMER"));
+
+        request = new MockHttpServletRequest("GET", "/api/users/profile");
+        request.addHeader(JwtConstant.jwtHeader, "Bearer " + JwtProvider.generateToken(auth));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication filter() throws Exception {
+        validator.doFilter(request, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+
+        return authentication;
+    }
+}
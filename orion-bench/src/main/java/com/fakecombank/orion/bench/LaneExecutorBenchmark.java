@@ -0,0 +1,57 @@
+package com.fakecombank.orion.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fakecombank.orion.utils.LaneExecutor;
+
+// Wallet updates from many callers at once, each holding its wallet for a short simulated write: one global lock
+// versus the per-wallet lanes, where callers only queue behind others on the same lane.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class LaneExecutorBenchmark {
+    private static final int WALLETS = 256;
+    private static final long WORK_NANOS = 50_000;
+
+    private final Object globalLock = new Object();
+    private final LaneExecutor lanes = new LaneExecutor(64, "bench-lane");
+
+    @TearDown
+    public void tearDown() {
+        lanes.close();
+    }
+
+    @Benchmark
+    public void globalLock() {
+        synchronized (globalLock) {
+            LockSupport.parkNanos(WORK_NANOS);
+        }
+    }
+
+    @Benchmark
+    public Object lanes() {
+
+        return lanes.execute(ThreadLocalRandom.current().nextInt(WALLETS), () -> {
+            LockSupport.parkNanos(WORK_NANOS);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.fakecombank.orion.bench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestTemplate;
+
+import com.fakecombank.orion.constant.MarketDataPriority;
+import com.fakecombank.orion.service.impl.MarketDataClientImpl;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Latency of one /coins/markets call against a local upstream: a new RestTemplate per request, the way the services
+// called CoinGecko before, versus the shared MarketDataClient with its pooled connections. Sampled, so the JMH
+// report carries the p50/p99 per call.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarketDataClientBenchmark {
+    private static final String MARKETS = "[{\"id\":\"bitcoin\",\"symbol\":\"btc\",\"current_price\":65000.0}]";
+
+    private HttpServer upstream;
+    private String baseUrl;
+    private MarketDataClientImpl client;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Read once when the JDK server starts; this fork runs nothing else.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 300);
+        upstream.createContext("/coins/markets", exchange -> {
+            byte[] body = MARKETS.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.setExecutor(Executors.newFixedThreadPool(8));
+        upstream.start();
+
+        baseUrl = "http://127.0.0.1:" + upstream.getAddress().getPort();
+        // Rate limit high enough that the bucket never throttles a measured call.
+        client = new MarketDataClientImpl(new SimpleMeterRegistry(), baseUrl, 1000, 2000, Integer.MAX_VALUE, 1_000,
+                1_000, 5, 30_000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        upstream.stop(0);
+    }
+
+    @Benchmark
+    public String restTemplatePerRequest() {
+
+        return new RestTemplate().getForObject(baseUrl + "/coins/markets", String.class);
+    }
+
+    @Benchmark
+    public byte[] sharedClient() {
+
+        return client.get(MarketDataPriority.BROWSE, "/coins/markets").join();
+    }
+}
@@ -0,0 +1,73 @@
+package com.fakecombank.orion.bench;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fakecombank.orion.utils.OrderBook;
+
+// A synthetic stream for one book: 30% cancels of a random resting order, the rest limit orders of 1-100 ticks
+// from a few hundred owners, priced around a mid so that roughly half of them cross. One operation is one event;
+// every iteration starts from an empty book so the depth it measures at stays comparable between runs.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBookBenchmark {
+    private OrderBook book;
+    private SplittableRandom random;
+    private long[] live;
+    private int liveCount;
+    private long nextOrderId;
+    private long fills;
+    private final OrderBook.FillListener counter = (maker, taker, takerBuys, price, quantity) -> fills++;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        book = new OrderBook();
+        random = new SplittableRandom(42);
+        live = new long[1 << 16];
+        liveCount = 0;
+        nextOrderId = 1;
+    }
+
+    @Benchmark
+    public long event() {
+        if (liveCount > 0 && random.nextInt(10) < 3) {
+            int index = random.nextInt(liveCount);
+            long remaining = book.cancel(live[index]);
+
+            live[index] = live[--liveCount];
+            return remaining;
+        }
+
+        long orderId = nextOrderId++;
+        boolean buy = random.nextBoolean();
+        long price = 10_000 + (buy ? -random.nextInt(50) : random.nextInt(50)) + random.nextInt(20) - 10;
+        long remaining = book.submit(orderId, random.nextInt(500), buy, price, 1 + random.nextInt(100), counter);
+
+        if (remaining > 0) {
+            if (liveCount == live.length) {
+                live = Arrays.copyOf(live, liveCount * 2);
+            }
+
+            live[liveCount++] = orderId;
+        }
+
+        return remaining;
+    }
+}
@@ -0,0 +1,79 @@
+package com.fakecombank.orion.bench;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fakecombank.orion.constant.OrderType;
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.model.Order;
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.service.LivePriceService;
+import com.fakecombank.orion.service.OrderService;
+
+// Market orders against H2, through processOrder so buyAsset and sellAsset run in the same transaction and conflict
+// retry wrapper as they do behind the controller. The user starts with enough cash and coin that neither benchmark runs out, and sells are
+// small enough that the holding never drops to dust and gets deleted.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderExecutionBenchmark {
+    private static final double PRICE = 100.0;
+    private static final double QUANTITY = 0.01;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private LivePriceService livePriceService;
+    private User user;
+    private Coin coin;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchApplication.start("orders");
+        orderService = context.getBean(OrderService.class);
+        livePriceService = context.getBean(LivePriceService.class);
+        user = BenchApplication.user(context, "orders@fakecombank.com", 1_000_000_000_000L);
+        coin = BenchApplication.coin(context, "bitcoin", "btc");
+
+        refreshPrice();
+        orderService.processOrder(coin, 1_000_000, OrderType.BUY, user);
+    }
+
+    @Setup(Level.Iteration)
+    public void refreshPrice() {
+        livePriceService.publish(coin.getId(), PRICE, Instant.now());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order buyAsset() {
+
+        return orderService.processOrder(coin, QUANTITY, OrderType.BUY, user);
+    }
+
+    @Benchmark
+    public Order sellAsset() {
+
+        return orderService.processOrder(coin, QUANTITY, OrderType.SELL, user);
+    }
+}
@@ -0,0 +1,61 @@
+package com.fakecombank.orion.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.model.Wallet;
+import com.fakecombank.orion.service.WalletService;
+
+// Transfers alternate direction between two wallets, so balances stay put and both lock orders are exercised.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WalletTransferBenchmark {
+    private ConfigurableApplicationContext context;
+    private WalletService walletService;
+    private User alice;
+    private User bob;
+    private Wallet aliceWallet;
+    private Wallet bobWallet;
+    private long transfers;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchApplication.start("wallets");
+        walletService = context.getBean(WalletService.class);
+        alice = BenchApplication.user(context, "alice@fakecombank.com", 1_000_000L);
+        bob = BenchApplication.user(context, "bob@fakecombank.com", 1_000_000L);
+        aliceWallet = walletService.getUserWallet(alice);
+        bobWallet = walletService.getUserWallet(bob);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Wallet walletToWalletTransfer() {
+
+        return (transfers++ & 1) == 0
+                ? walletService.walletToWalletTransfer(alice, bobWallet, 10L)
+                : walletService.walletToWalletTransfer(bob, aliceWallet, 10L);
+    }
+}
@@ -0,0 +1,114 @@
+package com.fakecombank.orion.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+// Latencies (microseconds, up to one minute at three significant digits), errors and status codes for one endpoint.
+// Safe to record into from any number of virtual threads.
+public class EndpointStats {
+    private static final int HISTOGRAM_BUCKETS = 16;
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    // Status 0 stands for a request that failed without a response (connect error, timeout).
+    public void record(long nanos, int status) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), latencies.getHighestTrackableValue()));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+
+        if (status == 0 || status >= 400) {
+            errors.increment();
+        }
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    public long getCount() {
+
+        return latencies.getTotalCount();
+    }
+
+    public void printSummary(PrintStream out, double seconds) {
+        long count = getCount();
+
+        out.printf("%-40s %8d %7d %6.2f%% %9.1f %8.1f %8.1f %8.1f %8.1f %8.1f  %s%n", name, count, errors.sum(),
+                count == 0 ? 0 : 100.0 * errors.sum() / count, count / seconds, millis(50), millis(90), millis(99),
+                millis(99.9), latencies.getMaxValue() / 1000.0, statusCounts());
+    }
+
+    // Power-of-two millisecond buckets, so a few lines show where the bulk and the tail of the latencies are.
+    public void printHistogram(PrintStream out) {
+        long[] buckets = new long[HISTOGRAM_BUCKETS];
+        long largest = 0;
+
+        for (HistogramIterationValue value : latencies.recordedValues()) {
+            long ms = (value.getValueIteratedTo() + 999) / 1000;
+            int bucket = Math.min(ms <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(ms - 1), HISTOGRAM_BUCKETS - 1);
+
+            buckets[bucket] += value.getCountAtValueIteratedTo();
+        }
+
+        for (long bucket : buckets) {
+            largest = Math.max(largest, bucket);
+        }
+
+        out.println(name);
+
+        int first = 0;
+        while (first < HISTOGRAM_BUCKETS - 1 && buckets[first] == 0) {
+            first++;
+        }
+
+        int last = HISTOGRAM_BUCKETS - 1;
+        while (last > first && buckets[last] == 0) {
+            last--;
+        }
+
+        for (int i = first; i <= last; i++) {
+            String label = i == HISTOGRAM_BUCKETS - 1 ? ">" + (1L << (i - 1)) + "ms" : "<=" + (1L << i) + "ms";
+            int width = largest == 0 ? 0 : (int) Math.round(50.0 * buckets[i] / largest);
+
+            out.printf("  %9s %8d %s%n", label, buckets[i], "#".repeat(width));
+        }
+    }
+
+    // HdrHistogram percentile distribution in milliseconds, readable by the usual .hgrm plotters.
+    public void writePercentiles(Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latencies.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private double millis(double percentile) {
+
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private String statusCounts() {
+        Map<Integer, Long> sorted = new TreeMap<>();
+
+        statuses.forEach((status, count) -> sorted.put(status, count.sum()));
+
+        return sorted.toString();
+    }
+}
@@ -0,0 +1,268 @@
+package com.fakecombank.orion.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Scripted user journeys against a running Orion, one virtual thread per user: sign up, then per iteration deposit
+// through the (stubbed) Stripe checkout, buy and sell a coin, transfer to another user's wallet and request a
+// withdrawal. Users start evenly over the ramp-up. Every request is timed per endpoint; a user whose signup fails
+// stops, any other failure is counted and the journey carries on.
+//
+//   --base-url=http://localhost:8080 --users=2000 --iterations=1 --ramp-up-seconds=10 --coin=bitcoin
+//   --quantity=0.001 --deposit=10000 --report-dir=target/loadtest
+public class LoadGenerator {
+    private static final String SIGNUP = "POST /auth/signup";
+    private static final String WALLET = "GET /api/wallet";
+    private static final String PAYMENT = "POST /api/payment/STRIPE/amount/{amount}";
+    private static final String DEPOSIT = "PUT /api/wallet/deposit";
+    private static final String BUY = "POST /api/orders/pay BUY";
+    private static final String SELL = "POST /api/orders/pay SELL";
+    private static final String TRANSFER = "PUT /api/wallet/{walletId}/transfer";
+    private static final String WITHDRAW = "POST /api/withdrawal/{amount}";
+    private static final List<String> ENDPOINTS = List.of(SIGNUP, WALLET, PAYMENT, DEPOSIT, BUY, SELL, TRANSFER, WITHDRAW);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final LongAdder failedJourneys = new LongAdder();
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final int users;
+    private final int iterations;
+    private final long rampUpNanos;
+    private final String coin;
+    private final double quantity;
+    private final long deposit;
+    private final AtomicLongArray walletIds;
+
+    public LoadGenerator(Options options) {
+        this.baseUrl = options.get("base-url", "http://localhost:8080");
+        this.users = options.getInt("users", 2000);
+        this.iterations = options.getInt("iterations", 1);
+        this.rampUpNanos = Duration.ofSeconds(options.getInt("ramp-up-seconds", 10)).toNanos();
+        this.coin = options.get("coin", "bitcoin");
+        this.quantity = options.getDouble("quantity", 0.001);
+        this.deposit = options.getInt("deposit", 10_000);
+        this.walletIds = new AtomicLongArray(users);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        for (String endpoint : ENDPOINTS) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        LoadGenerator generator = new LoadGenerator(options);
+
+        generator.awaitReady(Duration.ofSeconds(options.getInt("ready-timeout-seconds", 120)));
+
+        long start = System.nanoTime();
+        generator.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        generator.report(seconds, Paths.get(options.get("report-dir", "target/loadtest")));
+    }
+
+    public void run() throws InterruptedException {
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                int user = i;
+                long startAt = start + rampUpNanos * user / users;
+
+                executor.submit(() -> {
+                    try {
+                        long wait = startAt - System.nanoTime();
+                        if (wait > 0) {
+                            Thread.sleep(Duration.ofNanos(wait));
+                        }
+
+                        journey(user);
+                    } catch (Exception e) {
+                        failedJourneys.increment();
+                    }
+                });
+            }
+        }
+    }
+
+    private void journey(int user) throws Exception {
+        JsonNode signup = send(SIGNUP, "POST", "/auth/signup", null, null, """
+                {"fullName":"Load User %d","email":"load-%s-%d@fakecombank.test","password":"loadtest","mobile":"0900%06d"}
+                """.formatted(user, runId, user, user));
+        String jwt = "Bearer " + signup.get("jwt").asText();
+
+        JsonNode wallet = send(WALLET, "GET", "/api/wallet", jwt, null, null);
+        walletIds.set(user, wallet.get("id").asLong());
+
+        for (int i = 0; i < iterations; i++) {
+            step(() -> {
+                JsonNode payment = send(PAYMENT, "POST", "/api/payment/STRIPE/amount/" + deposit, jwt, null, "");
+                Map<String, String> query = query(URI.create(payment.get("payment_url").asText()).getRawQuery());
+
+                send(DEPOSIT, "PUT", "/api/wallet/deposit?order_id=" + query.get("order_id") + "&payment_id="
+                        + query.get("payment_id"), jwt, null, "");
+            });
+            step(() -> send(BUY, "POST", "/api/orders/pay", jwt, UUID.randomUUID().toString(), order("BUY", quantity)));
+            step(() -> send(SELL, "POST", "/api/orders/pay", jwt, UUID.randomUUID().toString(), order("SELL", quantity / 2)));
+            step(() -> {
+                long receiver = otherWallet(user);
+
+                if (receiver != 0) {
+                    send(TRANSFER, "PUT", "/api/wallet/" + receiver + "/transfer", jwt, UUID.randomUUID().toString(),
+                            "{\"amount\":10,\"purpose\":\"loadtest\"}");
+                }
+            });
+            step(() -> send(WITHDRAW, "POST", "/api/withdrawal/5", jwt, UUID.randomUUID().toString(), ""));
+        }
+    }
+
+    // A few random probes for a user who already has a wallet; early users may find nobody else yet.
+    private long otherWallet(int user) {
+        for (int attempt = 0; attempt < 8; attempt++) {
+            int other = ThreadLocalRandom.current().nextInt(users);
+            long id = walletIds.get(other);
+
+            if (other != user && id != 0) {
+                return id;
+            }
+        }
+
+        return 0;
+    }
+
+    private String order(String type, double amount) {
+
+        return "{\"coinId\":\"" + coin + "\",\"quantity\":" + amount + ",\"orderType\":\"" + type + "\"}";
+    }
+
+    private JsonNode send(String endpoint, String method, String path, String jwt, String idempotencyKey, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+
+        if (jwt != null) {
+            request.header("Authorization", jwt);
+        }
+
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            stats.get(endpoint).record(System.nanoTime() - start, 0);
+            throw e;
+        }
+
+        stats.get(endpoint).record(System.nanoTime() - start, response.statusCode());
+
+        if (response.statusCode() >= 400) {
+            throw new IOException(endpoint + " answered " + response.statusCode());
+        }
+
+        return response.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+    }
+
+    private void awaitReady(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/")).timeout(Duration.ofSeconds(5)).build();
+
+        while (System.nanoTime() < deadline) {
+            try {
+                if (httpClient.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() < 500) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+
+            Thread.sleep(1000);
+        }
+
+        throw new IllegalStateException("Orion did not answer on " + baseUrl + " within " + timeout);
+    }
+
+    private void report(double seconds, Path dir) throws IOException {
+        long requests = stats.values().stream().mapToLong(EndpointStats::getCount).sum();
+
+        System.out.printf("%n%d users x %d iterations, %d requests in %.1fs (%.1f req/s), %d journeys aborted%n%n", users,
+                iterations, requests, seconds, requests / seconds, failedJourneys.sum());
+        System.out.printf("%-40s %8s %7s %7s %9s %8s %8s %8s %8s %8s  %s%n", "endpoint", "count", "errors", "err%",
+                "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+
+        List<EndpointStats> ordered = new ArrayList<>();
+        for (String endpoint : ENDPOINTS) {
+            ordered.add(stats.get(endpoint));
+        }
+
+        ordered.forEach(endpoint -> endpoint.printSummary(System.out, seconds));
+        System.out.println();
+        ordered.forEach(endpoint -> endpoint.printHistogram(System.out));
+
+        Files.createDirectories(dir);
+        for (EndpointStats endpoint : ordered) {
+            endpoint.writePercentiles(dir.resolve(endpoint.getName().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm"));
+        }
+        System.out.println("\nPercentile distributions written to " + dir.toAbsolutePath());
+    }
+
+    private static void step(Step step) {
+        try {
+            step.run();
+        } catch (Exception e) {
+            // already counted against the endpoint
+        }
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            parameters.put(pair.substring(0, equals), URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+        }
+
+        return parameters;
+    }
+
+    private interface Step {
+
+        void run() throws Exception;
+    }
+}
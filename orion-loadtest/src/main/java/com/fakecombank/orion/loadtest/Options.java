@@ -0,0 +1,40 @@
+package com.fakecombank.orion.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// --key=value command-line options with defaults supplied at the point of use.
+public class Options {
+    private final Map<String, String> values = new HashMap<>();
+
+    public Options(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+
+            int equals = arg.indexOf('=');
+
+            if (equals < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+    }
+
+    public String get(String key, String defaultValue) {
+
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+
+        return values.containsKey(key) ? Double.parseDouble(values.get(key)) : defaultValue;
+    }
+}
@@ -0,0 +1,335 @@
+package com.fakecombank.orion.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Local stand-in for the CoinGecko and Stripe APIs Orion calls. CoinGecko answers come from one recorded
+// /coins/markets page: markets are sliced by page, per_page and ids, and the coin list, details, search, trending and
+// market charts are derived from the same coins so every endpoint agrees on prices. Stripe checkout sessions are
+// created without payment and their url is the success url, which carries the order and session ids the deposit
+// endpoint expects.
+//
+//   --port=8089 --latency-ms=0 --fixtures=<dir>    serve (fixtures default to the bundled recording)
+//   --record=https://api.coingecko.com/api/v3 --fixtures=<dir>    refresh the recording from the real API
+public class StubServer {
+    private static final String MARKETS_FIXTURE = "coins-markets.json";
+    private static final String COINGECKO = "/api/v3";
+    private static final String STRIPE = "/v1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, JsonNode> coins = new LinkedHashMap<>();
+    private final long latencyMs;
+    private final AtomicLong sessions = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+
+    public StubServer(byte[] markets, long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+
+        for (JsonNode coin : objectMapper.readTree(markets)) {
+            coins.put(coin.get("id").asText(), coin);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        String fixtures = options.get("fixtures", null);
+        String record = options.get("record", null);
+
+        if (record != null) {
+            record(record, Paths.get(fixtures != null ? fixtures : "src/main/resources/fixtures/coingecko"));
+            return;
+        }
+
+        byte[] markets;
+
+        if (fixtures != null) {
+            markets = Files.readAllBytes(Paths.get(fixtures, MARKETS_FIXTURE));
+        } else {
+            try (InputStream in = StubServer.class.getResourceAsStream("/fixtures/coingecko/" + MARKETS_FIXTURE)) {
+                markets = in.readAllBytes();
+            }
+        }
+
+        StubServer stub = new StubServer(markets, options.getInt("latency-ms", 0));
+        HttpServer server = stub.start(options.getInt("port", 8089));
+
+        System.out.println("Stub serving " + stub.coins.size() + " coins on http://localhost:" + server.getAddress().getPort()
+                + COINGECKO + " and Stripe on " + STRIPE);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(0);
+            System.out.println("Stub served " + stub.requests.get() + " requests");
+        }));
+    }
+
+    public HttpServer start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+
+        server.createContext(COINGECKO, this::coinGecko);
+        server.createContext(STRIPE + "/checkout/sessions", this::checkoutSession);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        return server;
+    }
+
+    private void coinGecko(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath().substring(COINGECKO.length());
+        Map<String, String> query = parameters(exchange.getRequestURI().getRawQuery());
+        String[] segments = path.split("/");
+
+        if (path.equals("/coins/markets")) {
+            respond(exchange, 200, markets(query));
+        } else if (path.equals("/coins/list")) {
+            respond(exchange, 200, list());
+        } else if (path.equals("/search")) {
+            respond(exchange, 200, search(query.getOrDefault("query", "")));
+        } else if (path.equals("/search/trending")) {
+            respond(exchange, 200, trending());
+        } else if (segments.length == 3 && segments[1].equals("coins") && coins.containsKey(segments[2])) {
+            respond(exchange, 200, details(coins.get(segments[2])));
+        } else if (segments.length == 4 && segments[3].equals("market_chart") && coins.containsKey(segments[2])) {
+            respond(exchange, 200, marketChart(coins.get(segments[2]), Integer.parseInt(query.getOrDefault("days", "1"))));
+        } else {
+            respond(exchange, 404, objectMapper.createObjectNode().put("error", "coin not found"));
+        }
+    }
+
+    private void checkoutSession(HttpExchange exchange) throws IOException {
+        Map<String, String> form = parameters(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        String id = "cs_test_" + sessions.incrementAndGet();
+        ObjectNode session = objectMapper.createObjectNode()
+                .put("id", id)
+                .put("object", "checkout.session")
+                .put("mode", "payment")
+                .put("status", "open")
+                .put("currency", "usd")
+                .put("success_url", form.get("success_url"))
+                .put("cancel_url", form.get("cancel_url"))
+                .put("url", form.getOrDefault("success_url", "").replace("{CHECKOUT_SESSION_ID}", id));
+
+        respond(exchange, 200, session);
+    }
+
+    private ArrayNode markets(Map<String, String> query) {
+        List<JsonNode> selected = List.copyOf(coins.values());
+
+        if (query.containsKey("ids")) {
+            selected = List.of(query.get("ids").split(",")).stream().filter(coins::containsKey).map(coins::get).toList();
+        }
+
+        int perPage = Integer.parseInt(query.getOrDefault("per_page", "100"));
+        int from = (Integer.parseInt(query.getOrDefault("page", "1")) - 1) * perPage;
+        ArrayNode page = objectMapper.createArrayNode();
+        String now = Instant.now().truncatedTo(ChronoUnit.MILLIS).toString();
+
+        // Orion refuses to trade on stale prices, so recorded rows are served as if just updated.
+        selected.stream().skip(Math.max(from, 0)).limit(perPage)
+                .forEach(coin -> page.add(((ObjectNode) coin.deepCopy()).put("last_updated", now)));
+
+        return page;
+    }
+
+    private ArrayNode list() {
+        ArrayNode list = objectMapper.createArrayNode();
+
+        for (JsonNode coin : coins.values()) {
+            list.addObject().put("id", coin.get("id").asText()).put("symbol", coin.get("symbol").asText())
+                    .put("name", coin.get("name").asText());
+        }
+
+        return list;
+    }
+
+    private ObjectNode details(JsonNode coin) {
+        ObjectNode details = objectMapper.createObjectNode()
+                .put("id", coin.get("id").asText())
+                .put("symbol", coin.get("symbol").asText())
+                .put("name", coin.get("name").asText());
+        String image = coin.get("image").asText();
+
+        details.putObject("image").put("thumb", image).put("small", image).put("large", image);
+
+        ObjectNode marketData = details.putObject("market_data");
+
+        marketData.putObject("current_price").set("usd", coin.get("current_price"));
+        marketData.putObject("market_cap").set("usd", coin.get("market_cap"));
+        marketData.set("market_cap_rank", coin.get("market_cap_rank"));
+        marketData.putObject("total_volume").set("usd", coin.get("total_volume"));
+        marketData.putObject("high_24h").set("usd", coin.get("high_24h"));
+        marketData.putObject("low_24h").set("usd", coin.get("low_24h"));
+
+        for (String field : List.of("price_change_24h", "price_change_percentage_24h", "market_cap_change_24h",
+                "market_cap_change_percentage_24h", "total_supply", "max_supply", "circulating_supply")) {
+            marketData.set(field, coin.get(field));
+        }
+
+        return details;
+    }
+
+    private ObjectNode search(String keyword) {
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode matches = result.putArray("coins");
+        String query = keyword.toLowerCase();
+
+        for (JsonNode coin : coins.values()) {
+            if (coin.get("id").asText().contains(query) || coin.get("symbol").asText().contains(query)
+                    || coin.get("name").asText().toLowerCase().contains(query)) {
+                matches.addObject()
+                        .put("id", coin.get("id").asText())
+                        .put("name", coin.get("name").asText())
+                        .put("api_symbol", coin.get("id").asText())
+                        .put("symbol", coin.get("symbol").asText().toUpperCase())
+                        .put("market_cap_rank", coin.get("market_cap_rank").asInt())
+                        .put("thumb", coin.get("image").asText())
+                        .put("large", coin.get("image").asText());
+            }
+        }
+
+        result.putArray("exchanges");
+        result.putArray("categories");
+        result.putArray("nfts");
+
+        return result;
+    }
+
+    private ObjectNode trending() {
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode trending = result.putArray("coins");
+        double bitcoin = coins.containsKey("bitcoin") ? coins.get("bitcoin").get("current_price").asDouble() : 1;
+        int score = 0;
+
+        for (JsonNode coin : coins.values()) {
+            if (score == 7) {
+                break;
+            }
+
+            trending.addObject().putObject("item")
+                    .put("id", coin.get("id").asText())
+                    .put("coin_id", coin.get("market_cap_rank").asInt())
+                    .put("name", coin.get("name").asText())
+                    .put("symbol", coin.get("symbol").asText().toUpperCase())
+                    .put("market_cap_rank", coin.get("market_cap_rank").asInt())
+                    .put("thumb", coin.get("image").asText())
+                    .put("large", coin.get("image").asText())
+                    .put("price_btc", coin.get("current_price").asDouble() / bitcoin)
+                    .put("score", score++);
+        }
+
+        return result;
+    }
+
+    // Hourly points ending now, a seeded random walk that finishes on the recorded price so repeated calls agree.
+    private ObjectNode marketChart(JsonNode coin, int days) {
+        ObjectNode chart = objectMapper.createObjectNode();
+        ArrayNode prices = chart.putArray("prices");
+        ArrayNode marketCaps = chart.putArray("market_caps");
+        ArrayNode volumes = chart.putArray("total_volumes");
+        int points = Math.max(days, 1) * 24;
+        long now = System.currentTimeMillis() / 3_600_000 * 3_600_000;
+        double price = coin.get("current_price").asDouble();
+        double supply = coin.get("circulating_supply").asDouble();
+        double volume = coin.get("total_volume").asDouble();
+        double[] walk = new double[points];
+        SplittableRandom random = new SplittableRandom(coin.get("id").asText().hashCode());
+
+        walk[points - 1] = price;
+        for (int i = points - 2; i >= 0; i--) {
+            walk[i] = walk[i + 1] * (1 + (random.nextDouble() - 0.5) * 0.01);
+        }
+
+        for (int i = 0; i < points; i++) {
+            long timestamp = now - (long) (points - 1 - i) * 3_600_000;
+
+            prices.addArray().add(timestamp).add(walk[i]);
+            marketCaps.addArray().add(timestamp).add(walk[i] * supply);
+            volumes.addArray().add(timestamp).add(volume * (0.8 + random.nextDouble() * 0.4));
+        }
+
+        return chart;
+    }
+
+    private void respond(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        requests.incrementAndGet();
+
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parameters(String encoded) {
+        Map<String, String> parameters = new HashMap<>();
+
+        if (encoded == null || encoded.isEmpty()) {
+            return parameters;
+        }
+
+        for (String pair : encoded.split("&")) {
+            int equals = pair.indexOf('=');
+
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+
+        return parameters;
+    }
+
+    private static void record(String upstream, Path dir) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(upstream + "/coins/markets?vs_currency=usd&per_page=250&page=1"))
+                .header("Accept", "application/json")
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        if (response.statusCode() != 200) {
+            throw new IOException("Upstream answered " + response.statusCode());
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Path file = dir.resolve(MARKETS_FIXTURE);
+
+        Files.createDirectories(dir);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), objectMapper.readTree(response.body()));
+        System.out.println("Recorded " + upstream + " markets into " + file);
+    }
+}
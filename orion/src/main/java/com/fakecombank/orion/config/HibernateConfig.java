@@ -0,0 +1,20 @@
+package com.fakecombank.orion.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateConfig {
+
+    // JDBC batching defaults; values set in application.properties still win.
+    @Bean
+    HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", "50");
+            properties.putIfAbsent("hibernate.order_inserts", "true");
+            properties.putIfAbsent("hibernate.order_updates", "true");
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package com.fakecombank.orion.constant;
+
+public enum BatchOrderMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT
+}
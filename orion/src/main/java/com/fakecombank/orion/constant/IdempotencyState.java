@@ -0,0 +1,6 @@
+package com.fakecombank.orion.constant;
+
+public enum IdempotencyState {
+    PENDING,
+    COMPLETED
+}
@@ -0,0 +1,8 @@
+package com.fakecombank.orion.constant;
+
+public enum JournalEventType {
+    ORDER_PLACED,
+    WALLET_DEBITED,
+    WALLET_CREDITED,
+    ASSET_ADJUSTED
+}
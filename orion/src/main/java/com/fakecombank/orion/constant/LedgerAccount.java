@@ -0,0 +1,25 @@
+package com.fakecombank.orion.constant;
+
+// House accounts on the other side of wallet postings. Wallet ids are positive, so these take negative ids and share
+// the ledger's account column with them.
+public enum LedgerAccount {
+    // Money entering and leaving the bank: card deposits and withdrawals.
+    FUNDING(-1L),
+    // Counterparty of market orders, which fill against the live price.
+    MARKET(-2L),
+    // Funds reserved by open limit buys until they fill or are cancelled.
+    ESCROW(-3L),
+    // Balances that existed before the ledger did.
+    EQUITY(-4L);
+
+    private final long id;
+
+    LedgerAccount(long id) {
+        this.id = id;
+    }
+
+    public long getId() {
+
+        return id;
+    }
+}
@@ -0,0 +1,11 @@
+package com.fakecombank.orion.constant;
+
+public enum LedgerEntryType {
+    OPENING_BALANCE,
+    DEPOSIT,
+    WITHDRAWAL,
+    TRANSFER,
+    ORDER_PAYMENT,
+    ORDER_PROCEEDS,
+    ORDER_REFUND
+}
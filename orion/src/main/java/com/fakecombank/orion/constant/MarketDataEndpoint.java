@@ -0,0 +1,10 @@
+package com.fakecombank.orion.constant;
+
+public enum MarketDataEndpoint {
+    COINS,
+    TOP50,
+    TRENDING,
+    SEARCH,
+    CHART,
+    DETAILS
+}
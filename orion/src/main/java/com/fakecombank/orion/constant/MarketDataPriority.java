@@ -0,0 +1,18 @@
+package com.fakecombank.orion.constant;
+
+public enum MarketDataPriority {
+    PRICE_REFRESH(60_000),
+    DETAILS(10_000),
+    CHART(5_000),
+    BROWSE(2_000);
+
+    private final long maxWaitMillis;
+
+    MarketDataPriority(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+}
@@ -0,0 +1,8 @@
+package com.fakecombank.orion.constant;
+
+public enum TriggerStatus {
+    ACTIVE,
+    TRIGGERED,
+    CANCELLED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.fakecombank.orion.constant;
+
+public enum TriggerType {
+    STOP_LOSS,
+    TAKE_PROFIT
+}
@@ -1,22 +1,23 @@
 package com.fakecombank.orion.controller;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fakecombank.orion.model.Coin;
 import com.fakecombank.orion.service.CoinService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fakecombank.orion.service.PriceStreamService;
 
 @RestController
 @RequestMapping("/coins")
@@ -24,51 +25,67 @@ public class CoinController {
     @Autowired
     private CoinService coinService;
     @Autowired
-    private ObjectMapper objectMapper;
+    private PriceStreamService priceStreamService;
 
     @GetMapping
-    ResponseEntity<List<Coin>> getCoinList(@RequestParam(required = false, name = "page") int page) {
-        List<Coin> coins = coinService.getCoinsList(page);
-        return new ResponseEntity<>(coins, HttpStatus.ACCEPTED);
+    CompletableFuture<ResponseEntity<List<Coin>>> getCoinList(@RequestParam(required = false, name = "page") int page) {
+
+        return coinService.getCoinsList(page)
+                .thenApply(coins -> new ResponseEntity<>(coins, HttpStatus.ACCEPTED));
     }
 
     @GetMapping("/{coinId}/chart")
-    ResponseEntity<JsonNode> getMarketChart(@PathVariable String coinId, @RequestParam("days") int days) throws JsonMappingException, JsonProcessingException {
-        String response = coinService.getMarketChart(coinId, days);
-        JsonNode jsonNode = objectMapper.readTree(response);
+    CompletableFuture<ResponseEntity<byte[]>> getMarketChart(@PathVariable String coinId, @RequestParam("days") int days,
+            @RequestParam(name = "points", defaultValue = "0") int points) {
+
+        return coinService.getMarketChart(coinId, days, points)
+                .thenApply(response -> json(HttpStatus.ACCEPTED, response));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamPrices(@RequestParam(required = false, name = "ids") List<String> coinIds) {
 
-        return new ResponseEntity<>(jsonNode, HttpStatus.ACCEPTED);
+        return priceStreamService.subscribe(coinIds != null ? new LinkedHashSet<>(coinIds) : new LinkedHashSet<>());
     }
 
     @GetMapping("/search")
-    ResponseEntity<JsonNode> searchCoin(@RequestParam("q") String keyword) throws JsonMappingException, JsonProcessingException {
-        String response = coinService.searchCoin(keyword);
-        JsonNode jsonNode = objectMapper.readTree(response);
+    CompletableFuture<ResponseEntity<byte[]>> searchCoin(@RequestParam("q") String keyword) {
 
-        return ResponseEntity.ok(jsonNode);
+        return coinService.searchCoin(keyword)
+                .thenApply(response -> json(HttpStatus.OK, response))
+                .exceptionally(e -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
     }
 
     @GetMapping("/top50")
-    ResponseEntity<JsonNode> getTop50CoinsByMarketCapRank() throws JsonMappingException, JsonProcessingException {
-        String response = coinService.getTop50CoinsByMarketCapRank();
-        JsonNode jsonNode = objectMapper.readTree(response);
+    CompletableFuture<ResponseEntity<byte[]>> getTop50CoinsByMarketCapRank() {
 
-        return ResponseEntity.ok(jsonNode);
+        return coinService.getTop50CoinsByMarketCapRank()
+                .thenApply(response -> json(HttpStatus.OK, response))
+                .exceptionally(e -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
     }
 
     @GetMapping("/trending")
-    ResponseEntity<JsonNode> getTrendingCoins() throws JsonMappingException, JsonProcessingException {
-        String response = coinService.getTrendingCoins();
-        JsonNode jsonNode = objectMapper.readTree(response);
+    CompletableFuture<ResponseEntity<byte[]>> getTrendingCoins() {
 
-        return ResponseEntity.ok(jsonNode);
+        return coinService.getTrendingCoins()
+                .thenApply(response -> json(HttpStatus.OK, response))
+                .exceptionally(e -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
     }
 
     @GetMapping("/details/{coinId}")
-    ResponseEntity<JsonNode> getCoinDetails(@PathVariable String coinId) throws JsonMappingException, JsonProcessingException {
-        String response = coinService.getCoinDetails(coinId);
-        JsonNode jsonNode = objectMapper.readTree(response);
+    CompletableFuture<ResponseEntity<byte[]>> getCoinDetails(@PathVariable String coinId) {
+
+        return coinService.getCoinDetails(coinId)
+                .thenApply(response -> json(HttpStatus.OK, response))
+                .exceptionally(e -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    // Upstream bytes are written to the response as-is instead of being parsed into a JsonNode tree and re-serialized.
+    private ResponseEntity<byte[]> json(HttpStatus status, byte[] body) {
 
-        return ResponseEntity.ok(jsonNode);
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body(body);
     }
 }
@@ -0,0 +1,35 @@
+package com.fakecombank.orion.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fakecombank.orion.constant.Role;
+import com.fakecombank.orion.model.JournalState;
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.service.JournalService;
+import com.fakecombank.orion.service.UserService;
+
+@RestController
+public class JournalController {
+    @Autowired
+    private JournalService journalService;
+    @Autowired
+    private UserService userService;
+
+    // Replays the whole journal and returns every balance and position, so only admins may call it. The role is read
+    // from the stored user rather than the token, which carries no usable authority claim.
+    @GetMapping("/api/admin/journal/state")
+    public ResponseEntity<JournalState> rebuildState(@RequestHeader("Authorization") String jwt) {
+        User user = userService.findUserProfileByJwt(jwt);
+
+        if (user.getRole() != Role.ADMIN) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+
+        return ResponseEntity.ok(journalService.rebuild());
+    }
+}
@@ -1,8 +1,9 @@
 package com.fakecombank.orion.controller;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,10 +18,17 @@ import com.fakecombank.orion.constant.OrderType;
 import com.fakecombank.orion.model.Coin;
 import com.fakecombank.orion.model.Order;
 import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.request.BatchOrderRequest;
+import com.fakecombank.orion.request.CreateLimitOrderRequest;
 import com.fakecombank.orion.request.CreateOrderRequest;
+import com.fakecombank.orion.response.ApiResponse;
+import com.fakecombank.orion.response.BatchOrderResponse;
+import com.fakecombank.orion.response.OrderHistoryResponse;
 import com.fakecombank.orion.service.CoinService;
+import com.fakecombank.orion.service.IdempotencyService;
 import com.fakecombank.orion.service.OrderService;
 import com.fakecombank.orion.service.UserService;
+import com.fakecombank.orion.service.WalletLaneService;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -31,19 +39,62 @@ public class OrderController {
     private UserService userService;
     @Autowired
     private CoinService coinService;
+    @Autowired
+    private WalletLaneService walletLaneService;
+    @Autowired
+    private IdempotencyService idempotencyService;
     // @Autowired
     // private WalletTransactionService walletTransactionService;
 
     @PostMapping("/pay")
     public ResponseEntity<Order> payOrderPayment(@RequestHeader("Authorization") String jwt,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody CreateOrderRequest request) {
         User user = userService.findUserProfileByJwt(jwt);
+
+        return idempotencyService.execute(user.getId(), idempotencyKey, "order_pay", Order.class, () -> {
+            Coin coin = coinService.findById(request.getCoinId());
+            Order order = walletLaneService.executeForUser(user,
+                    () -> orderService.processOrder(coin, request.getQuantity(), request.getOrderType(), user));
+
+            return ResponseEntity.ok(order);
+        });
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchOrderResponse> processBatch(@RequestHeader("Authorization") String jwt,
+            @RequestBody BatchOrderRequest request) {
+        User user = userService.findUserProfileByJwt(jwt);
+        BatchOrderResponse response = walletLaneService.executeForUser(user,
+                () -> orderService.processBatch(user, request.getOrders(), request.getMode()));
+
+        return response.isExecuted() ? ResponseEntity.ok(response) : ResponseEntity.badRequest().body(response);
+    }
+
+    @PostMapping("/limit")
+    public ResponseEntity<Order> placeLimitOrder(@RequestHeader("Authorization") String jwt,
+            @RequestBody CreateLimitOrderRequest request) {
+        User user = userService.findUserProfileByJwt(jwt);
         Coin coin = coinService.findById(request.getCoinId());
-        Order order = orderService.processOrder(coin, request.getQuantity(), request.getOrderType(), user);
+        Order order = walletLaneService.executeForUser(user,
+                () -> orderService.placeLimitOrder(coin, request.getQuantity(), request.getPrice(), request.getOrderType(), user));
 
         return ResponseEntity.ok(order);
     }
 
+    @PostMapping("/{orderId}/cancel")
+    public ResponseEntity<ApiResponse> cancelOrder(@RequestHeader("Authorization") String jwt,
+            @PathVariable Long orderId) {
+        User user = userService.findUserProfileByJwt(jwt);
+
+        orderService.cancelOrder(orderId, user);
+
+        ApiResponse response = new ApiResponse();
+        response.setMessage("Cancel requested");
+
+        return ResponseEntity.accepted().body(response);
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<Order> getOrderById(@RequestHeader("Authorization") String jwtToken,
             @PathVariable Long orderId) {
@@ -58,11 +109,15 @@ public class OrderController {
     }
 
     @GetMapping()
-    public ResponseEntity<List<Order>> getAllOrdersForUser(@RequestHeader("Authorization") String jwt,
+    public ResponseEntity<OrderHistoryResponse> getAllOrdersForUser(@RequestHeader("Authorization") String jwt,
             @RequestParam(required = false) OrderType order_type,
-            @RequestParam(required = false) String asset_symbol) {
+            @RequestParam(required = false) String asset_symbol,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
         Long userId = userService.findUserProfileByJwt(jwt).getId();
-        List<Order> orders = orderService.getOrdersByUser(userId, order_type, asset_symbol);
+        OrderHistoryResponse orders = orderService.getOrdersByUser(userId, order_type, asset_symbol, from, to, cursor, limit);
 
         return ResponseEntity.ok(orders);
     }
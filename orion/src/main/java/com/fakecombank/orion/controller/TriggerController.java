@@ -0,0 +1,58 @@
+package com.fakecombank.orion.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.model.PriceTrigger;
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.request.CreateTriggerRequest;
+import com.fakecombank.orion.service.CoinService;
+import com.fakecombank.orion.service.TriggerService;
+import com.fakecombank.orion.service.UserService;
+
+@RestController
+@RequestMapping("/api/triggers")
+public class TriggerController {
+    @Autowired
+    private TriggerService triggerService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private CoinService coinService;
+
+    @PostMapping
+    public ResponseEntity<PriceTrigger> createTrigger(@RequestHeader("Authorization") String jwt,
+            @RequestBody CreateTriggerRequest request) {
+        User user = userService.findUserProfileByJwt(jwt);
+        Coin coin = coinService.findById(request.getCoinId());
+        PriceTrigger trigger = triggerService.createTrigger(user, coin, request.getTriggerType(), request.getTriggerPrice(),
+                request.getQuantity());
+
+        return ResponseEntity.ok(trigger);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<PriceTrigger>> getUserTriggers(@RequestHeader("Authorization") String jwt) {
+        User user = userService.findUserProfileByJwt(jwt);
+
+        return ResponseEntity.ok(triggerService.getUserTriggers(user.getId()));
+    }
+
+    @PostMapping("/{triggerId}/cancel")
+    public ResponseEntity<PriceTrigger> cancelTrigger(@RequestHeader("Authorization") String jwt,
+            @PathVariable Long triggerId) {
+        User user = userService.findUserProfileByJwt(jwt);
+
+        return ResponseEntity.ok(triggerService.cancelTrigger(triggerId, user));
+    }
+}
@@ -1,8 +1,10 @@
 package com.fakecombank.orion.controller;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,10 +21,14 @@ import com.fakecombank.orion.model.PaymentOrder;
 import com.fakecombank.orion.model.User;
 import com.fakecombank.orion.model.Wallet;
 import com.fakecombank.orion.model.WalletTransaction;
+import com.fakecombank.orion.response.WalletBalanceResponse;
+import com.fakecombank.orion.service.IdempotencyService;
+import com.fakecombank.orion.service.LedgerService;
 import com.fakecombank.orion.service.OrderService;
 import com.fakecombank.orion.service.PaymentService;
 import com.fakecombank.orion.service.TransactionService;
 import com.fakecombank.orion.service.UserService;
+import com.fakecombank.orion.service.WalletLaneService;
 import com.fakecombank.orion.service.WalletService;
 
 @RestController
@@ -37,6 +43,12 @@ public class WalletController {
     private PaymentService paymentService;
     @Autowired
     private TransactionService transactionService;
+    @Autowired
+    private WalletLaneService walletLaneService;
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private LedgerService ledgerService;
 
     @GetMapping("/api/wallet")
     public ResponseEntity<Wallet> getUserWallet(@RequestHeader("Authorization") String jwt) {
@@ -46,18 +58,42 @@ public class WalletController {
         return new ResponseEntity<>(wallet, HttpStatus.ACCEPTED);
     }
 
+    // The balance as the ledger has it at a point in time, now by default.
+    @GetMapping("/api/wallet/balance")
+    public ResponseEntity<WalletBalanceResponse> getWalletBalance(@RequestHeader("Authorization") String jwt,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        User user = userService.findUserProfileByJwt(jwt);
+        Wallet wallet = walletService.getUserWallet(user);
+        WalletBalanceResponse response = new WalletBalanceResponse();
+
+        response.setWalletId(wallet.getId());
+        response.setAt(at != null ? at : LocalDateTime.now());
+        response.setBalance(ledgerService.getBalance(wallet.getId(), response.getAt()));
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @PutMapping("/api/wallet/{walletId}/transfer")
     public ResponseEntity<Wallet> walletToWalletTransfer(@RequestHeader("Authorization") String jwt,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @PathVariable Long walletId,
             @RequestBody WalletTransaction request) {
         User senderUser = userService.findUserProfileByJwt(jwt);
-        Wallet receiverWallet = walletService.findWalletById(walletId);
-        Wallet wallet = walletService.walletToWalletTransfer(senderUser, receiverWallet, request.getAmount());
 
-        transactionService.createTransaction(wallet, WalletTransactionType.WALLET_TRANSFER, receiverWallet.getId(),
-                request.getPurpose(), request.getAmount());
+        return idempotencyService.execute(senderUser.getId(), idempotencyKey, "wallet_transfer", Wallet.class, () -> {
+            Wallet senderWallet = walletService.getUserWallet(senderUser);
+            Wallet receiverWallet = walletService.findWalletById(walletId);
+            Wallet wallet = walletLaneService.execute(senderWallet.getId(), receiverWallet.getId(), () -> {
+                Wallet updated = walletService.walletToWalletTransfer(senderUser, receiverWallet, request.getAmount());
 
-        return new ResponseEntity<>(wallet, HttpStatus.ACCEPTED);
+                transactionService.createTransaction(updated, WalletTransactionType.WALLET_TRANSFER, receiverWallet.getId(),
+                        request.getPurpose(), request.getAmount());
+
+                return updated;
+            });
+
+            return new ResponseEntity<>(wallet, HttpStatus.ACCEPTED);
+        });
     }
 
     @PutMapping("/api/wallet/order/{orderId}/pay")
@@ -65,7 +101,7 @@ public class WalletController {
             @PathVariable Long orderId) {
         User User = userService.findUserProfileByJwt(jwt);
         Order order = orderService.getOrderById(orderId);
-        Wallet wallet = walletService.payOrderPayment(order, User);
+        Wallet wallet = walletLaneService.executeForUser(User, () -> walletService.payOrderPayment(order, User));
 
         return new ResponseEntity<>(wallet, HttpStatus.ACCEPTED);
     }
@@ -84,7 +120,8 @@ public class WalletController {
         }
 
         if (isPaymentSuccess) {
-            wallet = walletService.addBalance(wallet, paymentOrder.getAmount());
+            Wallet target = wallet;
+            wallet = walletLaneService.execute(target.getId(), () -> walletService.addBalance(target, paymentOrder.getAmount()));
         }
 
         return new ResponseEntity<>(wallet, HttpStatus.ACCEPTED);
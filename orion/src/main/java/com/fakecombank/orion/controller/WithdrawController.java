@@ -12,12 +12,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.fakecombank.orion.constant.WalletTransactionType;
 import com.fakecombank.orion.model.User;
 import com.fakecombank.orion.model.Wallet;
 import com.fakecombank.orion.model.Withdraw;
-import com.fakecombank.orion.service.TransactionService;
+import com.fakecombank.orion.service.IdempotencyService;
 import com.fakecombank.orion.service.UserService;
+import com.fakecombank.orion.service.WalletLaneService;
 import com.fakecombank.orion.service.WalletService;
 import com.fakecombank.orion.service.WithdrawService;
 
@@ -30,35 +30,30 @@ public class WithdrawController {
     @Autowired
     private UserService userService;
     @Autowired
-    private TransactionService transactionService;
+    private WalletLaneService walletLaneService;
+    @Autowired
+    private IdempotencyService idempotencyService;
     // @Autowired
     // private WalletTransactionService walletTransactionService;
 
     @PostMapping("/api/withdrawal/{amount}")
-    public ResponseEntity<?> requestWithdraw(@PathVariable Long amount, @RequestHeader("Authorization") String jwt) {
+    public ResponseEntity<?> requestWithdraw(@PathVariable Long amount, @RequestHeader("Authorization") String jwt,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         User user = userService.findUserProfileByJwt(jwt);
-        Wallet wallet = walletService.getUserWallet(user);
-        Withdraw withdraw = withdrawService.requestWithdraw(amount, user);
-
-        walletService.addBalance(wallet, -withdraw.getAmount());
 
-        transactionService.createTransaction(wallet,
-                WalletTransactionType.WITHDRAW, null, "Withdraw request",
-                withdraw.getAmount());
+        return idempotencyService.execute(user.getId(), idempotencyKey, "withdrawal", Withdraw.class, () -> {
+            Wallet wallet = walletService.getUserWallet(user);
+            Withdraw withdraw = walletLaneService.execute(wallet.getId(),
+                    () -> withdrawService.requestWithdraw(amount, user, wallet));
 
-        return new ResponseEntity<>(withdraw, HttpStatus.OK);
+            return new ResponseEntity<>(withdraw, HttpStatus.OK);
+        });
     }
 
     @PatchMapping("/api/admin/withdrawal/{id}/proceed/{accept}")
     public ResponseEntity<?> processWithdraw(@PathVariable Long id, @PathVariable boolean accept,
             @RequestHeader("Authorization") String jwt) {
-        User user = userService.findUserProfileByJwt(jwt);
         Withdraw withdraw = withdrawService.processWithdraw(id, accept);
-        Wallet wallet = walletService.getUserWallet(user);
-
-        if (!accept) {
-            walletService.addBalance(wallet, withdraw.getAmount());
-        }
 
         return new ResponseEntity<>(withdraw, HttpStatus.OK);
     }
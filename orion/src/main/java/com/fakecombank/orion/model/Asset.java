@@ -1,17 +1,21 @@
 package com.fakecombank.orion.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Data
 @Entity
 public class Asset {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asset_seq")
+    @SequenceGenerator(name = "asset_seq", sequenceName = "asset_seq", allocationSize = 50)
     private Long id;
     private double quantity;
     private double buyPrice;
@@ -19,4 +23,7 @@ public class Asset {
     private Coin coin;
     @ManyToOne
     private User user;
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
 }
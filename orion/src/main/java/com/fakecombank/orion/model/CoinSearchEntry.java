@@ -0,0 +1,12 @@
+package com.fakecombank.orion.model;
+
+import lombok.Data;
+
+@Data
+public class CoinSearchEntry {
+    private final String id;
+    private final String symbol;
+    private final String name;
+    private final String thumb;
+    private final int marketCapRank;
+}
@@ -0,0 +1,39 @@
+package com.fakecombank.orion.model;
+
+import java.time.LocalDateTime;
+
+import com.fakecombank.orion.constant.IdempotencyState;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "idempotency_key" }),
+        indexes = @Index(columnList = "created_at"))
+public class IdempotencyRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+    private String operation;
+    @Enumerated(EnumType.STRING)
+    private IdempotencyState state;
+    private int status;
+    @Column(columnDefinition = "text")
+    private String body;
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.fakecombank.orion.model;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class JournalState {
+    private long events;
+    private long orders;
+    private Map<Long, BigDecimal> walletBalances = new HashMap<>();
+    private Map<Long, Map<String, Double>> positions = new HashMap<>();
+
+    public JournalState merge(JournalState other) {
+        events += other.events;
+        orders += other.orders;
+        other.walletBalances.forEach((walletId, amount) -> walletBalances.merge(walletId, amount, BigDecimal::add));
+        other.positions.forEach((userId, coins) -> coins.forEach((coinId, quantity) ->
+                positions.computeIfAbsent(userId, id -> new HashMap<>()).merge(coinId, quantity, Double::sum)));
+
+        return this;
+    }
+}
@@ -0,0 +1,30 @@
+package com.fakecombank.orion.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+// The balance of an account, in FixedPoint units, counting every ledger entry created up to and including asOf.
+@Data
+@Entity
+@Immutable
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = { "account_id", "as_of" }))
+public class LedgerCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+    private long balance;
+}
@@ -0,0 +1,45 @@
+package com.fakecombank.orion.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.Immutable;
+
+import com.fakecombank.orion.constant.LedgerEntryType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// One side of a posting. The debited account gets a negative amount and the credited one the same amount positive,
+// both under one posting id, so every posting and the ledger as a whole sum to zero. Amounts are FixedPoint units.
+@Data
+@Entity
+@Immutable
+@Table(indexes = { @Index(columnList = "account_id, created_at"), @Index(columnList = "created_at") })
+public class LedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private UUID postingId;
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    @Column(nullable = false)
+    private Long counterpartyId;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private LedgerEntryType type;
+    @Column(nullable = false)
+    private long amount;
+    private String reference;
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
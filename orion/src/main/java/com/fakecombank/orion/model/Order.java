@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 
 import com.fakecombank.orion.constant.OrderStatus;
 import com.fakecombank.orion.constant.OrderType;
+import com.fakecombank.orion.utils.FixedPoint;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -14,28 +15,35 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 
 @Entity
 @Data
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(columnList = "user_id, timestamp, id"),
+        @Index(columnList = "user_id, order_type, timestamp, id") })
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     @ManyToOne
     private User user;
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private OrderType orderType;
-    @Column(nullable = false)
+    @Column(nullable = false, precision = 38, scale = FixedPoint.DECIMALS)
     private BigDecimal price;
     private LocalDateTime timestamp = LocalDateTime.now();
     @Column(nullable = false)
     private OrderStatus status;
+    @Column(columnDefinition = "double precision default 0")
+    private double filledQuantity;
     @OneToOne(mappedBy = "order", cascade = CascadeType.ALL)
     private OrderItem orderItem;
 }
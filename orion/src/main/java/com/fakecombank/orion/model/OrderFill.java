@@ -0,0 +1,24 @@
+package com.fakecombank.orion.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+@Data
+@Entity
+public class OrderFill {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String coinId;
+    private Long buyOrderId;
+    private Long sellOrderId;
+    private Long takerOrderId;
+    private double price;
+    private double quantity;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,30 @@
+package com.fakecombank.orion.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+// A matching engine event that OrderFillWriter could not apply on its own. Kept so it can be inspected and replayed.
+@Data
+@Entity
+public class OrderFillDeadLetter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String eventType;
+    private String coinId;
+    private Long buyOrderId;
+    private Long sellOrderId;
+    private Long takerOrderId;
+    private Long orderId;
+    private double price;
+    private double quantity;
+    @Column(columnDefinition = "text")
+    private String error;
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,13 @@
+package com.fakecombank.orion.model;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+@Data
+public class PriceQuote {
+    private final String coinId;
+    private final double price;
+    private final long version;
+    private final Instant updatedAt;
+}
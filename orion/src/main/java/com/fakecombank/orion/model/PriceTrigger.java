@@ -0,0 +1,41 @@
+package com.fakecombank.orion.model;
+
+import java.time.LocalDateTime;
+
+import com.fakecombank.orion.constant.TriggerStatus;
+import com.fakecombank.orion.constant.TriggerType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(indexes = @Index(columnList = "status, id"))
+public class PriceTrigger {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+    @ManyToOne
+    private User user;
+    @ManyToOne
+    private Coin coin;
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TriggerType triggerType;
+    private double triggerPrice;
+    private double quantity;
+    @Enumerated(EnumType.STRING)
+    private TriggerStatus status;
+    private Long orderId;
+    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime triggeredAt;
+}
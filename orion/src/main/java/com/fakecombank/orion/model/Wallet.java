@@ -2,9 +2,13 @@ package com.fakecombank.orion.model;
 
 import java.math.BigDecimal;
 
+import com.fakecombank.orion.utils.FixedPoint;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Entity
@@ -15,5 +19,9 @@ public class Wallet {
     private Long id;
     @OneToOne
     private User user;
+    @Column(precision = 38, scale = FixedPoint.DECIMALS)
     private BigDecimal balance = BigDecimal.ZERO;
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
 }
@@ -3,6 +3,8 @@ package com.fakecombank.orion.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import com.fakecombank.orion.model.Asset;
 
@@ -10,5 +12,11 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
     
     List<Asset> findByUserId(Long userId);
 
+    @Query("select a from Asset a join fetch a.coin join fetch a.user where a.user.id = :userId and a.coin.id = :coinId")
     Asset findByUserIdAndCoinId(Long userId, String coinId);
+
+    @Modifying
+    @Query("update Asset a set a.quantity = a.quantity + :quantity, a.version = coalesce(a.version, 0) + 1 "
+            + "where a.user.id = :userId and a.coin.id = :coinId")
+    int addQuantity(Long userId, String coinId, double quantity);
 }
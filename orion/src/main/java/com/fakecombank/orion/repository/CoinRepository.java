@@ -1,9 +1,14 @@
 package com.fakecombank.orion.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.fakecombank.orion.model.Coin;
 
-public interface CoinRepository extends JpaRepository<Coin, String> {
+public interface CoinRepository extends JpaRepository<Coin, String>, CoinUpsertRepository {
 
+    @Query("select c.id from Coin c")
+    List<String> findAllIds();
 }
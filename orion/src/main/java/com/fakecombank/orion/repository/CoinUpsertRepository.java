@@ -0,0 +1,10 @@
+package com.fakecombank.orion.repository;
+
+import java.util.List;
+
+import com.fakecombank.orion.model.Coin;
+
+public interface CoinUpsertRepository {
+
+    int upsertAll(List<Coin> coins);
+}
@@ -0,0 +1,134 @@
+package com.fakecombank.orion.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fakecombank.orion.model.Coin;
+
+// Whole market pages go to the database as one JDBC batch. Rows whose last_updated matches the stored value are
+// left untouched by the conflict clause, so they count as zero rows written. Databases without ON CONFLICT (the
+// embedded H2) get a plain MERGE, which rewrites every row.
+public class CoinUpsertRepositoryImpl implements CoinUpsertRepository {
+    private static final String UPSERT = """
+            insert into coin (id, symbol, name, image, current_price, market_cap, market_cap_rank,
+                    fully_diluted_valuation, total_volume, high24h, low24h, price_change24h, price_change_percentage24h,
+                    market_cap_change24h, market_cap_change_percentage24h, circulating_supply, total_supply, max_supply,
+                    ath, ath_change_percentage, ath_date, atl, atl_change_percentage, atl_date, last_updated)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            on conflict (id) do update set
+                    symbol = excluded.symbol,
+                    name = excluded.name,
+                    image = excluded.image,
+                    current_price = excluded.current_price,
+                    market_cap = excluded.market_cap,
+                    market_cap_rank = excluded.market_cap_rank,
+                    fully_diluted_valuation = excluded.fully_diluted_valuation,
+                    total_volume = excluded.total_volume,
+                    high24h = excluded.high24h,
+                    low24h = excluded.low24h,
+                    price_change24h = excluded.price_change24h,
+                    price_change_percentage24h = excluded.price_change_percentage24h,
+                    market_cap_change24h = excluded.market_cap_change24h,
+                    market_cap_change_percentage24h = excluded.market_cap_change_percentage24h,
+                    circulating_supply = excluded.circulating_supply,
+                    total_supply = excluded.total_supply,
+                    max_supply = excluded.max_supply,
+                    ath = excluded.ath,
+                    ath_change_percentage = excluded.ath_change_percentage,
+                    ath_date = excluded.ath_date,
+                    atl = excluded.atl,
+                    atl_change_percentage = excluded.atl_change_percentage,
+                    atl_date = excluded.atl_date,
+                    last_updated = excluded.last_updated
+            where coin.last_updated is distinct from excluded.last_updated
+            """;
+    private static final String MERGE = """
+            merge into coin (id, symbol, name, image, current_price, market_cap, market_cap_rank,
+                    fully_diluted_valuation, total_volume, high24h, low24h, price_change24h, price_change_percentage24h,
+                    market_cap_change24h, market_cap_change_percentage24h, circulating_supply, total_supply, max_supply,
+                    ath, ath_change_percentage, ath_date, atl, atl_change_percentage, atl_date, last_updated)
+            key (id)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgreSql;
+
+    @Override
+    public int upsertAll(List<Coin> coins) {
+        if (coins.isEmpty()) {
+            return 0;
+        }
+
+        if (postgreSql == null) {
+            postgreSql = DatabaseProducts.isPostgreSql(jdbcTemplate);
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(postgreSql ? UPSERT : MERGE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                Coin coin = coins.get(i);
+
+                statement.setString(1, coin.getId());
+                statement.setString(2, coin.getSymbol());
+                statement.setString(3, coin.getName());
+                statement.setString(4, coin.getImage());
+                statement.setDouble(5, coin.getCurrentPrice());
+                statement.setLong(6, coin.getMarketCap());
+                statement.setInt(7, coin.getMarketCapRank());
+                statement.setLong(8, coin.getFullyDilutedValuation());
+                statement.setLong(9, coin.getTotalVolume());
+                statement.setDouble(10, coin.getHigh24h());
+                statement.setDouble(11, coin.getLow24h());
+                statement.setDouble(12, coin.getPriceChange24h());
+                statement.setDouble(13, coin.getPriceChangePercentage24h());
+                statement.setLong(14, coin.getMarketCapChange24h());
+                statement.setDouble(15, coin.getMarketCapChangePercentage24h());
+                statement.setLong(16, coin.getCirculatingSupply());
+                statement.setLong(17, coin.getTotalSupply());
+                statement.setLong(18, coin.getMaxSupply());
+                statement.setDouble(19, coin.getAth());
+                statement.setDouble(20, coin.getAthChangePercentage());
+                setTimestamp(statement, 21, coin.getAthDate());
+                statement.setDouble(22, coin.getAtl());
+                statement.setDouble(23, coin.getAtlChangePercentage());
+                setTimestamp(statement, 24, coin.getAtlDate());
+                setTimestamp(statement, 25, coin.getLastUpdated());
+            }
+
+            @Override
+            public int getBatchSize() {
+
+                return coins.size();
+            }
+        });
+
+        int written = 0;
+
+        for (int count : counts) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                written++;
+            }
+        }
+
+        return written;
+    }
+
+    private static void setTimestamp(PreparedStatement statement, int index, Date date) throws SQLException {
+        if (date != null) {
+            statement.setTimestamp(index, new Timestamp(date.getTime()));
+        } else {
+            statement.setNull(index, Types.TIMESTAMP);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.fakecombank.orion.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Hand-written SQL is PostgreSQL first; the few statements that use its extensions fall back to a form the embedded
+// H2 database (tests, benchmarks, the loadtest profile) understands.
+final class DatabaseProducts {
+
+    private DatabaseProducts() {
+    }
+
+    static boolean isPostgreSql(JdbcTemplate jdbcTemplate) {
+
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.fakecombank.orion.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fakecombank.orion.constant.IdempotencyState;
+import com.fakecombank.orion.model.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    IdempotencyRecord findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.state = :state and r.createdAt < :before")
+    int deleteByStateAndCreatedAtBefore(IdempotencyState state, LocalDateTime before);
+}
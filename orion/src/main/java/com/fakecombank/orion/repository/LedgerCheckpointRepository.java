@@ -0,0 +1,22 @@
+package com.fakecombank.orion.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.fakecombank.orion.model.LedgerCheckpoint;
+
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, Long> {
+
+    LedgerCheckpoint findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(Long accountId, LocalDateTime asOf);
+
+    @Query("select max(c.asOf) from LedgerCheckpoint c")
+    LocalDateTime findLatestAsOf();
+
+    @Query("select c from LedgerCheckpoint c where c.accountId in :accountIds "
+            + "and c.asOf = (select max(l.asOf) from LedgerCheckpoint l where l.accountId = c.accountId)")
+    List<LedgerCheckpoint> findLatestByAccountIdIn(Collection<Long> accountIds);
+}
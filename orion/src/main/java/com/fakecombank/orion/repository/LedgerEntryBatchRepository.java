@@ -0,0 +1,17 @@
+package com.fakecombank.orion.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.fakecombank.orion.model.LedgerEntry;
+
+public interface LedgerEntryBatchRepository {
+
+    void insertAll(List<LedgerEntry> entries);
+
+    Map<Long, Long> sumByAccount(LocalDateTime after, LocalDateTime until);
+
+    Map<Long, BigDecimal> findUnledgeredWalletBalances();
+}
@@ -0,0 +1,96 @@
+package com.fakecombank.orion.repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fakecombank.orion.model.LedgerEntry;
+
+public class LedgerEntryBatchRepositoryImpl implements LedgerEntryBatchRepository {
+    private static final String INSERT = """
+            insert into ledger_entry (posting_id, account_id, counterparty_id, type, amount, reference, created_at)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String SUM_UNTIL = """
+            select account_id, sum(amount) from ledger_entry
+            where created_at <= ?
+            group by account_id
+            """;
+    private static final String SUM_BETWEEN = """
+            select account_id, sum(amount) from ledger_entry
+            where created_at > ? and created_at <= ?
+            group by account_id
+            """;
+    private static final String UNLEDGERED = """
+            select w.id, w.balance from wallet w
+            where w.balance <> 0 and not exists (select 1 from ledger_entry e where e.account_id = w.id)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                LedgerEntry entry = entries.get(i);
+
+                statement.setObject(1, entry.getPostingId());
+                statement.setLong(2, entry.getAccountId());
+                statement.setLong(3, entry.getCounterpartyId());
+                statement.setString(4, entry.getType().name());
+                statement.setLong(5, entry.getAmount());
+                statement.setString(6, entry.getReference());
+                statement.setTimestamp(7, Timestamp.valueOf(entry.getCreatedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+
+                return entries.size();
+            }
+        });
+    }
+
+    @Override
+    public Map<Long, Long> sumByAccount(LocalDateTime after, LocalDateTime until) {
+        Map<Long, Long> sums = new HashMap<>();
+
+        if (after == null) {
+            jdbcTemplate.query(SUM_UNTIL, rs -> {
+                sums.put(rs.getLong(1), rs.getLong(2));
+            }, Timestamp.valueOf(until));
+        } else {
+            jdbcTemplate.query(SUM_BETWEEN, rs -> {
+                sums.put(rs.getLong(1), rs.getLong(2));
+            }, Timestamp.valueOf(after), Timestamp.valueOf(until));
+        }
+
+        return sums;
+    }
+
+    @Override
+    public Map<Long, BigDecimal> findUnledgeredWalletBalances() {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+
+        jdbcTemplate.query(UNLEDGERED, rs -> {
+            balances.put(rs.getLong(1), rs.getBigDecimal(2));
+        });
+
+        return balances;
+    }
+}
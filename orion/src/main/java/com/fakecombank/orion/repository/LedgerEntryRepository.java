@@ -0,0 +1,22 @@
+package com.fakecombank.orion.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.fakecombank.orion.model.LedgerEntry;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long>, LedgerEntryBatchRepository {
+
+    List<LedgerEntry> findByPostingId(UUID postingId);
+
+    @Query("select coalesce(sum(e.amount), 0) from LedgerEntry e where e.accountId = :accountId and e.createdAt <= :until")
+    long sumUntil(Long accountId, LocalDateTime until);
+
+    @Query("select coalesce(sum(e.amount), 0) from LedgerEntry e "
+            + "where e.accountId = :accountId and e.createdAt > :after and e.createdAt <= :until")
+    long sumBetween(Long accountId, LocalDateTime after, LocalDateTime until);
+}
@@ -0,0 +1,10 @@
+package com.fakecombank.orion.repository;
+
+import java.util.List;
+
+import com.fakecombank.orion.model.OrderFill;
+
+public interface OrderFillBatchRepository {
+
+    void insertAll(List<OrderFill> fills);
+}
@@ -0,0 +1,50 @@
+package com.fakecombank.orion.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fakecombank.orion.model.OrderFill;
+
+public class OrderFillBatchRepositoryImpl implements OrderFillBatchRepository {
+    private static final String INSERT = """
+            insert into order_fill (coin_id, buy_order_id, sell_order_id, taker_order_id, price, quantity, timestamp)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<OrderFill> fills) {
+        if (fills.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                OrderFill fill = fills.get(i);
+
+                statement.setString(1, fill.getCoinId());
+                statement.setLong(2, fill.getBuyOrderId());
+                statement.setLong(3, fill.getSellOrderId());
+                statement.setLong(4, fill.getTakerOrderId());
+                statement.setDouble(5, fill.getPrice());
+                statement.setDouble(6, fill.getQuantity());
+                statement.setTimestamp(7, Timestamp.valueOf(fill.getTimestamp()));
+            }
+
+            @Override
+            public int getBatchSize() {
+
+                return fills.size();
+            }
+        });
+    }
+}
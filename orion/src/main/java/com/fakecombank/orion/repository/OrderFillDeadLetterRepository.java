@@ -0,0 +1,8 @@
+package com.fakecombank.orion.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.fakecombank.orion.model.OrderFillDeadLetter;
+
+public interface OrderFillDeadLetterRepository extends JpaRepository<OrderFillDeadLetter, Long> {
+}
@@ -0,0 +1,12 @@
+package com.fakecombank.orion.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.fakecombank.orion.model.OrderFill;
+
+public interface OrderFillRepository extends JpaRepository<OrderFill, Long>, OrderFillBatchRepository {
+
+    List<OrderFill> findByBuyOrderIdOrSellOrderId(Long buyOrderId, Long sellOrderId);
+}
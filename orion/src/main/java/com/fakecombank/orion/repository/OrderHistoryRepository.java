@@ -0,0 +1,13 @@
+package com.fakecombank.orion.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fakecombank.orion.constant.OrderType;
+import com.fakecombank.orion.response.OrderSummary;
+
+public interface OrderHistoryRepository {
+
+    List<OrderSummary> findHistory(Long userId, OrderType orderType, String coinSymbol, LocalDateTime from,
+            LocalDateTime to, LocalDateTime beforeTimestamp, Long beforeId, int limit);
+}
@@ -0,0 +1,89 @@
+package com.fakecombank.orion.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fakecombank.orion.constant.OrderStatus;
+import com.fakecombank.orion.constant.OrderType;
+import com.fakecombank.orion.response.OrderSummary;
+
+// Only the filters that are set become predicates, so every page is a range scan on the (user_id, [order_type,]
+// timestamp, id) indexes of orders, starting right after the cursor. Cost depends on the page size, not on how
+// much history the user has.
+public class OrderHistoryRepositoryImpl implements OrderHistoryRepository {
+    private static final String SELECT = """
+            select o.id, o.order_type, o.status, o.price, o.timestamp, o.filled_quantity,
+                    i.quantity, i.buy_price, i.sell_price, c.id as coin_id, c.symbol
+            from orders o
+            join order_item i on i.order_id = o.id
+            join coin c on c.id = i.coin_id
+            where o.user_id = ?
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<OrderSummary> findHistory(Long userId, OrderType orderType, String coinSymbol, LocalDateTime from,
+            LocalDateTime to, LocalDateTime beforeTimestamp, Long beforeId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+
+        if (orderType != null) {
+            sql.append(" and o.order_type = ?");
+            args.add(orderType.name());
+        }
+
+        if (coinSymbol != null) {
+            sql.append(" and lower(c.symbol) = lower(?)");
+            args.add(coinSymbol);
+        }
+
+        if (from != null) {
+            sql.append(" and o.timestamp >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+
+        if (to != null) {
+            sql.append(" and o.timestamp < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+
+        if (beforeTimestamp != null) {
+            sql.append(" and (o.timestamp, o.id) < (?, ?)");
+            args.add(Timestamp.valueOf(beforeTimestamp));
+            args.add(beforeId);
+        }
+
+        sql.append(" order by o.timestamp desc, o.id desc limit ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), OrderHistoryRepositoryImpl::mapRow, args.toArray());
+    }
+
+    private static OrderSummary mapRow(ResultSet rs, int rowNum) throws SQLException {
+        OrderSummary summary = new OrderSummary();
+
+        summary.setId(rs.getLong("id"));
+        summary.setOrderType(OrderType.valueOf(rs.getString("order_type")));
+        summary.setStatus(OrderStatus.values()[rs.getInt("status")]);
+        summary.setPrice(rs.getBigDecimal("price"));
+        summary.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
+        summary.setFilledQuantity(rs.getDouble("filled_quantity"));
+        summary.setQuantity(rs.getDouble("quantity"));
+        summary.setBuyPrice(rs.getDouble("buy_price"));
+        summary.setSellPrice(rs.getDouble("sell_price"));
+        summary.setCoinId(rs.getString("coin_id"));
+        summary.setCoinSymbol(rs.getString("symbol"));
+
+        return summary;
+    }
+}
@@ -1,12 +1,16 @@
 package com.fakecombank.orion.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import com.fakecombank.orion.constant.OrderStatus;
 import com.fakecombank.orion.model.Order;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderHistoryRepository {
     
     List<Order> findByUserId(Long userId);
+
+    List<Order> findByStatusInOrderByIdAsc(Collection<OrderStatus> statuses);
 }
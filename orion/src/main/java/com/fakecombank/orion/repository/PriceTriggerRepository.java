@@ -0,0 +1,28 @@
+package com.fakecombank.orion.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fakecombank.orion.constant.TriggerStatus;
+import com.fakecombank.orion.model.PriceTrigger;
+
+public interface PriceTriggerRepository extends JpaRepository<PriceTrigger, Long> {
+
+    List<PriceTrigger> findByUserIdOrderByIdDesc(Long userId);
+
+    @Query("select t.id, t.coin.id, t.triggerType, t.triggerPrice from PriceTrigger t "
+            + "where t.status = :status and t.id > :afterId order by t.id")
+    List<Object[]> findIndexEntries(TriggerStatus status, Long afterId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("update PriceTrigger t set t.status = :status, t.triggeredAt = :triggeredAt "
+            + "where t.id = :id and t.status = :expected")
+    int compareAndSetStatus(Long id, TriggerStatus expected, TriggerStatus status, LocalDateTime triggeredAt);
+}
@@ -0,0 +1,12 @@
+package com.fakecombank.orion.repository;
+
+import java.math.BigDecimal;
+
+import com.fakecombank.orion.model.Wallet;
+
+public interface WalletBalanceRepository {
+
+    Wallet debitIfSufficient(Long walletId, BigDecimal amount);
+
+    Wallet credit(Long walletId, BigDecimal amount);
+}
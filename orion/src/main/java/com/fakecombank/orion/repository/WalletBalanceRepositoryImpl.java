@@ -0,0 +1,64 @@
+package com.fakecombank.orion.repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fakecombank.orion.model.Wallet;
+
+// Balance changes are applied by the database in one statement, so there is no read-modify-write window and no
+// entity load. The version is bumped as well, keeping optimistic readers of the row honest. A null result means
+// the condition did not hold: the wallet does not exist or, for a debit, the balance is too low. PostgreSQL hands the
+// new row back with RETURNING; other databases (the embedded H2 used by tests and benchmarks) read it from the
+// FINAL TABLE of the update instead.
+public class WalletBalanceRepositoryImpl implements WalletBalanceRepository {
+    private static final String DEBIT = """
+            update wallet set balance = balance - ?, version = coalesce(version, 0) + 1
+            where id = ? and balance >= ?""";
+    private static final String CREDIT = """
+            update wallet set balance = balance + ?, version = coalesce(version, 0) + 1
+            where id = ?""";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private volatile Boolean returning;
+
+    @Override
+    public Wallet debitIfSufficient(Long walletId, BigDecimal amount) {
+
+        return single(jdbcTemplate.query(returningRow(DEBIT), WalletBalanceRepositoryImpl::mapRow, amount, walletId, amount));
+    }
+
+    @Override
+    public Wallet credit(Long walletId, BigDecimal amount) {
+
+        return single(jdbcTemplate.query(returningRow(CREDIT), WalletBalanceRepositoryImpl::mapRow, amount, walletId));
+    }
+
+    private String returningRow(String update) {
+        if (returning == null) {
+            returning = DatabaseProducts.isPostgreSql(jdbcTemplate);
+        }
+
+        return returning ? update + "\nreturning id, balance, version" : "select id, balance, version from final table (" + update + ")";
+    }
+
+    private static Wallet single(List<Wallet> rows) {
+
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static Wallet mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Wallet wallet = new Wallet();
+
+        wallet.setId(rs.getLong("id"));
+        wallet.setBalance(rs.getBigDecimal("balance"));
+        wallet.setVersion(rs.getLong("version"));
+
+        return wallet;
+    }
+}
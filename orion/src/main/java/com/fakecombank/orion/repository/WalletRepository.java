@@ -1,10 +1,14 @@
 package com.fakecombank.orion.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.fakecombank.orion.model.Wallet;
 
-public interface WalletRepository extends JpaRepository<Wallet, Long> {
+public interface WalletRepository extends JpaRepository<Wallet, Long>, WalletBalanceRepository {
     
     Wallet findByUserId(Long userId);
+
+    @Query("select w.id from Wallet w where w.user.id = :userId")
+    Long findIdByUserId(Long userId);
 }
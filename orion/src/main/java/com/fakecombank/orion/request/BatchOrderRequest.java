@@ -0,0 +1,13 @@
+package com.fakecombank.orion.request;
+
+import java.util.List;
+
+import com.fakecombank.orion.constant.BatchOrderMode;
+
+import lombok.Data;
+
+@Data
+public class BatchOrderRequest {
+    private List<CreateOrderRequest> orders;
+    private BatchOrderMode mode = BatchOrderMode.ALL_OR_NOTHING;
+}
@@ -0,0 +1,13 @@
+package com.fakecombank.orion.request;
+
+import com.fakecombank.orion.constant.OrderType;
+
+import lombok.Data;
+
+@Data
+public class CreateLimitOrderRequest {
+    private String coinId;
+    private double quantity;
+    private double price;
+    private OrderType orderType;
+}
@@ -0,0 +1,13 @@
+package com.fakecombank.orion.request;
+
+import com.fakecombank.orion.constant.TriggerType;
+
+import lombok.Data;
+
+@Data
+public class CreateTriggerRequest {
+    private String coinId;
+    private TriggerType triggerType;
+    private double triggerPrice;
+    private double quantity;
+}
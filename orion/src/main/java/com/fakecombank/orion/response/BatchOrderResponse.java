@@ -0,0 +1,11 @@
+package com.fakecombank.orion.response;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BatchOrderResponse {
+    private boolean executed;
+    private List<BatchOrderResult> results;
+}
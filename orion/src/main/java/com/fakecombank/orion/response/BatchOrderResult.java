@@ -0,0 +1,14 @@
+package com.fakecombank.orion.response;
+
+import com.fakecombank.orion.constant.OrderStatus;
+import com.fakecombank.orion.model.Order;
+
+import lombok.Data;
+
+@Data
+public class BatchOrderResult {
+    private int index;
+    private OrderStatus status;
+    private Order order;
+    private String message;
+}
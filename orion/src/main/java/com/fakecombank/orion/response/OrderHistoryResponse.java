@@ -0,0 +1,11 @@
+package com.fakecombank.orion.response;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class OrderHistoryResponse {
+    private List<OrderSummary> orders;
+    private String nextCursor;
+}
@@ -0,0 +1,24 @@
+package com.fakecombank.orion.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fakecombank.orion.constant.OrderStatus;
+import com.fakecombank.orion.constant.OrderType;
+
+import lombok.Data;
+
+@Data
+public class OrderSummary {
+    private Long id;
+    private OrderType orderType;
+    private OrderStatus status;
+    private BigDecimal price;
+    private LocalDateTime timestamp;
+    private String coinId;
+    private String coinSymbol;
+    private double quantity;
+    private double filledQuantity;
+    private double buyPrice;
+    private double sellPrice;
+}
@@ -0,0 +1,13 @@
+package com.fakecombank.orion.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class WalletBalanceResponse {
+    private Long walletId;
+    private BigDecimal balance;
+    private LocalDateTime at;
+}
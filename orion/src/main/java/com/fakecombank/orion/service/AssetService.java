@@ -8,7 +8,7 @@ import com.fakecombank.orion.model.User;
 
 public interface AssetService {
 
-    Asset createAsset(User user, Coin coin, double quantity);
+    Asset createAsset(User user, Coin coin, double quantity, double buyPrice);
 
     Asset getAssetById(Long assetId);
 
@@ -0,0 +1,10 @@
+package com.fakecombank.orion.service;
+
+import java.util.List;
+
+import com.fakecombank.orion.model.Coin;
+
+public interface CoinIngestionService {
+
+    int ingest(List<Coin> coins);
+}
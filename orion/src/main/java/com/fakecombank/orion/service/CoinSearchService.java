@@ -0,0 +1,14 @@
+package com.fakecombank.orion.service;
+
+import java.util.List;
+
+import com.fakecombank.orion.model.Coin;
+
+public interface CoinSearchService {
+
+    boolean isReady();
+
+    byte[] search(String keyword);
+
+    void indexMarketData(List<Coin> coins);
+}
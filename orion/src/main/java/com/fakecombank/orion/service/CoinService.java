@@ -1,22 +1,23 @@
 package com.fakecombank.orion.service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.fakecombank.orion.model.Coin;
 
 public interface CoinService {
 
-    List<Coin> getCoinsList(int page);
+    CompletableFuture<List<Coin>> getCoinsList(int page);
 
-    String getMarketChart(String coinId, int days);
+    CompletableFuture<byte[]> getMarketChart(String coinId, int days, int points);
 
-    String getCoinDetails(String coinId);
+    CompletableFuture<byte[]> getCoinDetails(String coinId);
 
     Coin findById(String coinId);
 
-    String searchCoin(String keyword);
+    CompletableFuture<byte[]> searchCoin(String keyword);
 
-    String getTop50CoinsByMarketCapRank();
+    CompletableFuture<byte[]> getTop50CoinsByMarketCapRank();
 
-    String getTrendingCoins();
+    CompletableFuture<byte[]> getTrendingCoins();
 }
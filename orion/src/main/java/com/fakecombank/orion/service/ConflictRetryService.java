@@ -0,0 +1,8 @@
+package com.fakecombank.orion.service;
+
+import java.util.function.Supplier;
+
+public interface ConflictRetryService {
+
+    <T> T inTransaction(String operation, Supplier<T> work);
+}
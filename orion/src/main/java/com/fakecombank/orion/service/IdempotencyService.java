@@ -0,0 +1,11 @@
+package com.fakecombank.orion.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.ResponseEntity;
+
+public interface IdempotencyService {
+
+    <T> ResponseEntity<T> execute(Long userId, String idempotencyKey, String operation, Class<T> type,
+            Supplier<ResponseEntity<T>> action);
+}
@@ -0,0 +1,19 @@
+package com.fakecombank.orion.service;
+
+import java.math.BigDecimal;
+
+import com.fakecombank.orion.model.JournalState;
+import com.fakecombank.orion.model.Order;
+
+public interface JournalService {
+
+    void orderPlaced(Order order);
+
+    void walletDebited(Long walletId, BigDecimal amount);
+
+    void walletCredited(Long walletId, BigDecimal amount);
+
+    void assetAdjusted(Long userId, String coinId, double quantity);
+
+    JournalState rebuild();
+}
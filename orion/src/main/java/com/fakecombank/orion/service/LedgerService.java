@@ -0,0 +1,15 @@
+package com.fakecombank.orion.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fakecombank.orion.constant.LedgerEntryType;
+
+public interface LedgerService {
+
+    void post(LedgerEntryType type, long debitAccountId, long creditAccountId, long amount, String reference);
+
+    BigDecimal getBalance(Long accountId, LocalDateTime at);
+
+    int checkpoint();
+}
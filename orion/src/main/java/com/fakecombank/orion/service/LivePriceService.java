@@ -0,0 +1,22 @@
+package com.fakecombank.orion.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import com.fakecombank.orion.model.PriceQuote;
+
+public interface LivePriceService {
+
+    PriceQuote publish(String coinId, double price, Instant updatedAt);
+
+    PriceQuote getQuote(String coinId);
+
+    Collection<PriceQuote> getQuotes();
+
+    double getPriceForOrder(String coinId);
+
+    void markLoaded();
+
+    void addPriceChangeListener(Consumer<PriceQuote> listener);
+}
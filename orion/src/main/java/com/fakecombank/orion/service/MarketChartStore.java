@@ -0,0 +1,10 @@
+package com.fakecombank.orion.service;
+
+public interface MarketChartStore {
+
+    int daysToFetch(String coinId, int days);
+
+    int merge(String coinId, byte[] upstreamChart, int days);
+
+    byte[] render(String coinId, int days, int points);
+}
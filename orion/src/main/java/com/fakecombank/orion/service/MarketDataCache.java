@@ -0,0 +1,11 @@
+package com.fakecombank.orion.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import com.fakecombank.orion.constant.MarketDataEndpoint;
+
+public interface MarketDataCache {
+
+    CompletableFuture<byte[]> get(MarketDataEndpoint endpoint, String key, Supplier<CompletableFuture<byte[]>> loader);
+}
@@ -0,0 +1,10 @@
+package com.fakecombank.orion.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.fakecombank.orion.constant.MarketDataPriority;
+
+public interface MarketDataClient {
+
+    CompletableFuture<byte[]> get(MarketDataPriority priority, String path);
+}
@@ -0,0 +1,12 @@
+package com.fakecombank.orion.service;
+
+import java.util.Map;
+
+public interface MarketDataSnapshotStore {
+
+    void save(String path, byte[] body);
+
+    byte[] get(String path);
+
+    Map<String, Long> savedAt();
+}
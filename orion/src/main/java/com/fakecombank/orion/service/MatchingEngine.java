@@ -0,0 +1,10 @@
+package com.fakecombank.orion.service;
+
+import com.fakecombank.orion.model.Order;
+
+public interface MatchingEngine {
+
+    void submit(Order order);
+
+    void cancel(Order order);
+}
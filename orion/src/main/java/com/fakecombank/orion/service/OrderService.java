@@ -1,12 +1,17 @@
 package com.fakecombank.orion.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import com.fakecombank.orion.constant.BatchOrderMode;
 import com.fakecombank.orion.constant.OrderType;
 import com.fakecombank.orion.model.Coin;
 import com.fakecombank.orion.model.Order;
 import com.fakecombank.orion.model.OrderItem;
 import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.request.CreateOrderRequest;
+import com.fakecombank.orion.response.BatchOrderResponse;
+import com.fakecombank.orion.response.OrderHistoryResponse;
 
 public interface OrderService {
 
@@ -14,7 +19,14 @@ public interface OrderService {
 
     Order getOrderById(Long orderId);
 
-    List<Order> getOrdersByUser(Long userId, OrderType orderType, String assetSymbol);
+    OrderHistoryResponse getOrdersByUser(Long userId, OrderType orderType, String assetSymbol, LocalDateTime from,
+            LocalDateTime to, String cursor, int limit);
 
     Order processOrder(Coin coin, double quantity, OrderType orderType, User user);
+
+    BatchOrderResponse processBatch(User user, List<CreateOrderRequest> requests, BatchOrderMode mode);
+
+    Order placeLimitOrder(Coin coin, double quantity, double limitPrice, OrderType orderType, User user);
+
+    void cancelOrder(Long orderId, User user);
 }
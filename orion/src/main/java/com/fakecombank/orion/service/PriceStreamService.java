@@ -0,0 +1,12 @@
+package com.fakecombank.orion.service;
+
+import java.util.Set;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface PriceStreamService {
+
+    SseEmitter subscribe(Set<String> coinIds);
+
+    int subscriberCount();
+}
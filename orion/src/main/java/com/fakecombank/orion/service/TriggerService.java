@@ -0,0 +1,17 @@
+package com.fakecombank.orion.service;
+
+import java.util.List;
+
+import com.fakecombank.orion.constant.TriggerType;
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.model.PriceTrigger;
+import com.fakecombank.orion.model.User;
+
+public interface TriggerService {
+
+    PriceTrigger createTrigger(User user, Coin coin, TriggerType triggerType, double triggerPrice, double quantity);
+
+    PriceTrigger cancelTrigger(Long triggerId, User user);
+
+    List<PriceTrigger> getUserTriggers(Long userId);
+}
@@ -0,0 +1,14 @@
+package com.fakecombank.orion.service;
+
+import java.util.function.Supplier;
+
+import com.fakecombank.orion.model.User;
+
+public interface WalletLaneService {
+
+    <T> T execute(Long walletId, Supplier<T> command);
+
+    <T> T execute(Long firstWalletId, Long secondWalletId, Supplier<T> command);
+
+    <T> T executeForUser(User user, Supplier<T> command);
+}
@@ -1,5 +1,7 @@
 package com.fakecombank.orion.service;
 
+import java.math.BigDecimal;
+
 import com.fakecombank.orion.model.Order;
 import com.fakecombank.orion.model.User;
 import com.fakecombank.orion.model.Wallet;
@@ -10,6 +12,8 @@ public interface WalletService {
 
     Wallet addBalance(Wallet wallet, Long money);
 
+    Wallet credit(Long walletId, BigDecimal amount);
+
     Wallet findWalletById(Long id);
 
     Wallet walletToWalletTransfer(User sender, Wallet receiver, Long amount);
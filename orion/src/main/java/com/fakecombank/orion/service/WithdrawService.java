@@ -3,11 +3,12 @@ package com.fakecombank.orion.service;
 import java.util.List;
 
 import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.model.Wallet;
 import com.fakecombank.orion.model.Withdraw;
 
 public interface WithdrawService {
 
-    Withdraw requestWithdraw(Long amount, User user);
+    Withdraw requestWithdraw(Long amount, User user, Wallet wallet);
 
     Withdraw processWithdraw(Long withdrawId, boolean accept);
 
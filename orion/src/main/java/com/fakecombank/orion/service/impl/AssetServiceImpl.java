@@ -7,31 +7,41 @@ import org.springframework.stereotype.Service;
 
 import com.fakecombank.orion.model.Asset;
 import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.model.PriceQuote;
 import com.fakecombank.orion.model.User;
 import com.fakecombank.orion.repository.AssetRepository;
 import com.fakecombank.orion.service.AssetService;
+import com.fakecombank.orion.service.LivePriceService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class AssetServiceImpl implements AssetService {
     @Autowired
     private AssetRepository assetRepository;
+    @Autowired
+    private LivePriceService livePriceService;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
-    public Asset createAsset(User user, Coin coin, double quantity) {
+    public Asset createAsset(User user, Coin coin, double quantity, double buyPrice) {
         Asset asset = new Asset();
 
         asset.setUser(user);
         asset.setCoin(coin);
         asset.setQuantity(quantity);
-        asset.setBuyPrice(coin.getCurrentPrice());
+        asset.setBuyPrice(buyPrice);
 
         return assetRepository.save(asset);
     }
 
     @Override
     public Asset getAssetById(Long assetId) {
-        
-        return assetRepository.findById(assetId).orElseThrow(() -> new RuntimeException("Asset not found"));
+        Asset asset = assetRepository.findById(assetId).orElseThrow(() -> new RuntimeException("Asset not found"));
+
+        return withLivePrice(asset);
     }
 
     @Override
@@ -42,8 +52,10 @@ public class AssetServiceImpl implements AssetService {
 
     @Override
     public List<Asset> getUsersAssets(Long userId) {
-        
-        return assetRepository.findByUserId(userId);
+        List<Asset> assets = assetRepository.findByUserId(userId);
+        assets.forEach(this::withLivePrice);
+
+        return assets;
     }
 
     @Override
@@ -58,7 +70,7 @@ public class AssetServiceImpl implements AssetService {
     @Override
     public Asset findAssetByUserIdAndCoinId(Long userId, String coinId) {
         
-        return assetRepository.findByUserIdAndCoinId(userId, coinId);
+        return withLivePrice(assetRepository.findByUserIdAndCoinId(userId, coinId));
     }
 
     @Override
@@ -66,4 +78,21 @@ public class AssetServiceImpl implements AssetService {
         
         assetRepository.deleteById(assetId);
     }
+
+    // The live price is only for the response, so the coin is detached first; otherwise the persistence context
+    // would write it back to the coin row when it flushes.
+    private Asset withLivePrice(Asset asset) {
+        if (asset == null || asset.getCoin() == null) {
+            return asset;
+        }
+
+        PriceQuote quote = livePriceService.getQuote(asset.getCoin().getId());
+
+        if (quote != null) {
+            entityManager.detach(asset.getCoin());
+            asset.getCoin().setCurrentPrice(quote.getPrice());
+        }
+
+        return asset;
+    }
 }
@@ -0,0 +1,83 @@
+package com.fakecombank.orion.service.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.repository.CoinRepository;
+import com.fakecombank.orion.service.CoinIngestionService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Market pages are upserted in one batch per page. Coins whose last_updated matches what this node last wrote
+// are dropped before the batch is built; the conflict clause catches the ones another node already wrote.
+@Service
+public class CoinIngestionServiceImpl implements CoinIngestionService {
+    private final CoinRepository coinRepository;
+    private final Map<String, Long> lastWritten = new ConcurrentHashMap<>();
+    private final Counter written;
+    private final Counter skipped;
+    private final DistributionSummary batchRows;
+
+    public CoinIngestionServiceImpl(CoinRepository coinRepository, MeterRegistry meterRegistry) {
+        this.coinRepository = coinRepository;
+        this.written = Counter.builder("market_data.coin_upsert.rows")
+                .tag("result", "written")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("market_data.coin_upsert.rows")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        this.batchRows = DistributionSummary.builder("market_data.coin_upsert.batch_rows")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int ingest(List<Coin> coins) {
+        Map<String, Coin> changed = new LinkedHashMap<>();
+
+        for (Coin coin : coins) {
+            Long previous = coin.getId() != null ? lastWritten.get(coin.getId()) : null;
+
+            if (coin.getId() == null || previous != null && previous.equals(lastUpdated(coin))) {
+                continue;
+            }
+
+            changed.put(coin.getId(), coin);
+        }
+
+        int rows = 0;
+
+        if (!changed.isEmpty()) {
+            try {
+                rows = coinRepository.upsertAll(new ArrayList<>(changed.values()));
+            } catch (Exception e) {
+                e.printStackTrace();
+                return 0;
+            }
+        }
+
+        for (Coin coin : changed.values()) {
+            if (coin.getLastUpdated() != null) {
+                lastWritten.put(coin.getId(), lastUpdated(coin));
+            }
+        }
+
+        written.increment(rows);
+        skipped.increment(coins.size() - rows);
+        batchRows.record(rows);
+
+        return rows;
+    }
+
+    private static Long lastUpdated(Coin coin) {
+
+        return coin.getLastUpdated() != null ? coin.getLastUpdated().getTime() : null;
+    }
+}
@@ -0,0 +1,114 @@
+package com.fakecombank.orion.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fakecombank.orion.constant.MarketDataPriority;
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.model.CoinSearchEntry;
+import com.fakecombank.orion.service.CoinSearchService;
+import com.fakecombank.orion.service.MarketDataClient;
+import com.fakecombank.orion.utils.SearchIndex;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class CoinSearchServiceImpl implements CoinSearchService {
+    @Autowired
+    private MarketDataClient marketDataClient;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${market-data.search.limit:25}")
+    private int limit;
+
+    private final ConcurrentHashMap<String, CoinSearchEntry> coins = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile SearchIndex index = SearchIndex.build(List.of());
+
+    @Override
+    public boolean isReady() {
+        return index.size() > 0;
+    }
+
+    @Override
+    public byte[] search(String keyword) {
+        List<CoinSearchEntry> results = index.search(keyword, limit);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + results.size() * 160);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("coins");
+
+            for (CoinSearchEntry entry : results) {
+                generator.writeStartObject();
+                generator.writeStringField("id", entry.getId());
+                generator.writeStringField("name", entry.getName());
+                generator.writeStringField("api_symbol", entry.getId());
+                generator.writeStringField("symbol", entry.getSymbol() == null ? null : entry.getSymbol().toUpperCase());
+                if (entry.getMarketCapRank() > 0) {
+                    generator.writeNumberField("market_cap_rank", entry.getMarketCapRank());
+                } else {
+                    generator.writeNullField("market_cap_rank");
+                }
+                generator.writeStringField("thumb", entry.getThumb());
+                generator.writeStringField("large", entry.getThumb());
+                generator.writeEndObject();
+            }
+
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("exchanges");
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("categories");
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to render search results", e);
+        }
+
+        return out.toByteArray();
+    }
+
+    @Override
+    public void indexMarketData(List<Coin> marketCoins) {
+        for (Coin coin : marketCoins) {
+            coins.put(coin.getId(), new CoinSearchEntry(coin.getId(), coin.getSymbol(), coin.getName(),
+                    coin.getImage(), coin.getMarketCapRank()));
+        }
+
+        dirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${market-data.search.refresh-ms:3600000}")
+    public void refreshCoinList() {
+        try {
+            JsonNode list = objectMapper.readTree(marketDataClient.get(MarketDataPriority.BROWSE, "/coins/list").join());
+
+            for (JsonNode node : list) {
+                String id = node.get("id").asText();
+
+                coins.computeIfAbsent(id, key -> new CoinSearchEntry(key, node.get("symbol").asText(),
+                        node.get("name").asText(), null, 0));
+            }
+
+            dirty.set(true);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${market-data.search.rebuild-ms:30000}")
+    public void rebuildIndex() {
+        if (dirty.getAndSet(false)) {
+            index = SearchIndex.build(coins.values());
+        }
+    }
+}
@@ -1,107 +1,138 @@
 package com.fakecombank.orion.service.impl;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import com.fakecombank.orion.constant.MarketDataEndpoint;
+import com.fakecombank.orion.constant.MarketDataPriority;
 import com.fakecombank.orion.model.Coin;
 import com.fakecombank.orion.repository.CoinRepository;
+import com.fakecombank.orion.service.CoinIngestionService;
+import com.fakecombank.orion.service.CoinSearchService;
 import com.fakecombank.orion.service.CoinService;
+import com.fakecombank.orion.service.MarketChartStore;
+import com.fakecombank.orion.service.MarketDataCache;
+import com.fakecombank.orion.service.MarketDataClient;
+import com.fakecombank.orion.service.MarketDataSnapshotStore;
+import com.fakecombank.orion.utils.SingleFlight;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
 @Service
 public class CoinServiceImpl implements CoinService {
     @Autowired
     private CoinRepository coinRepository;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private MarketDataClient marketDataClient;
+    @Autowired
+    private MarketDataCache marketDataCache;
+    @Autowired
+    private MarketChartStore marketChartStore;
+    @Autowired
+    private CoinSearchService coinSearchService;
+    @Autowired
+    private CoinIngestionService coinIngestionService;
+    @Autowired
+    private MarketDataSnapshotStore snapshotStore;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final SingleFlight<String, byte[]> singleFlight = new SingleFlight<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        FunctionCounter.builder("market_data.single_flight.calls", singleFlight, SingleFlight::calls)
+                .register(meterRegistry);
+        FunctionCounter.builder("market_data.single_flight.coalesced", singleFlight, SingleFlight::coalesced)
+                .register(meterRegistry);
+        Gauge.builder("market_data.single_flight.in_flight", singleFlight, SingleFlight::inFlight)
+                .register(meterRegistry);
+    }
 
     @Override
-    public List<Coin> getCoinsList(int page) {
-        String url = "https://api.coingecko.com/api/v3/coins/markets?vs_currency=usd&per_page=10&page=" + page;
-        RestTemplate restTemplate = new RestTemplate();
-
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            HttpEntity<String> entity = new HttpEntity<>("parameters", headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-            List<Coin> coins = objectMapper.readValue(response.getBody(), new TypeReference<List<Coin>>() {});
-
-            return coins;
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        return List.of();
+    public CompletableFuture<List<Coin>> getCoinsList(int page) {
+        String path = "/coins/markets?vs_currency=usd&per_page=10&page=" + page;
+
+        return marketDataCache.get(MarketDataEndpoint.COINS, path, () -> loadCoinsPage(path))
+                .thenApply(this::readCoins)
+                .exceptionally(e -> {
+                    e.printStackTrace();
+                    return List.of();
+                });
     }
 
     @Override
-    public String getMarketChart(String coinId, int days) {
-        String url = "https://api.coingecko.com/api/v3/coins/" + coinId + "/market_chart?vs_currency=usd&days=" + days;
-        RestTemplate restTemplate = new RestTemplate();
-
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            HttpEntity<String> entity = new HttpEntity<>("parameters", headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            return response.getBody();
-        } catch (Exception e) {
-            e.printStackTrace();
+    public CompletableFuture<byte[]> getMarketChart(String coinId, int days, int points) {
+        int fetchDays = marketChartStore.daysToFetch(coinId, days);
+        CompletableFuture<Integer> sync = CompletableFuture.completedFuture(0);
+
+        if (fetchDays > 0) {
+            String path = "/coins/" + coinId + "/market_chart?vs_currency=usd&days=" + fetchDays;
+
+            sync = load(MarketDataPriority.CHART, path)
+                    .thenApply(body -> marketChartStore.merge(coinId, body, fetchDays))
+                    .exceptionally(e -> {
+                        e.printStackTrace();
+                        return 0;
+                    });
         }
-        
-        return "";
+
+        return sync.thenApply(added -> marketChartStore.render(coinId, days, points));
     }
 
     @Override
-    public String getCoinDetails(String coinId) {
-        String url = "https://api.coingecko.com/api/v3/coins/" + coinId;
-        RestTemplate restTemplate = new RestTemplate();
-
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            HttpEntity<String> entity = new HttpEntity<>("parameters", headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            JsonNode jsonNode = objectMapper.readTree(response.getBody());
-            Coin coin = new Coin();
-
-            coin.setId(jsonNode.get("id").asText());
-            coin.setSymbol(jsonNode.get("symbol").asText());
-            coin.setName(jsonNode.get("name").asText());
-            coin.setImage(jsonNode.get("image").get("large").asText());
-
-            JsonNode marketData = jsonNode.get("market_data");
-
-            coin.setCurrentPrice(marketData.get("current_price").get("usd").asDouble());
-            coin.setMarketCap(marketData.get("market_cap").get("usd").asLong());
-            coin.setMarketCapRank(marketData.get("market_cap_rank").asInt());
-            coin.setTotalVolume(marketData.get("total_volume").get("usd").asLong());
-            coin.setHigh24h(marketData.get("high_24h").get("usd").asDouble());
-            coin.setLow24h(marketData.get("low_24h").get("usd").asDouble());
-            coin.setPriceChange24h(marketData.get("price_change_24h").asDouble());
-            coin.setPriceChangePercentage24h(marketData.get("price_change_percentage_24h").asDouble());
-            coin.setMarketCapChange24h(marketData.get("market_cap_change_24h").asLong());
-            coin.setMarketCapChangePercentage24h(marketData.get("market_cap_change_percentage_24h").asDouble());
-            coin.setTotalSupply(marketData.get("total_supply").asLong());
-
-            coinRepository.save(coin);
-
-            return response.getBody();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        return "";
+    public CompletableFuture<byte[]> getCoinDetails(String coinId) {
+        String path = "/coins/" + coinId;
+
+        return singleFlight.execute(path, () -> marketDataClient.get(MarketDataPriority.DETAILS, path)
+                .thenApply(body -> {
+                    try {
+                        JsonNode jsonNode = objectMapper.readTree(body);
+                        Coin coin = new Coin();
+
+                        coin.setId(jsonNode.get("id").asText());
+                        coin.setSymbol(jsonNode.get("symbol").asText());
+                        coin.setName(jsonNode.get("name").asText());
+                        coin.setImage(jsonNode.get("image").get("large").asText());
+
+                        JsonNode marketData = jsonNode.get("market_data");
+
+                        coin.setCurrentPrice(marketData.get("current_price").get("usd").asDouble());
+                        coin.setMarketCap(marketData.get("market_cap").get("usd").asLong());
+                        coin.setMarketCapRank(marketData.get("market_cap_rank").asInt());
+                        coin.setTotalVolume(marketData.get("total_volume").get("usd").asLong());
+                        coin.setHigh24h(marketData.get("high_24h").get("usd").asDouble());
+                        coin.setLow24h(marketData.get("low_24h").get("usd").asDouble());
+                        coin.setPriceChange24h(marketData.get("price_change_24h").asDouble());
+                        coin.setPriceChangePercentage24h(marketData.get("price_change_percentage_24h").asDouble());
+                        coin.setMarketCapChange24h(marketData.get("market_cap_change_24h").asLong());
+                        coin.setMarketCapChangePercentage24h(marketData.get("market_cap_change_percentage_24h").asDouble());
+                        coin.setTotalSupply(marketData.get("total_supply").asLong());
+
+                        coinRepository.save(coin);
+                        snapshotStore.save(path, body);
+
+                        return body;
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }))
+                .exceptionally(e -> fallbackToSnapshot(path, e));
     }
 
     @Override
@@ -116,57 +147,75 @@ public class CoinServiceImpl implements CoinService {
     }
 
     @Override
-    public String searchCoin(String keyword) {
-        String url = "https://api.coingecko.com/api/v3/search?query=" + keyword;
-        RestTemplate restTemplate = new RestTemplate();
+    public CompletableFuture<byte[]> searchCoin(String keyword) {
+        if (coinSearchService.isReady()) {
+            return CompletableFuture.completedFuture(coinSearchService.search(keyword));
+        }
 
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            HttpEntity<String> entity = new HttpEntity<>("parameters", headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+        String path = "/search?query=" + URLEncoder.encode(keyword.trim().toLowerCase(), StandardCharsets.UTF_8);
 
-            return response.getBody();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        
-        return "";
+        return fetch(MarketDataEndpoint.SEARCH, path);
     }
 
     @Override
-    public String getTop50CoinsByMarketCapRank() {
-        String url = "https://api.coingecko.com/api/v3/coins/markets?vs_currency=vnd&per_page=50&page=1";
-        RestTemplate restTemplate = new RestTemplate();
+    public CompletableFuture<byte[]> getTop50CoinsByMarketCapRank() {
+        String path = "/coins/markets?vs_currency=vnd&per_page=50&page=1";
 
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            HttpEntity<String> entity = new HttpEntity<>("parameters", headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+        return fetch(MarketDataEndpoint.TOP50, path);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> getTrendingCoins() {
+        String path = "/search/trending";
+
+        return fetch(MarketDataEndpoint.TRENDING, path);
+    }
+
+    private CompletableFuture<byte[]> fetch(MarketDataEndpoint endpoint, String path) {
+
+        return marketDataCache.get(endpoint, path, () -> loadWithSnapshot(MarketDataPriority.BROWSE, path));
+    }
+
+    // Only a page that was actually loaded is written to the coin table; cache hits have nothing new to store.
+    private CompletableFuture<byte[]> loadCoinsPage(String path) {
 
-            return response.getBody();
+        return loadWithSnapshot(MarketDataPriority.BROWSE, path)
+                .thenApply(body -> {
+                    coinIngestionService.ingest(readCoins(body));
+                    return body;
+                });
+    }
+
+    private List<Coin> readCoins(byte[] body) {
+        try {
+            return objectMapper.readValue(body, new TypeReference<List<Coin>>() {});
         } catch (Exception e) {
-            e.printStackTrace();
+            throw new RuntimeException(e);
         }
-        
-        return "";
     }
 
-    @Override
-    public String getTrendingCoins() {
-        String url = "https://api.coingecko.com/api/v3/search/trending";
-        RestTemplate restTemplate = new RestTemplate();
+    private CompletableFuture<byte[]> loadWithSnapshot(MarketDataPriority priority, String path) {
 
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            HttpEntity<String> entity = new HttpEntity<>("parameters", headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+        return load(priority, path)
+                .thenApply(body -> {
+                    snapshotStore.save(path, body);
+                    return body;
+                })
+                .exceptionally(e -> fallbackToSnapshot(path, e));
+    }
 
-            return response.getBody();
-        } catch (Exception e) {
-            e.printStackTrace();
+    private byte[] fallbackToSnapshot(String path, Throwable e) {
+        byte[] snapshot = snapshotStore.get(path);
+
+        if (snapshot == null) {
+            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
         }
-        
-        return "";
+
+        return snapshot;
+    }
+
+    private CompletableFuture<byte[]> load(MarketDataPriority priority, String path) {
+
+        return singleFlight.execute(path, () -> marketDataClient.get(priority, path));
     }
-    
 }
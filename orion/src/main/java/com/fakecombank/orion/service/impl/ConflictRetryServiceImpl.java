@@ -0,0 +1,77 @@
+package com.fakecombank.orion.service.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fakecombank.orion.service.ConflictRetryService;
+import com.fakecombank.orion.utils.RetryPolicy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+
+// Runs work in its own transaction and replays it when a @Version check fails. Work that joins a caller's
+// transaction is not retried here, since only the outermost transaction can roll back and start again.
+@Service
+public class ConflictRetryServiceImpl implements ConflictRetryService {
+    private final TransactionTemplate transactionTemplate;
+    private final RetryPolicy retryPolicy;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, RetryPolicy.Listener> listeners = new ConcurrentHashMap<>();
+
+    public ConflictRetryServiceImpl(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${optimistic-lock.max-attempts:5}") int maxAttempts,
+            @Value("${optimistic-lock.base-delay-ms:5}") long baseDelayMs,
+            @Value("${optimistic-lock.max-delay-ms:200}") long maxDelayMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retryPolicy = new RetryPolicy(maxAttempts, baseDelayMs, maxDelayMs, ConflictRetryServiceImpl::isConflict);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <T> T inTransaction(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        return retryPolicy.execute(() -> transactionTemplate.execute(status -> work.get()),
+                listeners.computeIfAbsent(operation, this::listener));
+    }
+
+    private RetryPolicy.Listener listener(String operation) {
+        Counter conflicts = Counter.builder("optimistic_lock.conflicts").tag("operation", operation).register(meterRegistry);
+        Counter retries = Counter.builder("optimistic_lock.retries").tag("operation", operation).register(meterRegistry);
+        Counter exhausted = Counter.builder("optimistic_lock.exhausted").tag("operation", operation).register(meterRegistry);
+
+        return new RetryPolicy.Listener() {
+            @Override
+            public void onRetry(int attempt, RuntimeException failure) {
+                conflicts.increment();
+                retries.increment();
+            }
+
+            @Override
+            public void onExhausted(RuntimeException failure) {
+                conflicts.increment();
+                exhausted.increment();
+            }
+        };
+    }
+
+    private static boolean isConflict(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockingFailureException || cause instanceof OptimisticLockException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
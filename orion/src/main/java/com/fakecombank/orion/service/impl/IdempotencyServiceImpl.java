@@ -0,0 +1,210 @@
+package com.fakecombank.orion.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fakecombank.orion.constant.IdempotencyState;
+import com.fakecombank.orion.model.IdempotencyRecord;
+import com.fakecombank.orion.repository.IdempotencyRecordRepository;
+import com.fakecombank.orion.service.IdempotencyService;
+import com.fakecombank.orion.utils.TtlCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Retries carrying the same Idempotency-Key get the first response back instead of running again. Finished
+// responses are kept in a bounded in-memory cache and in the idempotency_record table, which covers restarts and
+// entries the cache has evicted. Duplicates that arrive while the first call is still running wait on its future.
+//
+// Across instances the unique (user_id, idempotency_key) row is the claim: it is inserted as PENDING before the
+// action runs and completed with the response afterwards, so a duplicate on another instance either replays the
+// stored response or is told the first call is still running. The action runs on a wallet lane in its own
+// transaction, which is why the claim is committed up front rather than held open across it. A failed call
+// removes its claim so the client can retry it with the same key. Completed records expire after
+// idempotency.ttl-hours, and claims left PENDING by a crash after idempotency.pending-timeout-seconds.
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TtlCache<String, ResponseEntity<?>> completed;
+    private final ConcurrentHashMap<String, CompletableFuture<ResponseEntity<?>>> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+    private final Counter executed;
+    private final Counter replayed;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry, @Value("${idempotency.cache-size:10000}") int cacheSize,
+            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${idempotency.pending-timeout-seconds:300}") long pendingTimeoutSeconds) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.completed = new TtlCache<>(cacheSize);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.pendingTimeout = Duration.ofSeconds(pendingTimeoutSeconds);
+        this.executed = Counter.builder("idempotency.requests").tag("result", "executed").register(meterRegistry);
+        this.replayed = Counter.builder("idempotency.requests").tag("result", "replayed").register(meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(Long userId, String idempotencyKey, String operation, Class<T> type,
+            Supplier<ResponseEntity<T>> action) {
+
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        String key = userId + ":" + operation + ":" + idempotencyKey;
+        ResponseEntity<?> cached = completed.getIfPresent(key);
+
+        if (cached != null) {
+            replayed.increment();
+            return (ResponseEntity<T>) cached;
+        }
+
+        CompletableFuture<ResponseEntity<?>> future = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> running = inFlight.putIfAbsent(key, future);
+
+        if (running != null) {
+            replayed.increment();
+            return (ResponseEntity<T>) join(running);
+        }
+
+        try {
+            ResponseEntity<?> response = completed.getIfPresent(key);
+
+            if (response == null) {
+                response = load(userId, idempotencyKey, operation, type);
+            }
+
+            if (response == null) {
+                IdempotencyRecord claim = claim(userId, idempotencyKey, operation);
+
+                if (claim != null) {
+                    response = run(claim, action);
+                    executed.increment();
+                } else {
+                    response = load(userId, idempotencyKey, operation, type);
+
+                    if (response == null) {
+                        throw new RuntimeException("Idempotency key was released by a failed request, retry it");
+                    }
+
+                    replayed.increment();
+                }
+            } else {
+                replayed.increment();
+            }
+
+            completed.put(key, response);
+            future.complete(response);
+
+            return (ResponseEntity<T>) response;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+
+        return idempotencyRecordRepository.deleteByStateAndCreatedAtBefore(IdempotencyState.COMPLETED, now.minus(ttl))
+                + idempotencyRecordRepository.deleteByStateAndCreatedAtBefore(IdempotencyState.PENDING, now.minus(pendingTimeout));
+    }
+
+    private ResponseEntity<?> load(Long userId, String idempotencyKey, String operation, Class<?> type) {
+        IdempotencyRecord record = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+
+        if (record == null) {
+            return null;
+        }
+
+        if (!operation.equals(record.getOperation())) {
+            throw new IllegalArgumentException("Idempotency key was already used for a different request");
+        }
+
+        if (record.getState() == IdempotencyState.PENDING) {
+            throw new RuntimeException("A request with this idempotency key is still being processed");
+        }
+
+        try {
+            Object body = record.getBody() != null ? objectMapper.readValue(record.getBody(), type) : null;
+
+            return ResponseEntity.status(record.getStatus()).body(body);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Stored response could not be read", e);
+        }
+    }
+
+    // Returns null when another instance holds the key; the caller then replays or reports what that one did.
+    private IdempotencyRecord claim(Long userId, String idempotencyKey, String operation) {
+        IdempotencyRecord record = new IdempotencyRecord();
+
+        record.setUserId(userId);
+        record.setIdempotencyKey(idempotencyKey);
+        record.setOperation(operation);
+        record.setState(IdempotencyState.PENDING);
+        record.setCreatedAt(LocalDateTime.now());
+
+        try {
+            idempotencyRecordRepository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+
+        return record;
+    }
+
+    private ResponseEntity<?> run(IdempotencyRecord claim, Supplier<? extends ResponseEntity<?>> action) {
+        ResponseEntity<?> response;
+
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            idempotencyRecordRepository.delete(claim);
+            throw e;
+        }
+
+        claim.setState(IdempotencyState.COMPLETED);
+        claim.setStatus(response.getStatusCode().value());
+
+        try {
+            claim.setBody(response.hasBody() ? objectMapper.writeValueAsString(response.getBody()) : null);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Response could not be stored for replay", e);
+        }
+
+        idempotencyRecordRepository.save(claim);
+
+        return response;
+    }
+
+    private static ResponseEntity<?> join(CompletableFuture<ResponseEntity<?>> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+}
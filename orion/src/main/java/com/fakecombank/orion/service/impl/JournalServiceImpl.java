@@ -0,0 +1,212 @@
+package com.fakecombank.orion.service.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fakecombank.orion.constant.JournalEventType;
+import com.fakecombank.orion.model.JournalState;
+import com.fakecombank.orion.model.Order;
+import com.fakecombank.orion.service.JournalService;
+import com.fakecombank.orion.utils.EventJournal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Binary order and wallet events on top of EventJournal. Events raised inside a transaction are held until it
+// commits and then appended together, waiting for one group-commit fsync per transaction, so the journal only ever
+// holds committed changes. Replay sums balance and position deltas per segment in parallel.
+@Service
+public class JournalServiceImpl implements JournalService {
+    private static final Logger log = LoggerFactory.getLogger(JournalServiceImpl.class);
+
+    private final EventJournal journal;
+    private final boolean awaitFlush;
+    private final boolean replayOnStartup;
+    private final Map<JournalEventType, Counter> appended = new EnumMap<>(JournalEventType.class);
+
+    public JournalServiceImpl(MeterRegistry meterRegistry,
+            @Value("${journal.dir:data/journal}") String dir,
+            @Value("${journal.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${journal.await-flush:true}") boolean awaitFlush,
+            @Value("${journal.replay-on-startup:false}") boolean replayOnStartup) {
+        this.journal = new EventJournal(Paths.get(dir), segmentSizeMb * 1024 * 1024);
+        this.awaitFlush = awaitFlush;
+        this.replayOnStartup = replayOnStartup;
+
+        for (JournalEventType type : JournalEventType.values()) {
+            appended.put(type, Counter.builder("journal.events").tag("type", type.name()).register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void orderPlaced(Order order) {
+        byte[] coinId = order.getOrderItem().getCoin().getId().getBytes(StandardCharsets.UTF_8);
+        byte[] price = decimal(order.getPrice());
+        ByteBuffer payload = ByteBuffer.allocate(8 + 8 + 1 + 8 + price.length + 2 + coinId.length);
+
+        payload.putLong(order.getId())
+                .putLong(order.getUser().getId())
+                .put((byte) order.getOrderType().ordinal())
+                .putDouble(order.getOrderItem().getQuantity())
+                .put(price)
+                .putShort((short) coinId.length)
+                .put(coinId);
+
+        record(JournalEventType.ORDER_PLACED, payload.array());
+    }
+
+    @Override
+    public void walletDebited(Long walletId, BigDecimal amount) {
+        record(JournalEventType.WALLET_DEBITED, walletPayload(walletId, amount));
+    }
+
+    @Override
+    public void walletCredited(Long walletId, BigDecimal amount) {
+        record(JournalEventType.WALLET_CREDITED, walletPayload(walletId, amount));
+    }
+
+    @Override
+    public void assetAdjusted(Long userId, String coinId, double quantity) {
+        byte[] coin = coinId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(8 + 8 + 2 + coin.length);
+
+        payload.putLong(userId).putDouble(quantity).putShort((short) coin.length).put(coin);
+
+        record(JournalEventType.ASSET_ADJUSTED, payload.array());
+    }
+
+    @Override
+    public JournalState rebuild() {
+
+        return journal.replay(JournalState::new, JournalServiceImpl::apply, JournalState::merge);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayOnStartup() {
+        if (!replayOnStartup) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        JournalState state = rebuild();
+
+        log.info("Journal replayed {} events into {} wallets and {} portfolios in {}ms", state.getEvents(),
+                state.getWalletBalances().size(), state.getPositions().size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void close() {
+        journal.close();
+    }
+
+    private void record(JournalEventType type, byte[] payload) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(new Pending(type, payload)));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Pending> pending = (List<Pending>) TransactionSynchronizationManager.getResource(this);
+
+        if (pending == null) {
+            List<Pending> events = new ArrayList<>();
+
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(JournalServiceImpl.this);
+                }
+            });
+            pending = events;
+        }
+
+        pending.add(new Pending(type, payload));
+    }
+
+    private void write(List<Pending> events) {
+        long last = 0;
+
+        for (Pending event : events) {
+            last = journal.append((byte) event.type.ordinal(), event.payload);
+            appended.get(event.type).increment();
+        }
+
+        if (awaitFlush && last > 0) {
+            journal.awaitFlushed(last);
+        }
+    }
+
+    private static void apply(JournalState state, EventJournal.Event event) {
+        ByteBuffer payload = event.payload();
+        JournalEventType type = JournalEventType.values()[event.type()];
+
+        state.setEvents(state.getEvents() + 1);
+
+        switch (type) {
+            case ORDER_PLACED -> state.setOrders(state.getOrders() + 1);
+            case WALLET_DEBITED -> state.getWalletBalances().merge(payload.getLong(), readDecimal(payload).negate(), BigDecimal::add);
+            case WALLET_CREDITED -> state.getWalletBalances().merge(payload.getLong(), readDecimal(payload), BigDecimal::add);
+            case ASSET_ADJUSTED -> {
+                long userId = payload.getLong();
+                double quantity = payload.getDouble();
+                byte[] coinId = new byte[payload.getShort()];
+                payload.get(coinId);
+
+                state.getPositions().computeIfAbsent(userId, id -> new HashMap<>())
+                        .merge(new String(coinId, StandardCharsets.UTF_8), quantity, Double::sum);
+            }
+        }
+    }
+
+    private static byte[] walletPayload(Long walletId, BigDecimal amount) {
+        byte[] value = decimal(amount);
+
+        return ByteBuffer.allocate(8 + value.length).putLong(walletId).put(value).array();
+    }
+
+    // [int scale][short length][unscaled two's-complement bytes]
+    private static byte[] decimal(BigDecimal value) {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+
+        return ByteBuffer.allocate(4 + 2 + unscaled.length)
+                .putInt(value.scale())
+                .putShort((short) unscaled.length)
+                .put(unscaled)
+                .array();
+    }
+
+    private static BigDecimal readDecimal(ByteBuffer buffer) {
+        int scale = buffer.getInt();
+        byte[] unscaled = new byte[buffer.getShort()];
+        buffer.get(unscaled);
+
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private record Pending(JournalEventType type, byte[] payload) {
+    }
+}
@@ -0,0 +1,189 @@
+package com.fakecombank.orion.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fakecombank.orion.constant.LedgerAccount;
+import com.fakecombank.orion.constant.LedgerEntryType;
+import com.fakecombank.orion.model.LedgerCheckpoint;
+import com.fakecombank.orion.model.LedgerEntry;
+import com.fakecombank.orion.repository.LedgerCheckpointRepository;
+import com.fakecombank.orion.repository.LedgerEntryRepository;
+import com.fakecombank.orion.service.LedgerService;
+import com.fakecombank.orion.utils.FixedPoint;
+
+// Double-entry ledger behind the wallet balances, which stay the materialized projection callers read. Postings made
+// inside a transaction are held until it is about to commit and then appended in one JDBC batch, in the same
+// transaction as the balance updates they explain, all stamped with the flush time.
+//
+// Checkpoints are written periodically for every account that moved since the previous run, at a watermark that
+// trails the clock by the settle time so transactions stamped before it have committed. A balance at any instant is
+// then the latest checkpoint at or before it plus the entries after that checkpoint, which never reach further back
+// than one checkpoint interval.
+@Service
+public class LedgerServiceImpl implements LedgerService {
+    private static final Logger log = LoggerFactory.getLogger(LedgerServiceImpl.class);
+    private static final int CHECKPOINT_CHUNK = 1000;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired
+    private LedgerCheckpointRepository ledgerCheckpointRepository;
+    @Value("${ledger.checkpoint.settle-seconds:10}")
+    private long settleSeconds;
+
+    @Override
+    public void post(LedgerEntryType type, long debitAccountId, long creditAccountId, long amount, String reference) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Posting amount must not be negative");
+        }
+
+        if (amount == 0) {
+            return;
+        }
+
+        UUID postingId = UUID.randomUUID();
+        LedgerEntry debit = entry(postingId, type, debitAccountId, creditAccountId, -amount, reference);
+        LedgerEntry credit = entry(postingId, type, creditAccountId, debitAccountId, amount, reference);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(List.of(debit, credit));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<LedgerEntry> pending = (List<LedgerEntry>) TransactionSynchronizationManager.getResource(this);
+
+        if (pending == null) {
+            List<LedgerEntry> entries = new ArrayList<>();
+
+            TransactionSynchronizationManager.bindResource(this, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    append(entries);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(LedgerServiceImpl.this);
+                }
+            });
+            pending = entries;
+        }
+
+        pending.add(debit);
+        pending.add(credit);
+    }
+
+    @Override
+    public BigDecimal getBalance(Long accountId, LocalDateTime at) {
+        LedgerCheckpoint checkpoint = ledgerCheckpointRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(accountId, at);
+        long balance = checkpoint == null
+                ? ledgerEntryRepository.sumUntil(accountId, at)
+                : checkpoint.getBalance() + ledgerEntryRepository.sumBetween(accountId, checkpoint.getAsOf(), at);
+
+        return FixedPoint.toBigDecimal(balance);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${ledger.checkpoint.interval-ms:60000}")
+    public int checkpoint() {
+        LocalDateTime watermark = LocalDateTime.now().minusSeconds(settleSeconds);
+        LocalDateTime previous = ledgerCheckpointRepository.findLatestAsOf();
+
+        if (previous != null && !watermark.isAfter(previous)) {
+            return 0;
+        }
+
+        Map<Long, Long> balances = new HashMap<>(ledgerEntryRepository.sumByAccount(previous, watermark));
+        List<Long> accountIds = new ArrayList<>(balances.keySet());
+
+        for (int from = 0; from < accountIds.size(); from += CHECKPOINT_CHUNK) {
+            List<Long> chunk = accountIds.subList(from, Math.min(from + CHECKPOINT_CHUNK, accountIds.size()));
+
+            for (LedgerCheckpoint latest : ledgerCheckpointRepository.findLatestByAccountIdIn(chunk)) {
+                balances.merge(latest.getAccountId(), latest.getBalance(), Long::sum);
+            }
+        }
+
+        List<LedgerCheckpoint> checkpoints = new ArrayList<>(balances.size());
+
+        balances.forEach((accountId, balance) -> {
+            LedgerCheckpoint checkpoint = new LedgerCheckpoint();
+
+            checkpoint.setAccountId(accountId);
+            checkpoint.setAsOf(watermark);
+            checkpoint.setBalance(balance);
+            checkpoints.add(checkpoint);
+        });
+
+        ledgerCheckpointRepository.saveAll(checkpoints);
+
+        return checkpoints.size();
+    }
+
+    // Wallets funded before the ledger existed get their balance posted against equity once, so the ledger explains
+    // every balance from then on.
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void openBalances() {
+        Map<Long, BigDecimal> balances = ledgerEntryRepository.findUnledgeredWalletBalances();
+
+        balances.forEach((walletId, balance) -> {
+            long units = FixedPoint.of(balance);
+
+            if (units > 0) {
+                post(LedgerEntryType.OPENING_BALANCE, LedgerAccount.EQUITY.getId(), walletId, units, null);
+            } else {
+                post(LedgerEntryType.OPENING_BALANCE, walletId, LedgerAccount.EQUITY.getId(), -units, null);
+            }
+        });
+
+        if (!balances.isEmpty()) {
+            log.info("Ledger opened with the balances of {} wallets", balances.size());
+        }
+    }
+
+    private void append(List<LedgerEntry> entries) {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (LedgerEntry entry : entries) {
+            entry.setCreatedAt(now);
+        }
+
+        ledgerEntryRepository.insertAll(entries);
+    }
+
+    private static LedgerEntry entry(UUID postingId, LedgerEntryType type, long accountId, long counterpartyId,
+            long amount, String reference) {
+        LedgerEntry entry = new LedgerEntry();
+
+        entry.setPostingId(postingId);
+        entry.setType(type);
+        entry.setAccountId(accountId);
+        entry.setCounterpartyId(counterpartyId);
+        entry.setAmount(amount);
+        entry.setReference(reference);
+
+        return entry;
+    }
+}
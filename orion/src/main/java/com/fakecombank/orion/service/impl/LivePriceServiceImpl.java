@@ -0,0 +1,117 @@
+package com.fakecombank.orion.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fakecombank.orion.model.PriceQuote;
+import com.fakecombank.orion.service.LivePriceService;
+
+// Until the first poll has gone through, a coin without a quote may simply not have been fetched yet, so orders wait
+// a short while for it instead of failing; once the poller has completed a round, a missing quote fails at once.
+@Service
+public class LivePriceServiceImpl implements LivePriceService {
+    private final ConcurrentHashMap<String, PriceQuote> quotes = new ConcurrentHashMap<>();
+    private final List<Consumer<PriceQuote>> listeners = new CopyOnWriteArrayList<>();
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final Duration maxAge;
+    private final long coldStartWaitMillis;
+
+    public LivePriceServiceImpl(@Value("${market-data.price.max-age-seconds:120}") long maxAgeSeconds,
+            @Value("${market-data.price.cold-start-wait-ms:5000}") long coldStartWaitMillis) {
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+        this.coldStartWaitMillis = coldStartWaitMillis;
+    }
+
+    @Override
+    public PriceQuote publish(String coinId, double price, Instant updatedAt) {
+        boolean[] changed = new boolean[1];
+        PriceQuote quote = quotes.compute(coinId, (id, old) -> {
+            if (old != null && old.getUpdatedAt().isAfter(updatedAt)) {
+                return old;
+            }
+
+            changed[0] = old == null || old.getPrice() != price;
+            return new PriceQuote(id, price, old == null ? 1 : old.getVersion() + 1, updatedAt);
+        });
+
+        if (changed[0]) {
+            for (Consumer<PriceQuote> listener : listeners) {
+                listener.accept(quote);
+            }
+        }
+
+        return quote;
+    }
+
+    @Override
+    public PriceQuote getQuote(String coinId) {
+
+        return quotes.get(coinId);
+    }
+
+    @Override
+    public Collection<PriceQuote> getQuotes() {
+
+        return Collections.unmodifiableCollection(quotes.values());
+    }
+
+    @Override
+    public double getPriceForOrder(String coinId) {
+        PriceQuote quote = quotes.get(coinId);
+
+        if (quote == null && loaded.getCount() > 0) {
+            quote = awaitFirstQuote(coinId);
+        }
+
+        if (quote == null) {
+            throw new RuntimeException("No live price for " + coinId);
+        }
+
+        if (quote.getUpdatedAt().plus(maxAge).isBefore(Instant.now())) {
+            throw new RuntimeException("Live price for " + coinId + " is stale");
+        }
+
+        return quote.getPrice();
+    }
+
+    @Override
+    public void markLoaded() {
+        loaded.countDown();
+    }
+
+    @Override
+    public void addPriceChangeListener(Consumer<PriceQuote> listener) {
+        listeners.add(listener);
+    }
+
+    // Wakes up every 50ms as well, since the quote for this coin can arrive before the poller finishes its round.
+    private PriceQuote awaitFirstQuote(String coinId) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(coldStartWaitMillis);
+        PriceQuote quote = null;
+
+        try {
+            for (long left = deadline - System.nanoTime(); quote == null && left > 0; left = deadline - System.nanoTime()) {
+                if (loaded.await(Math.min(left, TimeUnit.MILLISECONDS.toNanos(50)), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+
+                quote = quotes.get(coinId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return quote != null ? quote : quotes.get(coinId);
+    }
+}
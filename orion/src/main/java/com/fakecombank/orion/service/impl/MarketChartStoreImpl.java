@@ -0,0 +1,214 @@
+package com.fakecombank.orion.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fakecombank.orion.service.MarketChartStore;
+import com.fakecombank.orion.utils.Lttb;
+import com.fakecombank.orion.utils.TimeSeries;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+// CoinGecko picks the granularity from the range: 5-minute points for one day, hourly up to 90 days and daily beyond
+// that. Each range tier gets its own series per coin, so a year of daily points never stands in for a one-day chart,
+// and refreshes ask for at least the tier's shortest range so they come back at the same granularity.
+@Service
+public class MarketChartStoreImpl implements MarketChartStore {
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final Pattern COIN_ID = Pattern.compile("[a-z0-9][a-z0-9-]*");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${market-data.chart.store-dir:data/market-chart}")
+    private String storeDir;
+    @Value("${market-data.chart.refresh-seconds:300}")
+    private long refreshSeconds;
+
+    private final ConcurrentHashMap<String, TimeSeries> series = new ConcurrentHashMap<>();
+
+    private enum Tier {
+        MINUTELY(1),
+        HOURLY(2),
+        DAILY(91);
+
+        private final int minDays;
+
+        Tier(int minDays) {
+            this.minDays = minDays;
+        }
+
+        private static Tier of(int days) {
+
+            return days <= 1 ? MINUTELY : days <= 90 ? HOURLY : DAILY;
+        }
+    }
+
+    @Override
+    public int daysToFetch(String coinId, int days) {
+        Tier tier = Tier.of(days);
+        TimeSeries coinSeries = series(coinId, tier);
+        long now = System.currentTimeMillis();
+
+        if (coinSeries.size() == 0 || coinSeries.coveredFrom() > now - days * DAY_MILLIS) {
+            return days;
+        }
+
+        long age = now - coinSeries.lastTimestamp();
+
+        if (age < refreshSeconds * 1000) {
+            return 0;
+        }
+
+        return (int) Math.max(tier.minDays, Math.min(days, (age + DAY_MILLIS - 1) / DAY_MILLIS));
+    }
+
+    @Override
+    public int merge(String coinId, byte[] upstreamChart, int days) {
+        long covered = System.currentTimeMillis() - days * DAY_MILLIS;
+        long[] timestamps = new long[0];
+        double[][] columns = new double[3][];
+        int count = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(upstreamChart)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return 0;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                int column = switch (field) {
+                    case "prices" -> 0;
+                    case "market_caps" -> 1;
+                    case "total_volumes" -> 2;
+                    default -> -1;
+                };
+
+                if (column < 0) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                long[] ts = new long[256];
+                double[] values = new double[256];
+                int n = 0;
+
+                while (parser.nextToken() == JsonToken.START_ARRAY) {
+                    parser.nextToken();
+                    long t = parser.getLongValue();
+                    parser.nextToken();
+                    double v = parser.currentToken() == JsonToken.VALUE_NULL ? Double.NaN : parser.getDoubleValue();
+                    parser.nextToken();
+
+                    if (n == ts.length) {
+                        ts = Arrays.copyOf(ts, n * 2);
+                        values = Arrays.copyOf(values, n * 2);
+                    }
+                    ts[n] = t;
+                    values[n] = v;
+                    n++;
+                }
+
+                if (column == 0) {
+                    timestamps = ts;
+                    count = n;
+                }
+                columns[column] = values;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse market chart for " + coinId, e);
+        }
+
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c] == null || columns[c].length < count) {
+                double[] filled = new double[count];
+                Arrays.fill(filled, Double.NaN);
+                if (columns[c] != null) {
+                    System.arraycopy(columns[c], 0, filled, 0, columns[c].length);
+                }
+                columns[c] = filled;
+            }
+        }
+
+        return series(coinId, Tier.of(days)).merge(timestamps, columns[0], columns[1], columns[2], count, covered);
+    }
+
+    @Override
+    public byte[] render(String coinId, int days, int points) {
+        TimeSeries.Slice slice = series(coinId, Tier.of(days)).slice(System.currentTimeMillis() - days * DAY_MILLIS);
+        int[] indices = points > 0
+                ? Lttb.select(slice.timestamps, slice.prices, points)
+                : Lttb.select(slice.timestamps, slice.prices, slice.timestamps.length);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + indices.length * 90);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            writeColumn(generator, "prices", slice.timestamps, slice.prices, indices);
+            writeColumn(generator, "market_caps", slice.timestamps, slice.marketCaps, indices);
+            writeColumn(generator, "total_volumes", slice.timestamps, slice.volumes, indices);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to render market chart for " + coinId, e);
+        }
+
+        return out.toByteArray();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        for (TimeSeries coinSeries : series.values()) {
+            coinSeries.close();
+        }
+    }
+
+    private void writeColumn(JsonGenerator generator, String name, long[] timestamps, double[] values, int[] indices)
+            throws IOException {
+        generator.writeArrayFieldStart(name);
+
+        for (int i : indices) {
+            generator.writeStartArray();
+            generator.writeNumber(timestamps[i]);
+            if (Double.isNaN(values[i])) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(values[i]);
+            }
+            generator.writeEndArray();
+        }
+
+        generator.writeEndArray();
+    }
+
+    private TimeSeries series(String coinId, Tier tier) {
+        if (!COIN_ID.matcher(coinId).matches()) {
+            throw new RuntimeException("Invalid coin id");
+        }
+
+        String name = coinId + "." + tier.name().toLowerCase();
+
+        return series.computeIfAbsent(name, id -> {
+            Path file = Paths.get(storeDir, id + ".ts");
+
+            try {
+                return TimeSeries.open(file);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to open market chart store for " + coinId, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.fakecombank.orion.service.impl;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fakecombank.orion.constant.MarketDataEndpoint;
+import com.fakecombank.orion.service.MarketDataCache;
+import com.fakecombank.orion.service.MarketDataSnapshotStore;
+import com.fakecombank.orion.utils.TtlCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class MarketDataCacheImpl implements MarketDataCache {
+    private final TtlCache<String, byte[]> cache;
+    private final Map<MarketDataEndpoint, Duration> ttls = new EnumMap<>(MarketDataEndpoint.class);
+    private final Duration maxStale;
+
+    public MarketDataCacheImpl(MeterRegistry meterRegistry, MarketDataSnapshotStore snapshotStore,
+            @Value("${market-data.cache.maximum-size:2000}") int maximumSize,
+            @Value("${market-data.cache.max-stale-seconds:300}") long maxStaleSeconds,
+            @Value("${market-data.cache.ttl.coins-seconds:30}") long coinsTtl,
+            @Value("${market-data.cache.ttl.top50-seconds:30}") long top50Ttl,
+            @Value("${market-data.cache.ttl.trending-seconds:300}") long trendingTtl,
+            @Value("${market-data.cache.ttl.search-seconds:600}") long searchTtl) {
+        this.cache = new TtlCache<>(maximumSize);
+        this.maxStale = Duration.ofSeconds(maxStaleSeconds);
+
+        ttls.put(MarketDataEndpoint.COINS, Duration.ofSeconds(coinsTtl));
+        ttls.put(MarketDataEndpoint.TOP50, Duration.ofSeconds(top50Ttl));
+        ttls.put(MarketDataEndpoint.TRENDING, Duration.ofSeconds(trendingTtl));
+        ttls.put(MarketDataEndpoint.SEARCH, Duration.ofSeconds(searchTtl));
+
+        long now = System.currentTimeMillis();
+
+        // Last-known-good payloads go in with their real age so a cold node answers from them while it refreshes.
+        snapshotStore.savedAt().forEach((path, savedAt) ->
+                cache.put(path, snapshotStore.get(path), Duration.ofMillis(Math.max(0, now - savedAt))));
+
+        registerCounter(meterRegistry, "hit", TtlCache::hits);
+        registerCounter(meterRegistry, "stale_hit", TtlCache::staleHits);
+        registerCounter(meterRegistry, "miss", TtlCache::misses);
+        registerCounter(meterRegistry, "refresh", TtlCache::refreshes);
+        registerCounter(meterRegistry, "refresh_failure", TtlCache::refreshFailures);
+        registerCounter(meterRegistry, "eviction", TtlCache::evictions);
+        Gauge.builder("market_data.cache.size", cache, TtlCache::size).register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> get(MarketDataEndpoint endpoint, String key, Supplier<CompletableFuture<byte[]>> loader) {
+        Duration ttl = ttls.get(endpoint);
+
+        if (ttl == null) {
+            return loader.get();
+        }
+
+        return cache.get(key, ttl, maxStale, loader);
+    }
+
+    private void registerCounter(MeterRegistry meterRegistry, String result, ToDoubleFunction<TtlCache<String, byte[]>> count) {
+        FunctionCounter.builder("market_data.cache.requests", cache, count)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,255 @@
+package com.fakecombank.orion.service.impl;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fakecombank.orion.constant.MarketDataPriority;
+import com.fakecombank.orion.service.MarketDataClient;
+import com.fakecombank.orion.utils.CircuitBreaker;
+import com.fakecombank.orion.utils.TokenBucket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// One HttpClient for every CoinGecko call: the JDK client keeps a shared connection pool with keep-alive,
+// negotiates HTTP/2 when the upstream offers it and completes requests without holding the caller's thread.
+// Calls spend tokens from a bucket sized to the provider's limit; once it is empty they queue by priority and
+// are rejected when their class's queue is full or they have waited longer than the class allows. A circuit
+// breaker fails calls fast while the upstream keeps erroring or timing out and probes it again after a pause.
+@Service
+public class MarketDataClientImpl implements MarketDataClient {
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration readTimeout;
+    private final TokenBucket tokenBucket;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxQueuePerPriority;
+    private final PriorityBlockingQueue<PendingRequest> queue = new PriorityBlockingQueue<>(64,
+            Comparator.comparing((PendingRequest request) -> request.priority).thenComparingLong(request -> request.sequence));
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<MarketDataPriority, AtomicInteger> queueDepth = new EnumMap<>(MarketDataPriority.class);
+    private final Map<MarketDataPriority, Timer> waitTimers = new EnumMap<>(MarketDataPriority.class);
+    private final Map<MarketDataPriority, Counter> queueFullRejections = new EnumMap<>(MarketDataPriority.class);
+    private final Map<MarketDataPriority, Counter> expiredRejections = new EnumMap<>(MarketDataPriority.class);
+    private final Map<MarketDataPriority, Counter> circuitOpenRejections = new EnumMap<>(MarketDataPriority.class);
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public MarketDataClientImpl(MeterRegistry meterRegistry,
+            @Value("${market-data.base-url:https://api.coingecko.com/api/v3}") String baseUrl,
+            @Value("${market-data.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${market-data.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${market-data.rate-limit.calls-per-minute:30}") int callsPerMinute,
+            @Value("${market-data.rate-limit.burst:10}") int burst,
+            @Value("${market-data.rate-limit.max-queue-per-priority:100}") int maxQueuePerPriority,
+            @Value("${market-data.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${market-data.circuit.open-ms:30000}") long openMs) {
+        this.baseUrl = baseUrl;
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.tokenBucket = new TokenBucket(burst, callsPerMinute / 60.0);
+        this.maxQueuePerPriority = maxQueuePerPriority;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMs);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        for (MarketDataPriority priority : MarketDataPriority.values()) {
+            String tag = priority.name().toLowerCase();
+            AtomicInteger depth = new AtomicInteger();
+
+            queueDepth.put(priority, depth);
+            Gauge.builder("market_data.upstream.queue_depth", depth, AtomicInteger::get)
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            waitTimers.put(priority, Timer.builder("market_data.upstream.wait")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+            queueFullRejections.put(priority, Counter.builder("market_data.upstream.rejected")
+                    .tag("priority", tag)
+                    .tag("reason", "queue_full")
+                    .register(meterRegistry));
+            expiredRejections.put(priority, Counter.builder("market_data.upstream.rejected")
+                    .tag("priority", tag)
+                    .tag("reason", "expired")
+                    .register(meterRegistry));
+            circuitOpenRejections.put(priority, Counter.builder("market_data.upstream.rejected")
+                    .tag("priority", tag)
+                    .tag("reason", "circuit_open")
+                    .register(meterRegistry));
+        }
+
+        Gauge.builder("market_data.upstream.circuit_state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .register(meterRegistry);
+
+        this.dispatcher = Thread.ofPlatform().name("market-data-dispatcher").daemon().start(this::dispatch);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> get(MarketDataPriority priority, String path) {
+        if (circuitBreaker.isOpen()) {
+            return rejectOpenCircuit(priority);
+        }
+
+        if (queue.isEmpty() && tokenBucket.tryAcquire()) {
+            waitTimers.get(priority).record(0, TimeUnit.NANOSECONDS);
+            return send(priority, path);
+        }
+
+        AtomicInteger depth = queueDepth.get(priority);
+
+        if (depth.incrementAndGet() > maxQueuePerPriority) {
+            depth.decrementAndGet();
+            queueFullRejections.get(priority).increment();
+            return CompletableFuture.failedFuture(new RuntimeException("Market data budget exhausted for " + priority));
+        }
+
+        PendingRequest request = new PendingRequest(priority, path, sequence.incrementAndGet(), System.nanoTime());
+
+        // An expired request leaves the queue and its depth at once rather than when the dispatcher reaches it.
+        request.result.orTimeout(priority.getMaxWaitMillis(), TimeUnit.MILLISECONDS).whenComplete((body, error) -> {
+            if (error instanceof TimeoutException && request.dequeue()) {
+                queue.remove(request);
+                depth.decrementAndGet();
+                expiredRejections.get(priority).increment();
+            }
+        });
+        queue.put(request);
+
+        return request.result;
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+        httpClient.close();
+    }
+
+    private CompletableFuture<byte[]> send(MarketDataPriority priority, String path) {
+        if (!circuitBreaker.allowRequest()) {
+            return rejectOpenCircuit(priority);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(readTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    if (isUpstreamFailure(response, error)) {
+                        circuitBreaker.recordFailure();
+                    } else {
+                        circuitBreaker.recordSuccess();
+                    }
+                })
+                .thenApply(response -> {
+                    if (response.statusCode() >= 400) {
+                        throw new RuntimeException("Market data request " + path + " failed with status " + response.statusCode());
+                    }
+
+                    if (response.body().length == 0) {
+                        throw new RuntimeException("Market data request " + path + " returned an empty body");
+                    }
+
+                    return response.body();
+                });
+    }
+
+    // Only a broken or overloaded upstream counts against the breaker: transport errors and timeouts, 5xx and 429.
+    // Any other 4xx is an answer about the request itself, such as an unknown coin id, and says the upstream is up.
+    private static boolean isUpstreamFailure(HttpResponse<byte[]> response, Throwable error) {
+
+        return error != null || response.statusCode() >= 500 || response.statusCode() == 429;
+    }
+
+    private CompletableFuture<byte[]> rejectOpenCircuit(MarketDataPriority priority) {
+        circuitOpenRejections.get(priority).increment();
+
+        return CompletableFuture.failedFuture(new RuntimeException("Market data circuit is open"));
+    }
+
+    private void dispatch() {
+        while (running) {
+            PendingRequest request;
+
+            try {
+                request = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (request.result.isDone()) {
+                continue;
+            }
+
+            long pause = tokenBucket.nanosUntilAvailable();
+
+            if (pause > 0 || !tokenBucket.tryAcquire()) {
+                queue.put(request);
+                LockSupport.parkNanos(Math.max(pause, 1_000_000));
+                continue;
+            }
+
+            if (!request.dequeue()) {
+                continue;
+            }
+
+            queueDepth.get(request.priority).decrementAndGet();
+            waitTimers.get(request.priority).record(System.nanoTime() - request.enqueuedAt, TimeUnit.NANOSECONDS);
+
+            send(request.priority, request.path).whenComplete((body, error) -> {
+                if (error != null) {
+                    request.result.completeExceptionally(error);
+                } else {
+                    request.result.complete(body);
+                }
+            });
+        }
+    }
+
+    private static class PendingRequest {
+        private final MarketDataPriority priority;
+        private final String path;
+        private final long sequence;
+        private final long enqueuedAt;
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private final AtomicBoolean dequeued = new AtomicBoolean();
+
+        private PendingRequest(MarketDataPriority priority, String path, long sequence, long enqueuedAt) {
+            this.priority = priority;
+            this.path = path;
+            this.sequence = sequence;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        // Dispatch and expiry race for the request; whichever gets here first takes it off the queue depth.
+        private boolean dequeue() {
+
+            return dequeued.compareAndSet(false, true);
+        }
+    }
+}
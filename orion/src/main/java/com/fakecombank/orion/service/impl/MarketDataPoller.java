@@ -0,0 +1,79 @@
+package com.fakecombank.orion.service.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fakecombank.orion.constant.MarketDataPriority;
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.repository.CoinRepository;
+import com.fakecombank.orion.service.CoinIngestionService;
+import com.fakecombank.orion.service.CoinSearchService;
+import com.fakecombank.orion.service.LivePriceService;
+import com.fakecombank.orion.service.MarketDataClient;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class MarketDataPoller {
+    private static final int PAGE_SIZE = 250;
+
+    @Autowired
+    private MarketDataClient marketDataClient;
+    @Autowired
+    private LivePriceService livePriceService;
+    @Autowired
+    private CoinSearchService coinSearchService;
+    @Autowired
+    private CoinRepository coinRepository;
+    @Autowired
+    private CoinIngestionService coinIngestionService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${market-data.poller.pages:2}")
+    private int pages;
+
+    @Scheduled(fixedDelayString = "${market-data.poller.interval-ms:30000}")
+    public void refreshPrices() {
+        for (int page = 1; page <= pages; page++) {
+            poll("/coins/markets?vs_currency=usd&per_page=" + PAGE_SIZE + "&page=" + page);
+        }
+
+        List<String> untracked = new ArrayList<>();
+
+        for (String coinId : coinRepository.findAllIds()) {
+            if (livePriceService.getQuote(coinId) == null) {
+                untracked.add(coinId);
+            }
+        }
+
+        for (int from = 0; from < untracked.size(); from += PAGE_SIZE) {
+            List<String> ids = untracked.subList(from, Math.min(from + PAGE_SIZE, untracked.size()));
+            poll("/coins/markets?vs_currency=usd&per_page=" + PAGE_SIZE + "&ids=" + String.join(",", ids));
+        }
+
+        livePriceService.markLoaded();
+    }
+
+    private void poll(String path) {
+        try {
+            byte[] body = marketDataClient.get(MarketDataPriority.PRICE_REFRESH, path).join();
+            List<Coin> coins = objectMapper.readValue(body, new TypeReference<List<Coin>>() {});
+
+            for (Coin coin : coins) {
+                Instant updatedAt = coin.getLastUpdated() != null ? coin.getLastUpdated().toInstant() : Instant.now();
+                livePriceService.publish(coin.getId(), coin.getCurrentPrice(), updatedAt);
+            }
+
+            coinSearchService.indexMarketData(coins);
+            coinIngestionService.ingest(coins);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.fakecombank.orion.service.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fakecombank.orion.service.MarketDataSnapshotStore;
+
+import jakarta.annotation.PreDestroy;
+
+// Last-known-good upstream payloads, one file per request path. Files are written behind the request on a single
+// thread via temp file + atomic rename and read back into memory at startup.
+@Service
+public class MarketDataSnapshotStoreImpl implements MarketDataSnapshotStore {
+    private static final String SUFFIX = ".json";
+
+    private final Path dir;
+    private final ConcurrentHashMap<String, byte[]> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> savedAt = new ConcurrentHashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("market-data-snapshot").daemon().factory());
+
+    public MarketDataSnapshotStoreImpl(@Value("${market-data.snapshot.dir:data/snapshot}") String dir) {
+        this.dir = Paths.get(dir);
+        load();
+    }
+
+    @Override
+    public void save(String path, byte[] body) {
+        snapshots.put(path, body);
+        savedAt.put(path, System.currentTimeMillis());
+
+        writer.execute(() -> {
+            try {
+                Files.createDirectories(dir);
+
+                Path target = dir.resolve(fileName(path));
+                Path temp = Files.createTempFile(dir, "snapshot", ".tmp");
+
+                Files.write(temp, body);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    @Override
+    public byte[] get(String path) {
+
+        return snapshots.get(path);
+    }
+
+    @Override
+    public Map<String, Long> savedAt() {
+
+        return Collections.unmodifiableMap(savedAt);
+    }
+
+    @PreDestroy
+    public void close() {
+        writer.shutdown();
+    }
+
+    private void load() {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String path = new String(Base64.getUrlDecoder().decode(name.substring(0, name.length() - SUFFIX.length())),
+                        StandardCharsets.UTF_8);
+
+                snapshots.put(path, Files.readAllBytes(file));
+                savedAt.put(path, Files.getLastModifiedTime(file).toMillis());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static String fileName(String path) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(path.getBytes(StandardCharsets.UTF_8)) + SUFFIX;
+    }
+}
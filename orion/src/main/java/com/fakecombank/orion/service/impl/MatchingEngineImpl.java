@@ -0,0 +1,173 @@
+package com.fakecombank.orion.service.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fakecombank.orion.constant.OrderStatus;
+import com.fakecombank.orion.constant.OrderType;
+import com.fakecombank.orion.model.Order;
+import com.fakecombank.orion.model.OrderItem;
+import com.fakecombank.orion.repository.OrderRepository;
+import com.fakecombank.orion.service.MatchingEngine;
+import com.fakecombank.orion.utils.FixedPoint;
+import com.fakecombank.orion.utils.OrderBook;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Coins are hashed onto a fixed set of shards. Each shard owns the order books of its coins and applies commands
+// from its queue on a single thread, so books need no locking and orders for one coin are matched in arrival order.
+// Decisions are handed to OrderFillWriter, which persists them in batches. A command that throws is logged and
+// counted; the shard carries on with the next one, since its books are still consistent for every other order.
+@Service
+public class MatchingEngineImpl implements MatchingEngine {
+    private static final Logger log = LoggerFactory.getLogger(MatchingEngineImpl.class);
+
+    private final OrderFillWriter fillWriter;
+    private final OrderRepository orderRepository;
+    private final Shard[] shards;
+
+    public MatchingEngineImpl(OrderFillWriter fillWriter, OrderRepository orderRepository, MeterRegistry meterRegistry,
+            @Value("${matching.shards:4}") int shardCount,
+            @Value("${matching.queue-capacity:65536}") int queueCapacity) {
+        this.fillWriter = fillWriter;
+        this.orderRepository = orderRepository;
+        this.shards = new Shard[shardCount];
+        Counter failures = Counter.builder("matching.command_failures").register(meterRegistry);
+
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, queueCapacity, failures);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reloadRestingOrders() {
+        List<Order> resting = orderRepository.findByStatusInOrderByIdAsc(List.of(OrderStatus.PENDING, OrderStatus.PARTIALLY_FILLED));
+
+        resting.forEach(this::submit);
+    }
+
+    @Override
+    public void submit(Order order) {
+        OrderItem item = order.getOrderItem();
+        String coinId = item.getCoin().getId();
+        long orderId = order.getId();
+        boolean buy = order.getOrderType().equals(OrderType.BUY);
+        long price = FixedPoint.of(buy ? item.getBuyPrice() : item.getSellPrice());
+        long quantity = FixedPoint.of(item.getQuantity() - order.getFilledQuantity());
+        long ownerId = order.getUser().getId();
+        OrderBook.FillListener listener = new OrderBook.FillListener() {
+            @Override
+            public void onFill(long maker, long taker, boolean takerBuys, long fillPrice, long fillQuantity) {
+                fillWriter.fill(coinId, takerBuys ? taker : maker, takerBuys ? maker : taker, taker,
+                        FixedPoint.toDouble(fillPrice), FixedPoint.toDouble(fillQuantity));
+            }
+
+            @Override
+            public void onSelfTradeCancel(long maker, long remaining) {
+                fillWriter.cancelled(maker, FixedPoint.toDouble(remaining));
+            }
+        };
+
+        shard(coinId).execute("submit order " + orderId, books -> books.computeIfAbsent(coinId, id -> new OrderBook())
+                .submit(orderId, ownerId, buy, price, quantity, listener));
+    }
+
+    @Override
+    public void cancel(Order order) {
+        String coinId = order.getOrderItem().getCoin().getId();
+        long orderId = order.getId();
+
+        shard(coinId).execute("cancel order " + orderId, books -> {
+            OrderBook book = books.get(coinId);
+            long remaining = book != null ? book.cancel(orderId) : 0;
+
+            if (remaining > 0) {
+                fillWriter.cancelled(orderId, FixedPoint.toDouble(remaining));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Shard shard : shards) {
+            shard.thread.interrupt();
+        }
+    }
+
+    private Shard shard(String coinId) {
+
+        return shards[Math.floorMod(coinId.hashCode(), shards.length)];
+    }
+
+    private interface Command {
+
+        void apply(Map<String, OrderBook> books);
+    }
+
+    private static class Task {
+        private final String description;
+        private final Command command;
+
+        private Task(String description, Command command) {
+            this.description = description;
+            this.command = command;
+        }
+    }
+
+    private static class Shard {
+        private final Map<String, OrderBook> books = new HashMap<>();
+        private final BlockingQueue<Task> commands;
+        private final Counter failures;
+        private final Thread thread;
+
+        private Shard(int index, int queueCapacity, Counter failures) {
+            this.commands = new ArrayBlockingQueue<>(queueCapacity);
+            this.failures = failures;
+            this.thread = Thread.ofPlatform().name("matching-shard-" + index).daemon().start(this::run);
+        }
+
+        private void execute(String description, Command command) {
+            try {
+                commands.put(new Task(description, command));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while submitting to the matching engine");
+            }
+        }
+
+        private void run() {
+            while (true) {
+                Task task;
+
+                try {
+                    task = commands.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                try {
+                    task.command.apply(books);
+                } catch (RuntimeException e) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+
+                    failures.increment();
+                    log.error("Matching shard {} failed to {}", thread.getName(), task.description, e);
+                }
+            }
+        }
+    }
+}
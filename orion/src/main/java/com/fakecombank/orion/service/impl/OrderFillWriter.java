@@ -0,0 +1,415 @@
+package com.fakecombank.orion.service.impl;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.fakecombank.orion.constant.LedgerAccount;
+import com.fakecombank.orion.constant.LedgerEntryType;
+import com.fakecombank.orion.constant.OrderStatus;
+import com.fakecombank.orion.constant.OrderType;
+import com.fakecombank.orion.model.Asset;
+import com.fakecombank.orion.model.Order;
+import com.fakecombank.orion.model.OrderFill;
+import com.fakecombank.orion.model.OrderFillDeadLetter;
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.repository.AssetRepository;
+import com.fakecombank.orion.repository.OrderFillDeadLetterRepository;
+import com.fakecombank.orion.repository.OrderFillRepository;
+import com.fakecombank.orion.repository.OrderRepository;
+import com.fakecombank.orion.service.ConflictRetryService;
+import com.fakecombank.orion.service.JournalService;
+import com.fakecombank.orion.service.LedgerService;
+import com.fakecombank.orion.service.WalletService;
+import com.fakecombank.orion.utils.FixedPoint;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Persists what the matching engine decided. Fill and cancel events are drained in batches and applied in one
+// transaction per batch: fills go in as a single JDBC batch and each touched order, wallet and asset row is
+// written once no matter how many fills it took part in. Events are applied in the order the engine emitted them.
+//
+// A batch is only dropped once it has committed. A failed batch is retried with backoff; after a few failures its
+// events are applied one at a time so a single bad event cannot hold up the rest, and an event that keeps failing
+// for a reason other than the database being unavailable goes to order_fill_dead_letter. The queue is bounded, so a
+// writer that falls behind blocks the matching shards instead of growing without limit.
+@Service
+public class OrderFillWriter {
+    private static final Logger log = LoggerFactory.getLogger(OrderFillWriter.class);
+    private static final double QUANTITY_EPSILON = 1e-8;
+
+    private final BlockingQueue<Object> events;
+    private final ConflictRetryService conflictRetryService;
+    private final OrderRepository orderRepository;
+    private final OrderFillRepository orderFillRepository;
+    private final OrderFillDeadLetterRepository deadLetterRepository;
+    private final AssetRepository assetRepository;
+    private final WalletService walletService;
+    private final JournalService journalService;
+    private final LedgerService ledgerService;
+    private final int batchSize;
+    private final int isolateAfter;
+    private final long retryDelayMillis;
+    private final long maxRetryDelayMillis;
+    private final DistributionSummary batchFills;
+    private final Counter failedBatches;
+    private final Counter deadLetters;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public OrderFillWriter(ConflictRetryService conflictRetryService, OrderRepository orderRepository,
+            OrderFillRepository orderFillRepository, OrderFillDeadLetterRepository deadLetterRepository,
+            AssetRepository assetRepository, WalletService walletService, JournalService journalService,
+            LedgerService ledgerService, MeterRegistry meterRegistry,
+            @Value("${matching.fill-batch-size:500}") int batchSize,
+            @Value("${matching.fill-queue-capacity:65536}") int queueCapacity,
+            @Value("${matching.fill-retry.isolate-after:5}") int isolateAfter,
+            @Value("${matching.fill-retry.delay-ms:50}") long retryDelayMillis,
+            @Value("${matching.fill-retry.max-delay-ms:5000}") long maxRetryDelayMillis) {
+        this.events = new ArrayBlockingQueue<>(queueCapacity);
+        this.conflictRetryService = conflictRetryService;
+        this.orderRepository = orderRepository;
+        this.orderFillRepository = orderFillRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.assetRepository = assetRepository;
+        this.walletService = walletService;
+        this.journalService = journalService;
+        this.ledgerService = ledgerService;
+        this.batchSize = batchSize;
+        this.isolateAfter = isolateAfter;
+        this.retryDelayMillis = retryDelayMillis;
+        this.maxRetryDelayMillis = maxRetryDelayMillis;
+        this.batchFills = DistributionSummary.builder("matching.fill_writer.batch_fills").register(meterRegistry);
+        this.failedBatches = Counter.builder("matching.fill_writer.failed_batches").register(meterRegistry);
+        this.deadLetters = Counter.builder("matching.fill_writer.dead_letters").register(meterRegistry);
+        this.writer = Thread.ofPlatform().name("order-fill-writer").daemon().start(this::run);
+    }
+
+    public void fill(String coinId, long buyOrderId, long sellOrderId, long takerOrderId, double price, double quantity) {
+        enqueue(new FillEvent(coinId, buyOrderId, sellOrderId, takerOrderId, price, quantity));
+    }
+
+    public void cancelled(long orderId, double remaining) {
+        enqueue(new CancelEvent(orderId, remaining));
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        writer.interrupt();
+    }
+
+    private void enqueue(Object event) {
+        try {
+            events.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while handing an event to the fill writer");
+        }
+    }
+
+    // Orders whose fills never committed are still PENDING or PARTIALLY_FILLED in the database, so whatever is left
+    // in the batch on shutdown is matched again when MatchingEngineImpl reloads the resting orders.
+    private void run() {
+        List<Object> batch = new ArrayList<>(batchSize);
+        int failures = 0;
+
+        while (running) {
+            if (batch.isEmpty()) {
+                try {
+                    batch.add(events.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                events.drainTo(batch, batchSize - 1);
+            }
+
+            try {
+                if (failures < isolateAfter) {
+                    write(batch);
+                    batch.clear();
+                } else {
+                    writeOneByOne(batch);
+                }
+
+                failures = 0;
+            } catch (RuntimeException e) {
+                failures++;
+                failedBatches.increment();
+                log.error("Writing {} matching events failed (attempt {}), retrying", batch.size(), failures, e);
+
+                try {
+                    Thread.sleep(Math.min(maxRetryDelayMillis, retryDelayMillis << Math.min(failures - 1, 20)));
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void write(List<Object> batch) {
+        conflictRetryService.inTransaction("fill_writer", () -> {
+            apply(batch);
+            return null;
+        });
+    }
+
+    // Each event leaves the batch once it has committed or been dead-lettered, so a failure here resumes where it
+    // stopped on the next attempt.
+    private void writeOneByOne(List<Object> batch) {
+        while (!batch.isEmpty()) {
+            Object event = batch.get(0);
+
+            try {
+                write(List.of(event));
+            } catch (RuntimeException e) {
+                if (isUnavailable(e)) {
+                    throw e;
+                }
+
+                deadLetter(event, e);
+            }
+
+            batch.remove(0);
+        }
+    }
+
+    private void deadLetter(Object event, RuntimeException failure) {
+        OrderFillDeadLetter deadLetter = new OrderFillDeadLetter();
+
+        if (event instanceof FillEvent fill) {
+            deadLetter.setEventType("FILL");
+            deadLetter.setCoinId(fill.coinId);
+            deadLetter.setBuyOrderId(fill.buyOrderId);
+            deadLetter.setSellOrderId(fill.sellOrderId);
+            deadLetter.setTakerOrderId(fill.takerOrderId);
+            deadLetter.setPrice(fill.price);
+            deadLetter.setQuantity(fill.quantity);
+        } else {
+            CancelEvent cancel = (CancelEvent) event;
+
+            deadLetter.setEventType("CANCEL");
+            deadLetter.setOrderId(cancel.orderId);
+            deadLetter.setQuantity(cancel.remaining);
+        }
+
+        deadLetter.setError(String.valueOf(failure));
+        deadLetter.setTimestamp(LocalDateTime.now());
+        deadLetterRepository.save(deadLetter);
+        deadLetters.increment();
+        log.error("Moved a {} event to the dead-letter table", deadLetter.getEventType(), failure);
+    }
+
+    private static boolean isUnavailable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void apply(List<Object> batch) {
+        Set<Long> orderIds = new HashSet<>();
+
+        for (Object event : batch) {
+            if (event instanceof FillEvent fill) {
+                orderIds.add(fill.buyOrderId);
+                orderIds.add(fill.sellOrderId);
+            } else {
+                orderIds.add(((CancelEvent) event).orderId);
+            }
+        }
+
+        Map<Long, Order> orders = new HashMap<>();
+        orderRepository.findAllById(orderIds).forEach(order -> orders.put(order.getId(), order));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderFill> fills = new ArrayList<>();
+        Map<Long, User> users = new HashMap<>();
+        Map<Long, Long> walletCredits = new HashMap<>();
+        List<EscrowRelease> releases = new ArrayList<>();
+        Map<String, AssetCredit> assetCredits = new HashMap<>();
+
+        for (Object event : batch) {
+            if (event instanceof FillEvent fill) {
+                Order buy = orders.get(fill.buyOrderId);
+                Order sell = orders.get(fill.sellOrderId);
+                OrderFill orderFill = new OrderFill();
+
+                orderFill.setCoinId(fill.coinId);
+                orderFill.setBuyOrderId(fill.buyOrderId);
+                orderFill.setSellOrderId(fill.sellOrderId);
+                orderFill.setTakerOrderId(fill.takerOrderId);
+                orderFill.setPrice(fill.price);
+                orderFill.setQuantity(fill.quantity);
+                orderFill.setTimestamp(now);
+                fills.add(orderFill);
+
+                buy.setFilledQuantity(buy.getFilledQuantity() + fill.quantity);
+                sell.setFilledQuantity(sell.getFilledQuantity() + fill.quantity);
+
+                // The buyer reserved funds at their limit, so a fill at a better price hands back the difference.
+                long price = FixedPoint.of(fill.price);
+                long quantity = FixedPoint.of(fill.quantity);
+                long refund = FixedPoint.multiply(FixedPoint.of(buy.getOrderItem().getBuyPrice()) - price, quantity,
+                        RoundingMode.FLOOR);
+
+                credit(users, walletCredits, releases, buy, LedgerEntryType.ORDER_REFUND, refund);
+                credit(users, walletCredits, releases, sell, LedgerEntryType.ORDER_PROCEEDS,
+                        FixedPoint.multiply(price, quantity, RoundingMode.FLOOR));
+                creditAsset(assetCredits, buy, fill.quantity, fill.price);
+            } else {
+                CancelEvent cancel = (CancelEvent) event;
+                Order order = orders.get(cancel.orderId);
+
+                order.setStatus(OrderStatus.CANCLED);
+
+                if (order.getOrderType().equals(OrderType.BUY)) {
+                    credit(users, walletCredits, releases, order, LedgerEntryType.ORDER_REFUND, FixedPoint.multiply(
+                            FixedPoint.of(order.getOrderItem().getBuyPrice()), FixedPoint.of(cancel.remaining), RoundingMode.FLOOR));
+                } else {
+                    creditAsset(assetCredits, order, cancel.remaining, order.getOrderItem().getBuyPrice());
+                }
+            }
+        }
+
+        for (Order order : orders.values()) {
+            if (order.getStatus() == OrderStatus.CANCLED) {
+                continue;
+            }
+
+            if (order.getFilledQuantity() >= order.getOrderItem().getQuantity() - QUANTITY_EPSILON) {
+                order.setStatus(OrderStatus.FILLED);
+            } else if (order.getFilledQuantity() > 0) {
+                order.setStatus(OrderStatus.PARTIALLY_FILLED);
+            }
+        }
+
+        orderFillRepository.insertAll(fills);
+        orderRepository.saveAll(orders.values());
+
+        Map<Long, Long> walletIds = new HashMap<>();
+
+        // Credited with an in-place update inside this batch's transaction rather than on the wallet's lane: a lane
+        // task commits on its own, so a batch that rolled back and was retried would credit twice.
+        walletCredits.forEach((userId, units) -> {
+            Long walletId = walletService.getUserWallet(users.get(userId)).getId();
+
+            walletService.credit(walletId, FixedPoint.toBigDecimal(units));
+            walletIds.put(userId, walletId);
+        });
+
+        // Every release is posted on its own so the ledger ties it to its order, though the wallet row took the sum.
+        for (EscrowRelease release : releases) {
+            ledgerService.post(release.type, LedgerAccount.ESCROW.getId(), walletIds.get(release.order.getUser().getId()),
+                    release.amount, "order:" + release.order.getId());
+        }
+
+        for (AssetCredit credit : assetCredits.values()) {
+            Long userId = credit.order.getUser().getId();
+            String coinId = credit.order.getOrderItem().getCoin().getId();
+
+            if (assetRepository.addQuantity(userId, coinId, credit.quantity) == 0) {
+                Asset asset = new Asset();
+                asset.setUser(credit.order.getUser());
+                asset.setCoin(credit.order.getOrderItem().getCoin());
+                asset.setBuyPrice(credit.price);
+                asset.setQuantity(credit.quantity);
+                assetRepository.save(asset);
+            }
+
+            journalService.assetAdjusted(credit.order.getUser().getId(), credit.order.getOrderItem().getCoin().getId(),
+                    credit.quantity);
+        }
+
+        batchFills.record(fills.size());
+    }
+
+    private static void credit(Map<Long, User> users, Map<Long, Long> walletCredits, List<EscrowRelease> releases,
+            Order order, LedgerEntryType type, long amount) {
+        User user = order.getUser();
+
+        users.put(user.getId(), user);
+        walletCredits.merge(user.getId(), amount, Long::sum);
+        releases.add(new EscrowRelease(order, type, amount));
+    }
+
+    private static void creditAsset(Map<String, AssetCredit> assetCredits, Order order, double quantity, double price) {
+        String key = order.getUser().getId() + ":" + order.getOrderItem().getCoin().getId();
+
+        assetCredits.computeIfAbsent(key, k -> new AssetCredit(order, price)).quantity += quantity;
+    }
+
+    private static class AssetCredit {
+        private final Order order;
+        private final double price;
+        private double quantity;
+
+        private AssetCredit(Order order, double price) {
+            this.order = order;
+            this.price = price;
+        }
+    }
+
+    private static class EscrowRelease {
+        private final Order order;
+        private final LedgerEntryType type;
+        private final long amount;
+
+        private EscrowRelease(Order order, LedgerEntryType type, long amount) {
+            this.order = order;
+            this.type = type;
+            this.amount = amount;
+        }
+    }
+
+    private static class FillEvent {
+        private final String coinId;
+        private final long buyOrderId;
+        private final long sellOrderId;
+        private final long takerOrderId;
+        private final double price;
+        private final double quantity;
+
+        private FillEvent(String coinId, long buyOrderId, long sellOrderId, long takerOrderId, double price, double quantity) {
+            this.coinId = coinId;
+            this.buyOrderId = buyOrderId;
+            this.sellOrderId = sellOrderId;
+            this.takerOrderId = takerOrderId;
+            this.price = price;
+            this.quantity = quantity;
+        }
+    }
+
+    private static class CancelEvent {
+        private final long orderId;
+        private final double remaining;
+
+        private CancelEvent(long orderId, double remaining) {
+            this.orderId = orderId;
+            this.remaining = remaining;
+        }
+    }
+}
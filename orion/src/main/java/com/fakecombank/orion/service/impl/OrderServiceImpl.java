@@ -1,13 +1,26 @@
 package com.fakecombank.orion.service.impl;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.fakecombank.orion.constant.BatchOrderMode;
+import com.fakecombank.orion.constant.LedgerAccount;
+import com.fakecombank.orion.constant.LedgerEntryType;
 import com.fakecombank.orion.constant.OrderStatus;
 import com.fakecombank.orion.constant.OrderType;
 import com.fakecombank.orion.model.Asset;
@@ -15,11 +28,25 @@ import com.fakecombank.orion.model.Coin;
 import com.fakecombank.orion.model.Order;
 import com.fakecombank.orion.model.OrderItem;
 import com.fakecombank.orion.model.User;
-import com.fakecombank.orion.repository.OrderItemRepository;
+import com.fakecombank.orion.model.Wallet;
+import com.fakecombank.orion.repository.AssetRepository;
+import com.fakecombank.orion.repository.CoinRepository;
 import com.fakecombank.orion.repository.OrderRepository;
+import com.fakecombank.orion.repository.WalletRepository;
+import com.fakecombank.orion.request.CreateOrderRequest;
+import com.fakecombank.orion.response.BatchOrderResponse;
+import com.fakecombank.orion.response.BatchOrderResult;
+import com.fakecombank.orion.response.OrderHistoryResponse;
+import com.fakecombank.orion.response.OrderSummary;
 import com.fakecombank.orion.service.AssetService;
+import com.fakecombank.orion.service.ConflictRetryService;
+import com.fakecombank.orion.service.JournalService;
+import com.fakecombank.orion.service.LedgerService;
+import com.fakecombank.orion.service.LivePriceService;
+import com.fakecombank.orion.service.MatchingEngine;
 import com.fakecombank.orion.service.OrderService;
 import com.fakecombank.orion.service.WalletService;
+import com.fakecombank.orion.utils.FixedPoint;
 
 @Service
 public class OrderServiceImpl implements OrderService {
@@ -28,24 +55,42 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private WalletService walletService;
     @Autowired
-    private OrderItemRepository orderItemRepository;
-    @Autowired
     private AssetService assetService;
+    @Autowired
+    private LivePriceService livePriceService;
+    @Autowired
+    private MatchingEngine matchingEngine;
+    @Autowired
+    private CoinRepository coinRepository;
+    @Autowired
+    private AssetRepository assetRepository;
+    @Autowired
+    private WalletRepository walletRepository;
+    @Autowired
+    private ConflictRetryService conflictRetryService;
+    @Autowired
+    private JournalService journalService;
+    @Autowired
+    private LedgerService ledgerService;
+    @Value("${orders.batch.max-size:100}")
+    private int maxBatchSize;
+    @Value("${orders.history.max-page-size:200}")
+    private int maxHistoryPageSize;
 
     @Override
     public Order createOrder(User user, OrderItem orderItem, OrderType orderType) {
-        double price = orderItem.getCoin().getCurrentPrice() * orderItem.getQuantity();
+        boolean buy = orderType.equals(OrderType.BUY);
+        double unitPrice = buy ? orderItem.getBuyPrice() : orderItem.getSellPrice();
+        BigDecimal price = orderAmount(unitPrice, orderItem.getQuantity(), buy);
 
         Order order = new Order();
         order.setUser(user);
         order.setOrderItem(orderItem);
         order.setOrderType(orderType);
-        order.setPrice(BigDecimal.valueOf(price));
+        order.setPrice(price);
         order.setTimestamp(LocalDateTime.now());
         order.setStatus(OrderStatus.PENDING);
 
-        orderRepository.save(order);
-
         return order;
     }
 
@@ -55,25 +100,298 @@ public class OrderServiceImpl implements OrderService {
         return orderRepository.findById(orderId).orElseThrow(() -> new RuntimeException("Order not found"));
     }
 
+    // The cursor is the (timestamp, id) of the last order on the previous page, so a page stays correct while new
+    // orders arrive at the head of the history.
     @Override
-    public List<Order> getOrdersByUser(Long userId, OrderType orderType, String assetSymbol) {
-        
-        return orderRepository.findByUserId(userId);
+    public OrderHistoryResponse getOrdersByUser(Long userId, OrderType orderType, String assetSymbol,
+            LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxHistoryPageSize));
+        LocalDateTime beforeTimestamp = null;
+        Long beforeId = null;
+
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                beforeTimestamp = LocalDateTime.parse(parts[0]);
+                beforeId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<OrderSummary> orders = orderRepository.findHistory(userId, orderType, assetSymbol, from, to,
+                beforeTimestamp, beforeId, pageSize + 1);
+        OrderHistoryResponse response = new OrderHistoryResponse();
+
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            OrderSummary last = orders.get(pageSize - 1);
+            String position = last.getTimestamp() + "|" + last.getId();
+            response.setNextCursor(Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        response.setOrders(orders);
+
+        return response;
     }
 
     @Override
-    @Transactional
     public Order processOrder(Coin coin, double quantity, OrderType orderType, User user) {
         
         if (orderType.equals(OrderType.BUY)) {
-            return buyAsset(coin, quantity, user);
+            return conflictRetryService.inTransaction("buy", () -> buyAsset(coin, quantity, user));
         } else if (orderType.equals(OrderType.SELL)) {
-            return sellAsset(coin, quantity, user);
+            return conflictRetryService.inTransaction("sell", () -> sellAsset(coin, quantity, user));
         } else {
             throw new IllegalArgumentException("Invalid order type");
         }
     }
 
+    // Every order in the batch is priced and checked against one in-memory view of the wallet and holdings, then the
+    // accepted ones are written together: orders (cascading to their items) in one saveAll, each touched asset once
+    // and the wallet once with the net change.
+    @Override
+    @Transactional
+    public BatchOrderResponse processBatch(User user, List<CreateOrderRequest> requests, BatchOrderMode mode) {
+
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one order");
+        }
+
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch can contain at most " + maxBatchSize + " orders");
+        }
+
+        Map<String, Coin> coins = new HashMap<>();
+        coinRepository.findAllById(requests.stream().map(CreateOrderRequest::getCoinId).distinct().toList())
+                .forEach(coin -> coins.put(coin.getId(), coin));
+
+        Map<String, Asset> assets = new HashMap<>();
+        assetRepository.findByUserId(user.getId()).forEach(asset -> assets.put(asset.getCoin().getId(), asset));
+
+        Map<String, Double> holdings = new HashMap<>();
+        assets.forEach((coinId, asset) -> holdings.put(coinId, asset.getQuantity()));
+
+        Wallet wallet = walletService.getUserWallet(user);
+        BigDecimal balance = wallet.getBalance();
+        Map<String, Double> prices = new HashMap<>();
+        Map<String, Coin> touched = new LinkedHashMap<>();
+        List<BatchOrderResult> results = new ArrayList<>();
+        List<Order> accepted = new ArrayList<>();
+        boolean allValid = true;
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateOrderRequest request = requests.get(i);
+            BatchOrderResult result = new BatchOrderResult();
+
+            result.setIndex(i);
+            results.add(result);
+
+            try {
+                if (request.getOrderType() == null || request.getQuantity() <= 0) {
+                    throw new IllegalArgumentException("Order type and a quantity greater than zero are required");
+                }
+
+                Coin coin = coins.get(request.getCoinId());
+
+                if (coin == null) {
+                    throw new RuntimeException("Coin not found");
+                }
+
+                double price = prices.computeIfAbsent(coin.getId(), livePriceService::getPriceForOrder);
+                boolean buy = request.getOrderType().equals(OrderType.BUY);
+                BigDecimal amount = orderAmount(price, request.getQuantity(), buy);
+                double held = holdings.getOrDefault(coin.getId(), 0.0);
+                OrderItem orderItem = new OrderItem();
+
+                orderItem.setCoin(coin);
+                orderItem.setQuantity(request.getQuantity());
+
+                if (buy) {
+                    if (mode == BatchOrderMode.BEST_EFFORT && balance.compareTo(amount) < 0) {
+                        throw new RuntimeException("Insufficient balance");
+                    }
+
+                    balance = balance.subtract(amount);
+                    holdings.put(coin.getId(), held + request.getQuantity());
+                    orderItem.setBuyPrice(price);
+                } else {
+                    if (held < request.getQuantity()) {
+                        throw new RuntimeException("Insufficient quantity to sell");
+                    }
+
+                    balance = balance.add(amount);
+                    holdings.put(coin.getId(), held - request.getQuantity());
+                    orderItem.setBuyPrice(assets.containsKey(coin.getId()) ? assets.get(coin.getId()).getBuyPrice() : price);
+                    orderItem.setSellPrice(price);
+                }
+
+                Order order = new Order();
+                order.setUser(user);
+                order.setOrderItem(orderItem);
+                order.setOrderType(request.getOrderType());
+                order.setPrice(amount);
+                order.setTimestamp(LocalDateTime.now());
+                order.setStatus(OrderStatus.SUCCESS);
+                orderItem.setOrder(order);
+
+                accepted.add(order);
+                touched.put(coin.getId(), coin);
+                result.setStatus(OrderStatus.SUCCESS);
+                result.setOrder(order);
+            } catch (RuntimeException e) {
+                allValid = false;
+                result.setStatus(OrderStatus.ERROR);
+                result.setMessage(e.getMessage());
+            }
+        }
+
+        BatchOrderResponse response = new BatchOrderResponse();
+        response.setResults(results);
+
+        if (mode == BatchOrderMode.ALL_OR_NOTHING && (!allValid || balance.signum() < 0)) {
+            String reason = allValid ? "Insufficient balance for the batch" : "Another order in the batch failed";
+
+            for (BatchOrderResult result : results) {
+                if (result.getStatus() == OrderStatus.SUCCESS) {
+                    result.setStatus(OrderStatus.CANCLED);
+                    result.setOrder(null);
+                    result.setMessage(reason);
+                }
+            }
+
+            response.setExecuted(false);
+            return response;
+        }
+
+        // The balance above was read before the batch was priced, so the net change is applied atomically: a
+        // concurrent debit that left too little for it fails the whole batch instead of driving the wallet negative.
+        BigDecimal change = balance.subtract(wallet.getBalance());
+
+        if (change.signum() > 0) {
+            walletRepository.credit(wallet.getId(), change);
+        } else if (change.signum() < 0 && walletRepository.debitIfSufficient(wallet.getId(), change.negate()) == null) {
+            throw new RuntimeException("Insufficient balance for the batch");
+        }
+
+        orderRepository.saveAll(accepted);
+        accepted.forEach(journalService::orderPlaced);
+
+        for (Order order : accepted) {
+            long amount = FixedPoint.of(order.getPrice());
+
+            if (order.getOrderType().equals(OrderType.BUY)) {
+                ledgerService.post(LedgerEntryType.ORDER_PAYMENT, wallet.getId(), LedgerAccount.MARKET.getId(), amount,
+                        "order:" + order.getId());
+            } else {
+                ledgerService.post(LedgerEntryType.ORDER_PROCEEDS, LedgerAccount.MARKET.getId(), wallet.getId(), amount,
+                        "order:" + order.getId());
+            }
+        }
+
+        List<Asset> changedAssets = new ArrayList<>();
+        List<Asset> emptiedAssets = new ArrayList<>();
+
+        for (Coin coin : touched.values()) {
+            Asset asset = assets.get(coin.getId());
+            double quantity = holdings.get(coin.getId());
+            double previous = asset != null ? asset.getQuantity() : 0;
+
+            if (asset == null) {
+                asset = new Asset();
+                asset.setUser(user);
+                asset.setCoin(coin);
+                asset.setBuyPrice(prices.get(coin.getId()));
+            }
+
+            asset.setQuantity(quantity);
+
+            if (asset.getId() != null && quantity * prices.get(coin.getId()) <= 1) {
+                emptiedAssets.add(asset);
+                journalService.assetAdjusted(user.getId(), coin.getId(), -previous);
+            } else if (quantity > 0) {
+                changedAssets.add(asset);
+                journalService.assetAdjusted(user.getId(), coin.getId(), quantity - previous);
+            }
+        }
+
+        assetRepository.saveAll(changedAssets);
+        assetRepository.deleteAll(emptiedAssets);
+
+        if (change.signum() > 0) {
+            journalService.walletCredited(wallet.getId(), change);
+        } else if (change.signum() < 0) {
+            journalService.walletDebited(wallet.getId(), change.negate());
+        }
+
+        response.setExecuted(true);
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public Order placeLimitOrder(Coin coin, double quantity, double limitPrice, OrderType orderType, User user) {
+
+        if (quantity <= 0 || limitPrice <= 0) {
+            throw new IllegalArgumentException("Quantity and price must be greater than zero");
+        }
+
+        OrderItem orderItem;
+
+        if (orderType.equals(OrderType.BUY)) {
+            orderItem = createOrderItem(coin, quantity, limitPrice, 0);
+        } else {
+            Asset assetToSell = assetService.findAssetByUserIdAndCoinId(user.getId(), coin.getId());
+
+            if (assetToSell == null) {
+                throw new RuntimeException("Asset not found");
+            }
+
+            if (assetToSell.getQuantity() < quantity) {
+                throw new RuntimeException("Insufficient quantity to sell");
+            }
+
+            assetService.updateAsset(assetToSell.getId(), -quantity);
+            journalService.assetAdjusted(user.getId(), coin.getId(), -quantity);
+            orderItem = createOrderItem(coin, quantity, assetToSell.getBuyPrice(), limitPrice);
+        }
+
+        Order order = createOrder(user, orderItem, orderType);
+
+        orderItem.setOrder(order);
+        orderRepository.save(order);
+
+        if (orderType.equals(OrderType.BUY)) {
+            walletService.payOrderPayment(order, user);
+        }
+
+        journalService.orderPlaced(order);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                matchingEngine.submit(order);
+            }
+        });
+
+        return order;
+    }
+
+    @Override
+    public void cancelOrder(Long orderId, User user) {
+        Order order = getOrderById(orderId);
+
+        if (!order.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("Unauthorized access to order");
+        }
+
+        if (order.getStatus() != OrderStatus.PENDING && order.getStatus() != OrderStatus.PARTIALLY_FILLED) {
+            throw new RuntimeException("Order is not open");
+        }
+
+        matchingEngine.cancel(order);
+    }
+
     private OrderItem createOrderItem(Coin coin, double quantity, double buyPrice, double sellPrice) {
         OrderItem orderItem = new OrderItem();
 
@@ -82,11 +400,13 @@ public class OrderServiceImpl implements OrderService {
         orderItem.setBuyPrice(buyPrice);
         orderItem.setSellPrice(sellPrice);
 
-        orderItemRepository.save(orderItem);
-
         return orderItem;
     }
 
+    // One market order is one debit, one asset upsert and one flush: the order is persisted with its item by cascade,
+    // the holding is touched through a single update (or a new row when there is none) and ids come from pooled
+    // sequences, so the inserts go out together as one JDBC batch at commit. The order is persisted first so the
+    // ledger posting for the payment can reference its id.
     @Transactional
     public Order buyAsset(Coin coin, double quantity, User user) {
         
@@ -94,29 +414,25 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalArgumentException("Quantity must be greater than zero");
         }
 
-        double buyPrice = coin.getCurrentPrice();
+        double buyPrice = livePriceService.getPriceForOrder(coin.getId());
 
         OrderItem orderItem = createOrderItem(coin, quantity, buyPrice, 0);
 
         Order order = createOrder(user, orderItem, OrderType.BUY);
 
         orderItem.setOrder(order);
-
-        walletService.payOrderPayment(order, user);
-
         order.setStatus(OrderStatus.SUCCESS);
-        order.setOrderType(OrderType.BUY);
-
         orderRepository.save(order);
 
-        Asset oldAsset = assetService.findAssetByUserIdAndCoinId(order.getUser().getId(), order.getOrderItem().getCoin().getId());
+        walletService.payOrderPayment(order, user);
 
-        if (oldAsset != null) {
-            assetService.updateAsset(oldAsset.getId(), quantity);
-        } else {
-            assetService.createAsset(user, orderItem.getCoin(), orderItem.getQuantity());
+        if (assetRepository.addQuantity(user.getId(), coin.getId(), quantity) == 0) {
+            assetService.createAsset(user, coin, quantity, buyPrice);
         }
 
+        journalService.orderPlaced(order);
+        journalService.assetAdjusted(user.getId(), coin.getId(), quantity);
+
         return order;
     }
 
@@ -127,38 +443,46 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalArgumentException("Quantity must be greater than zero");
         }
 
-        double sellPrice = coin.getCurrentPrice();
-        Asset assetToSell = assetService.findAssetByUserIdAndCoinId(user.getId(), coin.getId());
+        double sellPrice = livePriceService.getPriceForOrder(coin.getId());
+        Asset assetToSell = assetRepository.findByUserIdAndCoinId(user.getId(), coin.getId());
 
-        if (assetToSell != null) {
-            double buyPrice = assetToSell.getBuyPrice();
+        if (assetToSell == null) {
+            throw new RuntimeException("Asset not found");
+        }
 
-            OrderItem orderItem = createOrderItem(coin, quantity, buyPrice, sellPrice);
+        if (assetToSell.getQuantity() < quantity) {
+            throw new RuntimeException("Insufficient quantity to sell");
+        }
 
-            Order order = createOrder(user, orderItem, OrderType.SELL);
+        OrderItem orderItem = createOrderItem(coin, quantity, assetToSell.getBuyPrice(), sellPrice);
 
-            orderItem.setOrder(order);
+        Order order = createOrder(user, orderItem, OrderType.SELL);
 
-            if (assetToSell.getQuantity() >= quantity) {
-                order.setStatus(OrderStatus.SUCCESS);
-                order.setOrderType(OrderType.SELL);
+        orderItem.setOrder(order);
+        order.setStatus(OrderStatus.SUCCESS);
+        orderRepository.save(order);
 
-                orderRepository.save(order);
+        walletService.payOrderPayment(order, user);
 
-                walletService.payOrderPayment(order, user);
+        assetToSell.setQuantity(assetToSell.getQuantity() - quantity);
+        double removed = quantity;
 
-                Asset updatedAsset = assetService.updateAsset(assetToSell.getId(), -quantity);
+        if (assetToSell.getQuantity() * sellPrice <= 1) {
+            assetRepository.delete(assetToSell);
+            removed += assetToSell.getQuantity();
+        }
 
-                if (updatedAsset.getQuantity() * coin.getCurrentPrice() <= 1) {
-                    assetService.deleteAsset(updatedAsset.getId());
-                }
+        journalService.orderPlaced(order);
+        journalService.assetAdjusted(user.getId(), coin.getId(), -removed);
 
-                return order;
-            }
+        return order;
+    }
 
-            throw new RuntimeException("Insufficient quantity to sell");
-        }
+    // Rounded to the ledger's unit, so the posting for the order converts exactly. A buyer pays the fraction of a unit
+    // left over by the multiplication and a seller forgoes it, so rounding never credits the house's money to a user.
+    private static BigDecimal orderAmount(double unitPrice, double quantity, boolean buy) {
 
-        throw new RuntimeException("Asset not found");
+        return BigDecimal.valueOf(unitPrice).multiply(BigDecimal.valueOf(quantity))
+                .setScale(FixedPoint.DECIMALS, buy ? RoundingMode.CEILING : RoundingMode.FLOOR);
     }
 }
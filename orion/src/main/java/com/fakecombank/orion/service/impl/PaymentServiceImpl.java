@@ -23,6 +23,9 @@ public class PaymentServiceImpl implements PaymentService {
     private PaymentOrderRepository paymentOrderRepository;
     @Value("${stripe.api.key}")
     private String stripeSecretKey;
+    // Empty keeps the SDK default; the loadtest profile points it at the local stub server.
+    @Value("${stripe.api.base-url:}")
+    private String stripeApiBase;
     @Value("${paypal.client-id}")
     private String clientId;
     @Value("${paypal.client-secret}")
@@ -131,6 +134,10 @@ public class PaymentServiceImpl implements PaymentService {
     public PaymentResponse createStripePaymentLink(User user, Long amount, Long orderId) throws StripeException {
         Stripe.apiKey = stripeSecretKey;
 
+        if (!stripeApiBase.isEmpty()) {
+            Stripe.overrideApiBase(stripeApiBase);
+        }
+
         SessionCreateParams params = SessionCreateParams.builder()
                 .addPaymentMethodType(SessionCreateParams.PaymentMethodType.CARD)
                 .setMode(SessionCreateParams.Mode.PAYMENT)
@@ -0,0 +1,201 @@
+package com.fakecombank.orion.service.impl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fakecombank.orion.model.PriceQuote;
+import com.fakecombank.orion.service.LivePriceService;
+import com.fakecombank.orion.service.PriceStreamService;
+import com.fakecombank.orion.utils.LatestValueBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Fans the live price table out to SSE subscribers. Each change is routed only to connections watching that coin
+// and lands in the connection's latest-value buffer; a virtual thread per connection drains the buffer and writes
+// one event per batch, so an idle connection holds no platform thread and a slow one only skips superseded prices.
+@Service
+public class PriceStreamServiceImpl implements PriceStreamService {
+    private final LivePriceService livePriceService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int maxCoins;
+    private final int bufferSize;
+    private final Set<Subscriber> allCoinSubscribers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribersByCoin = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public PriceStreamServiceImpl(LivePriceService livePriceService, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${market-data.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${market-data.stream.max-coins:100}") int maxCoins,
+            @Value("${market-data.stream.buffer-size:2048}") int bufferSize) {
+        this.livePriceService = livePriceService;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.maxCoins = maxCoins;
+        this.bufferSize = bufferSize;
+
+        livePriceService.addPriceChangeListener(this::onPriceChange);
+
+        Gauge.builder("market_data.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+        FunctionCounter.builder("market_data.stream.dropped", this, PriceStreamServiceImpl::droppedTotal).register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(Set<String> coinIds) {
+        if (coinIds.size() > maxCoins) {
+            throw new RuntimeException("A price stream can watch at most " + maxCoins + " coins");
+        }
+
+        Subscriber subscriber = new Subscriber(coinIds);
+        SseEmitter emitter = subscriber.emitter;
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        subscribers.add(subscriber);
+
+        if (coinIds.isEmpty()) {
+            allCoinSubscribers.add(subscriber);
+            livePriceService.getQuotes().forEach(quote -> subscriber.buffer.offer(quote.getCoinId(), quote));
+        } else {
+            for (String coinId : coinIds) {
+                subscribersByCoin.computeIfAbsent(coinId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+                PriceQuote quote = livePriceService.getQuote(coinId);
+
+                if (quote != null) {
+                    subscriber.buffer.offer(coinId, quote);
+                }
+            }
+        }
+
+        subscriber.writer = Thread.ofVirtual()
+                .name("price-stream-" + sequence.incrementAndGet())
+                .start(() -> write(subscriber));
+
+        if (!subscribers.contains(subscriber)) {
+            subscriber.writer.interrupt();
+        }
+
+        return emitter;
+    }
+
+    @Override
+    public int subscriberCount() {
+
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private double droppedTotal() {
+        long total = dropped.get();
+
+        for (Subscriber subscriber : subscribers) {
+            total += subscriber.buffer.dropped();
+        }
+
+        return total;
+    }
+
+    private void onPriceChange(PriceQuote quote) {
+        for (Subscriber subscriber : allCoinSubscribers) {
+            subscriber.buffer.offer(quote.getCoinId(), quote);
+        }
+
+        Set<Subscriber> watching = subscribersByCoin.get(quote.getCoinId());
+
+        if (watching != null) {
+            for (Subscriber subscriber : watching) {
+                subscriber.buffer.offer(quote.getCoinId(), quote);
+            }
+        }
+    }
+
+    private void write(Subscriber subscriber) {
+        try {
+            while (true) {
+                List<PriceQuote> batch = subscriber.buffer.take();
+
+                subscriber.emitter.send(SseEmitter.event()
+                        .name("prices")
+                        .data(objectMapper.writeValueAsString(batch), MediaType.APPLICATION_JSON));
+            }
+        } catch (InterruptedException e) {
+            return;
+        } catch (Exception e) {
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            unsubscribe(subscriber);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+
+        allCoinSubscribers.remove(subscriber);
+
+        for (String coinId : subscriber.coinIds) {
+            subscribersByCoin.computeIfPresent(coinId, (id, watching) -> {
+                watching.remove(subscriber);
+                return watching.isEmpty() ? null : watching;
+            });
+        }
+
+        dropped.addAndGet(subscriber.buffer.dropped());
+
+        if (subscriber.writer != null) {
+            subscriber.writer.interrupt();
+        }
+    }
+
+    private class Subscriber {
+        private final SseEmitter emitter = new Emitter();
+        private final Set<String> coinIds;
+        private final LatestValueBuffer<String, PriceQuote> buffer = new LatestValueBuffer<>(bufferSize);
+        private volatile Thread writer;
+
+        private Subscriber(Set<String> coinIds) {
+            this.coinIds = coinIds;
+        }
+
+        // Spring only runs the completion callback when the container ends the request, not when the emitter is
+        // completed from this side, so completing it here drops the subscriber as well.
+        private class Emitter extends SseEmitter {
+            private Emitter() {
+                super(timeoutMs);
+            }
+
+            @Override
+            public void complete() {
+                super.complete();
+                unsubscribe(Subscriber.this);
+            }
+
+            @Override
+            public void completeWithError(Throwable ex) {
+                super.completeWithError(ex);
+                unsubscribe(Subscriber.this);
+            }
+        }
+    }
+}
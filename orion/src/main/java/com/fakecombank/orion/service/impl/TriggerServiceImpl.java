@@ -0,0 +1,211 @@
+package com.fakecombank.orion.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fakecombank.orion.constant.OrderType;
+import com.fakecombank.orion.constant.TriggerStatus;
+import com.fakecombank.orion.constant.TriggerType;
+import com.fakecombank.orion.model.Asset;
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.model.Order;
+import com.fakecombank.orion.model.PriceQuote;
+import com.fakecombank.orion.model.PriceTrigger;
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.repository.PriceTriggerRepository;
+import com.fakecombank.orion.service.AssetService;
+import com.fakecombank.orion.service.LivePriceService;
+import com.fakecombank.orion.service.OrderService;
+import com.fakecombank.orion.service.TriggerService;
+import com.fakecombank.orion.service.WalletLaneService;
+import com.fakecombank.orion.utils.TriggerIndex;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Stop-loss triggers fire when the price falls to them and take-profit triggers when it rises to them. Only the
+// index entries live in memory; a fired trigger is loaded, claimed and submitted as a market sell off the price
+// publishing thread.
+@Service
+public class TriggerServiceImpl implements TriggerService {
+    private static final int RELOAD_PAGE_SIZE = 10_000;
+
+    @Autowired
+    private PriceTriggerRepository priceTriggerRepository;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private AssetService assetService;
+    @Autowired
+    private LivePriceService livePriceService;
+    @Autowired
+    private WalletLaneService walletLaneService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final TriggerIndex index = new TriggerIndex();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private Counter triggered;
+    private Counter failed;
+
+    @PostConstruct
+    void init() {
+        triggered = Counter.builder("triggers.fired").tag("result", "triggered").register(meterRegistry);
+        failed = Counter.builder("triggers.fired").tag("result", "failed").register(meterRegistry);
+        Gauge.builder("triggers.resting", index, TriggerIndex::size).register(meterRegistry);
+
+        livePriceService.addPriceChangeListener(this::onPriceChange);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reloadIndex() {
+        long afterId = 0;
+
+        while (true) {
+            List<Object[]> page = priceTriggerRepository.findIndexEntries(TriggerStatus.ACTIVE, afterId,
+                    PageRequest.of(0, RELOAD_PAGE_SIZE));
+
+            for (Object[] entry : page) {
+                afterId = (Long) entry[0];
+                index.add((String) entry[1], afterId, entry[2] == TriggerType.TAKE_PROFIT, (Double) entry[3]);
+            }
+
+            if (page.size() < RELOAD_PAGE_SIZE) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public PriceTrigger createTrigger(User user, Coin coin, TriggerType triggerType, double triggerPrice, double quantity) {
+
+        if (quantity <= 0 || triggerPrice <= 0) {
+            throw new IllegalArgumentException("Quantity and trigger price must be greater than zero");
+        }
+
+        Asset asset = assetService.findAssetByUserIdAndCoinId(user.getId(), coin.getId());
+
+        if (asset == null || asset.getQuantity() < quantity) {
+            throw new RuntimeException("Insufficient quantity to sell");
+        }
+
+        PriceQuote quote = livePriceService.getQuote(coin.getId());
+
+        if (quote != null) {
+            if (triggerType == TriggerType.STOP_LOSS && triggerPrice >= quote.getPrice()) {
+                throw new RuntimeException("Stop-loss price must be below the current price");
+            }
+
+            if (triggerType == TriggerType.TAKE_PROFIT && triggerPrice <= quote.getPrice()) {
+                throw new RuntimeException("Take-profit price must be above the current price");
+            }
+        }
+
+        PriceTrigger trigger = new PriceTrigger();
+        trigger.setUser(user);
+        trigger.setCoin(coin);
+        trigger.setTriggerType(triggerType);
+        trigger.setTriggerPrice(triggerPrice);
+        trigger.setQuantity(quantity);
+        trigger.setStatus(TriggerStatus.ACTIVE);
+
+        PriceTrigger saved = priceTriggerRepository.save(trigger);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.add(coin.getId(), saved.getId(), triggerType == TriggerType.TAKE_PROFIT, triggerPrice);
+            }
+        });
+
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public PriceTrigger cancelTrigger(Long triggerId, User user) {
+        PriceTrigger trigger = priceTriggerRepository.findById(triggerId)
+                .orElseThrow(() -> new RuntimeException("Trigger not found"));
+
+        if (!trigger.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("Unauthorized access to trigger");
+        }
+
+        if (trigger.getStatus() != TriggerStatus.ACTIVE) {
+            throw new RuntimeException("Trigger is not active");
+        }
+
+        // The conditional update decides between a cancel and a concurrent fire; the index only forgets the trigger
+        // once the cancel has committed, and a fire that popped it first finds it CANCELLED and does nothing.
+        if (priceTriggerRepository.compareAndSetStatus(trigger.getId(), TriggerStatus.ACTIVE, TriggerStatus.CANCELLED,
+                null) != 1) {
+            throw new RuntimeException("Trigger is not active");
+        }
+
+        trigger.setStatus(TriggerStatus.CANCELLED);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.remove(trigger.getCoin().getId(), trigger.getId(),
+                        trigger.getTriggerType() == TriggerType.TAKE_PROFIT);
+            }
+        });
+
+        return trigger;
+    }
+
+    @Override
+    public List<PriceTrigger> getUserTriggers(Long userId) {
+
+        return priceTriggerRepository.findByUserIdOrderByIdDesc(userId);
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+
+    private void onPriceChange(PriceQuote quote) {
+        index.fire(quote.getCoinId(), quote.getPrice(), triggerId -> executor.execute(() -> execute(triggerId)));
+    }
+
+    // The ACTIVE -> TRIGGERED update is the claim: another instance firing on the same price, or a cancel that got
+    // in first, leaves it matching no row, and only the caller that updated the row places the sell.
+    private void execute(long triggerId) {
+        if (priceTriggerRepository.compareAndSetStatus(triggerId, TriggerStatus.ACTIVE, TriggerStatus.TRIGGERED,
+                LocalDateTime.now()) != 1) {
+            return;
+        }
+
+        PriceTrigger trigger = priceTriggerRepository.findById(triggerId).orElseThrow();
+
+        try {
+            Order order = walletLaneService.executeForUser(trigger.getUser(),
+                    () -> orderService.processOrder(trigger.getCoin(), trigger.getQuantity(), OrderType.SELL, trigger.getUser()));
+
+            trigger.setOrderId(order.getId());
+            triggered.increment();
+        } catch (Exception e) {
+            e.printStackTrace();
+            trigger.setStatus(TriggerStatus.FAILED);
+            failed.increment();
+        }
+
+        priceTriggerRepository.save(trigger);
+    }
+}
@@ -0,0 +1,49 @@
+package com.fakecombank.orion.service.impl;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.service.WalletLaneService;
+import com.fakecombank.orion.service.WalletService;
+import com.fakecombank.orion.utils.LaneExecutor;
+
+import jakarta.annotation.PreDestroy;
+
+// Entry point for commands that change a wallet balance. Commands are routed to the lane of the wallet they touch
+// and open their transaction on that lane, so a wallet's read-modify-write never interleaves with another one.
+@Service
+public class WalletLaneServiceImpl implements WalletLaneService {
+    private final WalletService walletService;
+    private final LaneExecutor lanes;
+
+    public WalletLaneServiceImpl(WalletService walletService, @Value("${wallet.lanes:64}") int laneCount) {
+        this.walletService = walletService;
+        this.lanes = new LaneExecutor(laneCount, "wallet-lane");
+    }
+
+    @Override
+    public <T> T execute(Long walletId, Supplier<T> command) {
+
+        return lanes.execute(walletId, command);
+    }
+
+    @Override
+    public <T> T execute(Long firstWalletId, Long secondWalletId, Supplier<T> command) {
+
+        return lanes.execute(firstWalletId, secondWalletId, command);
+    }
+
+    @Override
+    public <T> T executeForUser(User user, Supplier<T> command) {
+
+        return lanes.execute(walletService.getUserWallet(user).getId(), command);
+    }
+
+    @PreDestroy
+    public void close() {
+        lanes.close();
+    }
+}
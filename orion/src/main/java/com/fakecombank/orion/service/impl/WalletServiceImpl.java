@@ -5,19 +5,30 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fakecombank.orion.constant.LedgerAccount;
+import com.fakecombank.orion.constant.LedgerEntryType;
+import com.fakecombank.orion.constant.OrderStatus;
 import com.fakecombank.orion.constant.OrderType;
 import com.fakecombank.orion.model.Order;
 import com.fakecombank.orion.model.User;
 import com.fakecombank.orion.model.Wallet;
 import com.fakecombank.orion.repository.WalletRepository;
+import com.fakecombank.orion.service.JournalService;
+import com.fakecombank.orion.service.LedgerService;
 import com.fakecombank.orion.service.WalletService;
+import com.fakecombank.orion.utils.FixedPoint;
 
 @Service
 public class WalletServiceImpl implements WalletService {
 
     @Autowired
     private WalletRepository walletRepository;
+    @Autowired
+    private JournalService journalService;
+    @Autowired
+    private LedgerService ledgerService;
 
     @Override
     public Wallet getUserWallet(User user) {
@@ -39,15 +50,38 @@ public class WalletServiceImpl implements WalletService {
         return wallet;
     }
 
+    // Money moved in or out of the bank: a deposit, a withdrawal or a declined withdrawal paid back.
     @Override
+    @Transactional
     public Wallet addBalance(Wallet wallet, Long money) {
-        BigDecimal balance = wallet.getBalance();
-        BigDecimal newBalance = balance.add(new BigDecimal(money));
+        BigDecimal amount = BigDecimal.valueOf(Math.abs(money));
+        Wallet updated;
 
-        wallet.setBalance(newBalance);
-        walletRepository.save(wallet);
+        if (money >= 0) {
+            updated = walletRepository.credit(wallet.getId(), amount);
 
-        return wallet;
+            if (updated == null) {
+                throw new RuntimeException("Wallet not found");
+            }
+
+            journalService.walletCredited(updated.getId(), amount);
+            ledgerService.post(LedgerEntryType.DEPOSIT, LedgerAccount.FUNDING.getId(), updated.getId(),
+                    FixedPoint.of(amount), null);
+        } else {
+            updated = walletRepository.debitIfSufficient(wallet.getId(), amount);
+
+            if (updated == null) {
+                throw new RuntimeException("Insufficient balance");
+            }
+
+            journalService.walletDebited(updated.getId(), amount);
+            ledgerService.post(LedgerEntryType.WITHDRAWAL, updated.getId(), LedgerAccount.FUNDING.getId(),
+                    FixedPoint.of(amount), null);
+        }
+
+        updated.setUser(wallet.getUser());
+
+        return updated;
     }
 
     @Override
@@ -61,43 +95,81 @@ public class WalletServiceImpl implements WalletService {
         }
     }
 
+    // The debit and credit are issued in wallet id order so two opposite transfers lock the rows the same way round.
+    // A failed debit throws after the credit, which rolls the credit back with the transaction.
     @Override
+    @Transactional
     public Wallet walletToWalletTransfer(User sender, Wallet receiver, Long amount) {
-        Wallet senderWallet = getUserWallet(sender);
+        Long senderId = getUserWalletId(sender);
+        BigDecimal value = BigDecimal.valueOf(amount);
+        Wallet senderWallet;
 
-        if (senderWallet.getBalance().compareTo(BigDecimal.valueOf(amount)) < 0) {
-            throw new RuntimeException("Insufficient balance");
+        if (senderId < receiver.getId()) {
+            senderWallet = debit(senderId, value);
+            credit(receiver.getId(), value);
+        } else {
+            credit(receiver.getId(), value);
+            senderWallet = debit(senderId, value);
         }
 
-        BigDecimal senderBalance = senderWallet.getBalance().subtract(BigDecimal.valueOf(amount));
-        senderWallet.setBalance(senderBalance);
-        walletRepository.save(senderWallet);
-
-        BigDecimal receiverBalance = receiver.getBalance().add(BigDecimal.valueOf(amount));
-        receiver.setBalance(receiverBalance);
-        walletRepository.save(receiver);
+        ledgerService.post(LedgerEntryType.TRANSFER, senderId, receiver.getId(), FixedPoint.of(value), null);
+        senderWallet.setUser(sender);
 
         return senderWallet;
     }
 
+    // A buy still pending is a limit order reserving funds until it fills, anything else settles against the market.
     @Override
     public Wallet payOrderPayment(Order order, User user) {
-        Wallet wallet = getUserWallet(user);
+        Long walletId = getUserWalletId(user);
+        long amount = FixedPoint.of(order.getPrice());
+        String reference = "order:" + order.getId();
+        Wallet wallet;
 
         if (order.getOrderType().equals(OrderType.BUY)) {
-            BigDecimal newBalance = wallet.getBalance().subtract(order.getPrice());
+            LedgerAccount counterparty = order.getStatus() == OrderStatus.PENDING ? LedgerAccount.ESCROW : LedgerAccount.MARKET;
 
-            if (newBalance.compareTo(order.getPrice()) < 0) {
-                throw new RuntimeException("Insufficient balance");
-            }
-
-            wallet.setBalance(newBalance);
+            wallet = debit(walletId, order.getPrice());
+            ledgerService.post(LedgerEntryType.ORDER_PAYMENT, walletId, counterparty.getId(), amount, reference);
         } else {
-            BigDecimal newBalance = wallet.getBalance().add(order.getPrice());
-            wallet.setBalance(newBalance);
+            wallet = credit(walletId, order.getPrice());
+            ledgerService.post(LedgerEntryType.ORDER_PROCEEDS, LedgerAccount.MARKET.getId(), walletId, amount, reference);
+        }
+
+        wallet.setUser(user);
+
+        return wallet;
+    }
+
+    private Long getUserWalletId(User user) {
+        Long id = walletRepository.findIdByUserId(user.getId());
+
+        return id != null ? id : getUserWallet(user).getId();
+    }
+
+    private Wallet debit(Long walletId, BigDecimal amount) {
+        Wallet wallet = walletRepository.debitIfSufficient(walletId, amount);
+
+        if (wallet == null) {
+            throw new RuntimeException("Insufficient balance");
+        }
+
+        journalService.walletDebited(walletId, amount);
+
+        return wallet;
+    }
+
+    // Money already inside the bank reaching a wallet, e.g. escrow released by a fill; the caller posts the ledger
+    // entries. A single conditional update, so it never overwrites a concurrent debit or credit of the same row.
+    @Override
+    public Wallet credit(Long walletId, BigDecimal amount) {
+        Wallet wallet = walletRepository.credit(walletId, amount);
+
+        if (wallet == null) {
+            throw new RuntimeException("Wallet not found");
         }
 
-        walletRepository.save(wallet);
+        journalService.walletCredited(walletId, amount);
 
         return wallet;
     }
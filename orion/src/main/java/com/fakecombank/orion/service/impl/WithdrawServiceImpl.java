@@ -6,42 +6,71 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fakecombank.orion.constant.WalletTransactionType;
 import com.fakecombank.orion.constant.WithdrawStatus;
 import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.model.Wallet;
 import com.fakecombank.orion.model.Withdraw;
 import com.fakecombank.orion.repository.WithdrawRepository;
+import com.fakecombank.orion.service.TransactionService;
+import com.fakecombank.orion.service.WalletService;
 import com.fakecombank.orion.service.WithdrawService;
 
 @Service
 public class WithdrawServiceImpl implements WithdrawService {
     @Autowired
     private WithdrawRepository withdrawRepository;
+    @Autowired
+    private WalletService walletService;
+    @Autowired
+    private TransactionService transactionService;
 
+    // The wallet is debited before anything is recorded, so a withdrawal the balance cannot cover leaves no request
+    // behind; the request and its wallet transaction commit with the debit or not at all.
     @Override
-    public Withdraw requestWithdraw(Long amount, User user) {
+    @Transactional
+    public Withdraw requestWithdraw(Long amount, User user, Wallet wallet) {
+        if (amount == null || amount <= 0) {
+            throw new RuntimeException("Withdrawal amount must be positive");
+        }
+
+        walletService.addBalance(wallet, -amount);
+
         Withdraw withdraw = new Withdraw();
 
         withdraw.setAmount(amount);
         withdraw.setUser(user);
         withdraw.setStatus(WithdrawStatus.PENDING);
+        withdraw = withdrawRepository.save(withdraw);
 
-        return withdrawRepository.save(withdraw);
+        transactionService.createTransaction(wallet, WalletTransactionType.WITHDRAW, null, "Withdraw request", amount);
+
+        return withdraw;
     }
 
+    // Only a pending request can be decided, and a declined one pays the amount back to the requester's wallet in
+    // the same transaction as the status change.
     @Override
+    @Transactional
     public Withdraw processWithdraw(Long withdrawId, boolean accept) {
         Optional<Withdraw> withdraw = withdrawRepository.findById(withdrawId);
 
         if (withdraw.isPresent()) {
             Withdraw withdrawRequest = withdraw.get();
-            
+
+            if (withdrawRequest.getStatus() != WithdrawStatus.PENDING) {
+                throw new RuntimeException("Withdraw request already processed");
+            }
+
             withdrawRequest.setDate(LocalDateTime.now());
 
             if (accept) {
                 withdrawRequest.setStatus(WithdrawStatus.SUCCESS);
             } else {
                 withdrawRequest.setStatus(WithdrawStatus.DECLINED);
+                walletService.addBalance(walletService.getUserWallet(withdrawRequest.getUser()), withdrawRequest.getAmount());
             }
 
             return withdrawRepository.save(withdrawRequest);
@@ -0,0 +1,74 @@
+package com.fakecombank.orion.utils;
+
+import java.util.function.LongSupplier;
+
+// Opens after a run of consecutive failures, fails fast while open, then lets a single probe through once the
+// open period has elapsed; the probe's outcome closes or re-opens the circuit.
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::nanoTime);
+    }
+
+    public CircuitBreaker(int failureThreshold, long openMillis, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMillis * 1_000_000;
+        this.nanoClock = nanoClock;
+    }
+
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+
+            probeInFlight = true;
+            return true;
+        }
+
+        return state == State.CLOSED;
+    }
+
+    public synchronized boolean isOpen() {
+
+        return state == State.OPEN && nanoClock.getAsLong() - openedAt < openNanos;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        probeInFlight = false;
+
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,267 @@
+package com.fakecombank.orion.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+// Append-only journal in fixed-size memory-mapped segment files named after the sequence of their first record.
+// A record is [int length][int crc][byte type][long sequence][long timestamp][payload]; the length is written last,
+// so a zero length marks the end of a segment and a torn record fails its crc. One flusher thread forces whatever
+// has been appended since its last pass, so callers waiting on durability share a single fsync (group commit).
+public class EventJournal implements AutoCloseable {
+    private static final String SUFFIX = ".journal";
+    private static final int HEADER = 8;
+    private static final int RECORD_PREFIX = 1 + 8 + 8;
+
+    public record Event(byte type, long sequence, long timestamp, ByteBuffer payload) {
+    }
+
+    public interface Handler<A> {
+
+        void apply(A state, Event event);
+    }
+
+    private final Path dir;
+    private final int segmentSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushedCondition = lock.newCondition();
+    private final Condition pendingCondition = lock.newCondition();
+    private final Thread flusher;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int position;
+    private long nextSequence;
+    private long flushedSequence;
+    private volatile boolean running = true;
+
+    public EventJournal(Path dir, int segmentSize) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+
+        try {
+            Files.createDirectories(dir);
+            List<Path> segments = segments();
+
+            if (segments.isEmpty()) {
+                openSegment(1);
+                nextSequence = 1;
+            } else {
+                Path last = segments.get(segments.size() - 1);
+                nextSequence = baseSequence(last);
+                map(last);
+                position = scan(segment, event -> nextSequence = event.sequence() + 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        flushedSequence = nextSequence - 1;
+        flusher = Thread.ofPlatform().name("event-journal-flusher").daemon().start(this::flushLoop);
+    }
+
+    public long append(byte type, byte[] payload) {
+        int length = RECORD_PREFIX + payload.length;
+
+        if (HEADER + length > segmentSize) {
+            throw new IllegalArgumentException("Event does not fit in a journal segment");
+        }
+
+        lock.lock();
+        try {
+            if (position + HEADER + length > segmentSize) {
+                roll();
+            }
+
+            long sequence = nextSequence++;
+            ByteBuffer body = ByteBuffer.allocate(length);
+            body.put(type).putLong(sequence).putLong(System.currentTimeMillis()).put(payload);
+
+            CRC32C crc = new CRC32C();
+            crc.update(body.array());
+
+            segment.putInt(position + 4, (int) crc.getValue());
+            segment.put(position + HEADER, body.array());
+            segment.putInt(position, length);
+            position += HEADER + length;
+
+            pendingCondition.signal();
+
+            return sequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void awaitFlushed(long sequence) {
+        lock.lock();
+        try {
+            while (flushedSequence < sequence && running) {
+                flushedCondition.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Every segment is folded into its own state on a separate thread and the states are combined at the end, so
+    // the handler only has to be correct for events that commute (balance deltas, position adjustments).
+    public <A> A replay(Supplier<A> identity, Handler<A> handler, BinaryOperator<A> combiner) {
+        List<Path> segments;
+
+        try {
+            segments = segments();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return segments.parallelStream().map(path -> {
+            A state = identity.get();
+
+            try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                scan(readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size()), event -> handler.apply(state, event));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return state;
+        }).reduce(combiner).orElseGet(identity);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        flusher.interrupt();
+
+        lock.lock();
+        try {
+            segment.force();
+            channel.close();
+            flushedCondition.signalAll();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            MappedByteBuffer toFlush;
+            long target;
+
+            lock.lock();
+            try {
+                while (flushedSequence == nextSequence - 1 && running) {
+                    pendingCondition.await();
+                }
+
+                toFlush = segment;
+                target = nextSequence - 1;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            toFlush.force();
+
+            lock.lock();
+            try {
+                flushedSequence = Math.max(flushedSequence, target);
+                flushedCondition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        segment.force();
+        channel.close();
+        openSegment(nextSequence);
+        flushedSequence = nextSequence - 1;
+        flushedCondition.signalAll();
+    }
+
+    private void openSegment(long baseSequence) throws IOException {
+        map(dir.resolve(String.format("%020d", baseSequence) + SUFFIX));
+        position = 0;
+    }
+
+    private void map(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            files.forEach(segments::add);
+        }
+
+        segments.sort((a, b) -> Long.compare(baseSequence(a), baseSequence(b)));
+
+        return segments;
+    }
+
+    private static long baseSequence(Path path) {
+        String name = path.getFileName().toString();
+
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    // Returns the offset just past the last intact record.
+    private static int scan(ByteBuffer buffer, Consumer<Event> consumer) {
+        int offset = 0;
+
+        while (offset + HEADER <= buffer.limit()) {
+            int length = buffer.getInt(offset);
+
+            if (length < RECORD_PREFIX || offset + HEADER + length > buffer.limit()) {
+                break;
+            }
+
+            byte[] body = new byte[length];
+            buffer.get(offset + HEADER, body);
+
+            CRC32C crc = new CRC32C();
+            crc.update(body);
+
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                break;
+            }
+
+            ByteBuffer event = ByteBuffer.wrap(body);
+            consumer.accept(new Event(event.get(), event.getLong(), event.getLong(), event.slice()));
+            offset += HEADER + length;
+        }
+
+        return offset;
+    }
+}
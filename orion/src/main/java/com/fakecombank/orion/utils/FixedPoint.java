@@ -0,0 +1,93 @@
+package com.fakecombank.orion.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Prices, quantities and money as longs counting units of 1e-8, the tick size the matching engine already uses.
+// Rounding is always explicit: doubles and BigDecimals come in rounded to the nearest unit (ties to even for
+// BigDecimal), and products take a RoundingMode so callers decide which side keeps the remainder, e.g. CEILING
+// for what a buyer pays and FLOOR for what a seller receives. Products are formed in 128 bits, so only results
+// that do not fit a long overflow, and none of the arithmetic allocates. The ledger and the order books work in these
+// units; order prices and wallet balances stay BigDecimal, rounded to the same scale, and convert where they are
+// posted to the ledger.
+public final class FixedPoint {
+    public static final int DECIMALS = 8;
+    public static final long SCALE = 100_000_000L;
+
+    private FixedPoint() {
+    }
+
+    public static long of(double value) {
+
+        return Math.round(value * SCALE);
+    }
+
+    public static long of(BigDecimal value) {
+
+        return value.setScale(DECIMALS, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static double toDouble(long units) {
+
+        return (double) units / SCALE;
+    }
+
+    public static BigDecimal toBigDecimal(long units) {
+
+        return BigDecimal.valueOf(units, DECIMALS);
+    }
+
+    public static long multiply(long a, long b, RoundingMode mode) {
+        boolean negative = (a < 0) != (b < 0);
+        long x = Math.absExact(a);
+        long y = Math.absExact(b);
+        long high = Math.unsignedMultiplyHigh(x, y);
+        long low = x * y;
+
+        if (high == 0 && low >= 0) {
+            return round(low / SCALE, low % SCALE, SCALE, negative, mode);
+        }
+
+        if (high >= SCALE) {
+            throw new ArithmeticException("Overflow");
+        }
+
+        // Schoolbook division of the 128-bit product by SCALE, 32 bits at a time; SCALE < 2^27 keeps every partial
+        // dividend inside a long.
+        long upper = (high << 32) | (low >>> 32);
+        long upperQuotient = upper / SCALE;
+        long lower = ((upper % SCALE) << 32) | (low & 0xFFFFFFFFL);
+
+        if (upperQuotient >= 1L << 31) {
+            throw new ArithmeticException("Overflow");
+        }
+
+        return round((upperQuotient << 32) + lower / SCALE, lower % SCALE, SCALE, negative, mode);
+    }
+
+    public static long divide(long dividend, long divisor, RoundingMode mode) {
+        long x = Math.absExact(dividend);
+        long y = Math.absExact(divisor);
+
+        return round(x / y, x % y, y, (dividend < 0) != (divisor < 0), mode);
+    }
+
+    private static long round(long quotient, long remainder, long divisor, boolean negative, RoundingMode mode) {
+        boolean awayFromZero = remainder != 0 && switch (mode) {
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> negative;
+            case CEILING -> !negative;
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> {
+                int half = Long.compare(remainder, divisor - remainder);
+
+                yield half > 0 || half == 0 && (mode == RoundingMode.HALF_UP
+                        || mode == RoundingMode.HALF_EVEN && (quotient & 1) != 0);
+            }
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        long magnitude = awayFromZero ? quotient + 1 : quotient;
+
+        return negative ? -magnitude : magnitude;
+    }
+}
@@ -0,0 +1,165 @@
+package com.fakecombank.orion.utils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+// Striped single-writer lanes: every key hashes to one lane, and a lane runs its tasks one at a time on its own
+// virtual thread, so work for one key is serialized while different lanes run in parallel. A task that needs two
+// lanes runs on the lower-numbered one after parking the higher-numbered one; lanes only ever wait on higher
+// lanes, so two-lane tasks cannot deadlock. Calls made from inside a lane that already belongs to the caller run
+// inline.
+public class LaneExecutor {
+    private final Lane[] lanes;
+
+    public LaneExecutor(int laneCount, String name) {
+        this.lanes = new Lane[laneCount];
+
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i, name + "-" + i);
+        }
+    }
+
+    public <T> T execute(long key, Supplier<T> task) {
+        Lane lane = lane(key);
+
+        if (lane.owner == Thread.currentThread()) {
+            return task.get();
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        lane.queue.add(() -> complete(result, task));
+
+        return join(result);
+    }
+
+    public <T> T execute(long firstKey, long secondKey, Supplier<T> task) {
+        Lane first = lane(firstKey);
+        Lane second = lane(secondKey);
+
+        if (first == second) {
+            return execute(firstKey, task);
+        }
+
+        if (first.index > second.index) {
+            Lane swap = first;
+            first = second;
+            second = swap;
+        }
+
+        Thread current = Thread.currentThread();
+
+        if (first.owner == current && second.owner == current) {
+            return task.get();
+        }
+
+        if (first.owner == current || second.owner == current) {
+            throw new IllegalStateException("A two-lane task cannot be started from inside one of its lanes");
+        }
+
+        Lane lower = first;
+        Lane upper = second;
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        lower.queue.add(() -> {
+            CountDownLatch held = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(1);
+
+            upper.queue.add(() -> {
+                upper.owner = lower.thread;
+                held.countDown();
+                awaitUninterruptibly(done);
+            });
+            awaitUninterruptibly(held);
+
+            try {
+                complete(result, task);
+            } finally {
+                upper.owner = upper.thread;
+                done.countDown();
+            }
+        });
+
+        return join(result);
+    }
+
+    public void close() {
+        for (Lane lane : lanes) {
+            lane.thread.interrupt();
+        }
+    }
+
+    private Lane lane(long key) {
+
+        return lanes[Math.floorMod(Long.hashCode(key * 0x9E3779B97F4A7C15L), lanes.length)];
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, Supplier<T> task) {
+        try {
+            result.complete(task.get());
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Lane {
+        private final int index;
+        private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+        private final Thread thread;
+        private volatile Thread owner;
+
+        private Lane(int index, String name) {
+            this.index = index;
+            this.thread = Thread.ofVirtual().name(name).unstarted(this::run);
+            this.owner = thread;
+            thread.start();
+        }
+
+        private void run() {
+            while (true) {
+                try {
+                    queue.take().run();
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.fakecombank.orion.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bounded hand-off between one producer side and a single consumer. A newer value for a key replaces the one
+// still waiting, and when the buffer is full the oldest waiting key is dropped, so a slow consumer only ever
+// sees the latest values instead of a growing backlog.
+public class LatestValueBuffer<K, V> {
+    private final int capacity;
+    private final LinkedHashMap<K, V> values = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private long dropped;
+
+    public LatestValueBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void offer(K key, V value) {
+        lock.lock();
+        try {
+            if (values.containsKey(key)) {
+                dropped++;
+            } else if (values.size() >= capacity) {
+                Iterator<K> eldest = values.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                dropped++;
+            }
+
+            values.put(key, value);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<V> take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (values.isEmpty()) {
+                notEmpty.await();
+            }
+
+            List<V> batch = new ArrayList<>(values.values());
+            values.clear();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long dropped() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
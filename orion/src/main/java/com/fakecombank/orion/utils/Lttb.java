@@ -0,0 +1,59 @@
+package com.fakecombank.orion.utils;
+
+// Largest-Triangle-Three-Buckets downsampling: keeps the first and last point and, for every bucket in between,
+// the point forming the largest triangle with the previously kept point and the average of the next bucket.
+public class Lttb {
+
+    public static int[] select(long[] x, double[] y, int threshold) {
+        int length = x.length;
+
+        if (threshold >= length || threshold < 3) {
+            int[] all = new int[length];
+            for (int i = 0; i < length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        int a = 0;
+
+        selected[0] = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, length);
+            double avgX = 0;
+            double avgY = 0;
+
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x[i];
+                avgY += y[i];
+            }
+            int nextCount = Math.max(nextEnd - nextStart, 1);
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double maxArea = -1;
+            int maxIndex = start;
+
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((x[a] - avgX) * (y[i] - y[a]) - (x[a] - x[i]) * (avgY - y[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+
+            selected[bucket + 1] = maxIndex;
+            a = maxIndex;
+        }
+
+        selected[threshold - 1] = length - 1;
+
+        return selected;
+    }
+}
@@ -0,0 +1,260 @@
+package com.fakecombank.orion.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Limit order book for a single instrument, driven by one thread. Prices and quantities are integer ticks. Each
+// side keeps its price levels in a sorted primitive array with the best level last (asks are stored negated so
+// both arrays ascend), and every level holds its resting orders in an intrusive FIFO list, so matching walks
+// levels and orders without allocating and a cancel is a map lookup plus an O(1) unlink. An order never trades
+// with a resting order of the same owner: the resting one is cancelled when the taker reaches it and matching
+// carries on behind it.
+public class OrderBook {
+    public interface FillListener {
+
+        void onFill(long makerOrderId, long takerOrderId, boolean takerBuys, long price, long quantity);
+
+        default void onSelfTradeCancel(long makerOrderId, long remaining) {
+        }
+    }
+
+    private final Side bids = new Side();
+    private final Side asks = new Side();
+    private final Map<Long, Node> resting = new HashMap<>();
+    private Node freeNodes;
+
+    public long submit(long orderId, long ownerId, boolean buy, long price, long quantity, FillListener listener) {
+        if (price <= 0 || quantity <= 0) {
+            throw new IllegalArgumentException("Price and quantity must be greater than zero");
+        }
+
+        Side opposite = buy ? asks : bids;
+        long remaining = quantity;
+
+        while (remaining > 0 && opposite.size > 0) {
+            Level level = opposite.levels[opposite.size - 1];
+
+            if (buy ? level.price > price : level.price < price) {
+                break;
+            }
+
+            Node maker = level.head;
+
+            while (maker != null && remaining > 0) {
+                Node next = maker.next;
+
+                if (maker.ownerId == ownerId) {
+                    long cancelled = maker.remaining;
+
+                    level.quantity -= cancelled;
+                    level.unlink(maker);
+                    resting.remove(maker.orderId);
+                    release(maker);
+                    listener.onSelfTradeCancel(maker.orderId, cancelled);
+                    maker = next;
+                    continue;
+                }
+
+                long fill = Math.min(remaining, maker.remaining);
+
+                maker.remaining -= fill;
+                level.quantity -= fill;
+                remaining -= fill;
+                listener.onFill(maker.orderId, orderId, buy, level.price, fill);
+
+                if (maker.remaining == 0) {
+                    level.unlink(maker);
+                    resting.remove(maker.orderId);
+                    release(maker);
+                }
+
+                maker = next;
+            }
+
+            if (level.head == null) {
+                opposite.size--;
+                opposite.levels[opposite.size] = null;
+            }
+        }
+
+        if (remaining > 0) {
+            Side own = buy ? bids : asks;
+            Level level = own.levelFor(buy ? price : -price, price);
+            Node node = acquire(orderId, ownerId, buy, remaining, level);
+
+            level.append(node);
+            resting.put(orderId, node);
+        }
+
+        return remaining;
+    }
+
+    public long cancel(long orderId) {
+        Node node = resting.remove(orderId);
+
+        if (node == null) {
+            return 0;
+        }
+
+        long remaining = node.remaining;
+        Level level = node.level;
+
+        level.quantity -= remaining;
+        level.unlink(node);
+
+        if (level.head == null) {
+            (node.buy ? bids : asks).remove(node.buy ? level.price : -level.price);
+        }
+
+        release(node);
+
+        return remaining;
+    }
+
+    public long bestBid() {
+
+        return bids.size > 0 ? bids.levels[bids.size - 1].price : 0;
+    }
+
+    public long bestAsk() {
+
+        return asks.size > 0 ? asks.levels[asks.size - 1].price : 0;
+    }
+
+    public long quantityAt(boolean buy, long price) {
+        Side side = buy ? bids : asks;
+        int index = Arrays.binarySearch(side.keys, 0, side.size, buy ? price : -price);
+
+        return index >= 0 ? side.levels[index].quantity : 0;
+    }
+
+    public int levels(boolean buy) {
+
+        return (buy ? bids : asks).size;
+    }
+
+    public int restingOrders() {
+
+        return resting.size();
+    }
+
+    private Node acquire(long orderId, long ownerId, boolean buy, long remaining, Level level) {
+        Node node = freeNodes;
+
+        if (node != null) {
+            freeNodes = node.next;
+        } else {
+            node = new Node();
+        }
+
+        node.orderId = orderId;
+        node.ownerId = ownerId;
+        node.buy = buy;
+        node.remaining = remaining;
+        node.level = level;
+        node.prev = null;
+        node.next = null;
+
+        return node;
+    }
+
+    private void release(Node node) {
+        node.level = null;
+        node.prev = null;
+        node.next = freeNodes;
+        freeNodes = node;
+    }
+
+    private static class Side {
+        private long[] keys = new long[64];
+        private Level[] levels = new Level[64];
+        private int size;
+
+        private Level levelFor(long key, long price) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+
+            if (index >= 0) {
+                return levels[index];
+            }
+
+            int insertAt = -index - 1;
+
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                levels = Arrays.copyOf(levels, size * 2);
+            }
+
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+            System.arraycopy(levels, insertAt, levels, insertAt + 1, size - insertAt);
+
+            Level level = new Level(price);
+            keys[insertAt] = key;
+            levels[insertAt] = level;
+            size++;
+
+            return level;
+        }
+
+        private void remove(long key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+
+            if (index < 0) {
+                return;
+            }
+
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(levels, index + 1, levels, index, size - index - 1);
+            size--;
+            levels[size] = null;
+        }
+    }
+
+    private static class Level {
+        private final long price;
+        private long quantity;
+        private Node head;
+        private Node tail;
+
+        private Level(long price) {
+            this.price = price;
+        }
+
+        private void append(Node node) {
+            node.prev = tail;
+
+            if (tail != null) {
+                tail.next = node;
+            } else {
+                head = node;
+            }
+
+            tail = node;
+            quantity += node.remaining;
+        }
+
+        private void unlink(Node node) {
+            if (node.prev != null) {
+                node.prev.next = node.next;
+            } else {
+                head = node.next;
+            }
+
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            } else {
+                tail = node.prev;
+            }
+        }
+    }
+
+    private static class Node {
+        private long orderId;
+        private long ownerId;
+        private boolean buy;
+        private long remaining;
+        private Level level;
+        private Node prev;
+        private Node next;
+    }
+}
@@ -0,0 +1,55 @@
+package com.fakecombank.orion.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Bounded retries with full-jitter exponential backoff: attempt n sleeps a random time up to
+// min(maxDelay, baseDelay * 2^(n-1)), which spreads out callers that collided on the same row.
+public class RetryPolicy {
+    public interface Listener {
+
+        void onRetry(int attempt, RuntimeException failure);
+
+        void onExhausted(RuntimeException failure);
+    }
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final Predicate<Throwable> retryable;
+
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis, Predicate<Throwable> retryable) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelayMillis * 1_000_000;
+        this.maxDelayNanos = maxDelayMillis * 1_000_000;
+        this.retryable = retryable;
+    }
+
+    public <T> T execute(Supplier<T> action, Listener listener) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (RuntimeException e) {
+                if (!retryable.test(e)) {
+                    throw e;
+                }
+
+                if (attempt >= maxAttempts) {
+                    listener.onExhausted(e);
+                    throw e;
+                }
+
+                listener.onRetry(attempt, e);
+                LockSupport.parkNanos(backoffNanos(attempt));
+            }
+        }
+    }
+
+    long backoffNanos(int attempt) {
+        long ceiling = Math.min(maxDelayNanos, baseDelayNanos << Math.min(attempt - 1, 30));
+
+        return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+    }
+}
@@ -0,0 +1,186 @@
+package com.fakecombank.orion.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fakecombank.orion.model.CoinSearchEntry;
+
+// Immutable coin search index. Entries are ordered by market cap rank so entry position doubles as the rank
+// tie-breaker; prefix lookups binary-search a sorted token array and fuzzy lookups count shared trigrams.
+public class SearchIndex {
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int FUZZY = 2;
+    private static final double FUZZY_MIN_OVERLAP = 0.6;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final CoinSearchEntry[] entries;
+    private final String[] tokens;
+    private final int[] tokenEntries;
+    private final Map<String, int[]> trigrams;
+
+    private SearchIndex(CoinSearchEntry[] entries, String[] tokens, int[] tokenEntries, Map<String, int[]> trigrams) {
+        this.entries = entries;
+        this.tokens = tokens;
+        this.tokenEntries = tokenEntries;
+        this.trigrams = trigrams;
+    }
+
+    public static SearchIndex build(Collection<CoinSearchEntry> coins) {
+        CoinSearchEntry[] entries = coins.toArray(new CoinSearchEntry[0]);
+        Arrays.sort(entries, Comparator.comparingInt((CoinSearchEntry entry) -> rankOrder(entry.getMarketCapRank()))
+                .thenComparing(CoinSearchEntry::getId));
+
+        List<String> tokenList = new ArrayList<>();
+        List<Integer> tokenEntryList = new ArrayList<>();
+        Map<String, List<Integer>> trigramLists = new HashMap<>();
+
+        for (int i = 0; i < entries.length; i++) {
+            Set<String> entryTokens = tokensOf(entries[i]);
+
+            for (String token : entryTokens) {
+                tokenList.add(token);
+                tokenEntryList.add(i);
+            }
+
+            Set<String> entryTrigrams = new HashSet<>();
+            for (String token : entryTokens) {
+                addTrigrams(token, entryTrigrams);
+            }
+            for (String trigram : entryTrigrams) {
+                trigramLists.computeIfAbsent(trigram, key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Integer[] order = new Integer[tokenList.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(tokenList::get));
+
+        String[] tokens = new String[order.length];
+        int[] tokenEntries = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            tokens[i] = tokenList.get(order[i]);
+            tokenEntries[i] = tokenEntryList.get(order[i]);
+        }
+
+        Map<String, int[]> trigrams = new HashMap<>(trigramLists.size() * 2);
+        trigramLists.forEach((trigram, postings) -> trigrams.put(trigram, postings.stream().mapToInt(Integer::intValue).toArray()));
+
+        return new SearchIndex(entries, tokens, tokenEntries, trigrams);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public List<CoinSearchEntry> search(String query, int limit) {
+        String q = normalize(query);
+
+        if (q.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, long[]> candidates = new HashMap<>();
+
+        int from = lowerBound(q);
+        for (int i = from; i < tokens.length && tokens[i].startsWith(q); i++) {
+            int tier = tokens[i].length() == q.length() ? EXACT : PREFIX;
+            long[] score = candidates.computeIfAbsent(tokenEntries[i], entry -> new long[] { FUZZY + 1, 0 });
+            score[0] = Math.min(score[0], tier);
+        }
+
+        if (candidates.size() < limit && q.length() >= 3) {
+            Set<String> queryTrigrams = new HashSet<>();
+            addTrigrams(q, queryTrigrams);
+
+            Map<Integer, Integer> overlaps = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                for (int entry : trigrams.getOrDefault(trigram, NO_POSTINGS)) {
+                    overlaps.merge(entry, 1, Integer::sum);
+                }
+            }
+
+            int required = (int) Math.ceil(queryTrigrams.size() * FUZZY_MIN_OVERLAP);
+            overlaps.forEach((entry, overlap) -> {
+                if (overlap >= required) {
+                    long[] score = candidates.computeIfAbsent(entry, key -> new long[] { FUZZY, 0 });
+                    score[1] = -overlap;
+                }
+            });
+        }
+
+        return candidates.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Integer, long[]> candidate) -> candidate.getValue()[0])
+                        .thenComparingLong(candidate -> candidate.getValue()[1])
+                        .thenComparingInt(Map.Entry::getKey))
+                .limit(limit)
+                .map(candidate -> entries[candidate.getKey()])
+                .toList();
+    }
+
+    private int lowerBound(String q) {
+        int low = 0;
+        int high = tokens.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tokens[mid].compareTo(q) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private static Set<String> tokensOf(CoinSearchEntry entry) {
+        Set<String> tokens = new LinkedHashSet<>();
+
+        addToken(tokens, entry.getId());
+        addToken(tokens, entry.getSymbol());
+        addToken(tokens, entry.getName());
+        if (entry.getName() != null) {
+            for (String word : normalize(entry.getName()).split("[^a-z0-9]+")) {
+                addToken(tokens, word);
+            }
+        }
+
+        return tokens;
+    }
+
+    private static void addToken(Set<String> tokens, String value) {
+        if (value != null) {
+            String token = normalize(value);
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+    }
+
+    private static void addTrigrams(String token, Set<String> trigrams) {
+        String padded = " " + token + " ";
+
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase();
+    }
+
+    private static int rankOrder(int rank) {
+        return rank > 0 ? rank : Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,202 @@
+package com.fakecombank.orion.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Columnar time series (timestamp, price, market cap, volume) kept in primitive arrays and mirrored to an
+// append-only memory-mapped file: a 24 byte header (magic, version, count, coveredFrom) followed by 32 byte records.
+public class TimeSeries implements Closeable {
+    private static final int MAGIC = 0x54534552;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int RECORD_BYTES = 32;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int size;
+    private long coveredFrom = Long.MAX_VALUE;
+    private long[] timestamps;
+    private double[] prices;
+    private double[] marketCaps;
+    private double[] volumes;
+
+    private TimeSeries(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static TimeSeries open(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        TimeSeries series = new TimeSeries(channel);
+        long stored = channel.size() >= HEADER_BYTES ? (channel.size() - HEADER_BYTES) / RECORD_BYTES : 0;
+
+        series.map(Math.max(INITIAL_CAPACITY, (int) stored));
+        series.load();
+
+        return series;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long coveredFrom() {
+        return coveredFrom;
+    }
+
+    public synchronized long lastTimestamp() {
+        return size == 0 ? Long.MIN_VALUE : timestamps[size - 1];
+    }
+
+    // Adds points newer than the current last timestamp; older points are merged in by rewriting the file.
+    public synchronized int merge(long[] ts, double[] price, double[] marketCap, double[] volume, int count, long covered) {
+        int added;
+
+        if (size > 0 && count > 0 && ts[0] < timestamps[0]) {
+            added = rewrite(ts, price, marketCap, volume, count);
+        } else {
+            added = 0;
+            for (int i = 0; i < count; i++) {
+                if (size == 0 || ts[i] > timestamps[size - 1]) {
+                    append(ts[i], price[i], marketCap[i], volume[i]);
+                    added++;
+                }
+            }
+        }
+
+        coveredFrom = Math.min(coveredFrom, covered);
+        writeHeader();
+
+        return added;
+    }
+
+    public synchronized Slice slice(long fromInclusive) {
+        int from = Arrays.binarySearch(timestamps, 0, size, fromInclusive);
+        if (from < 0) {
+            from = -from - 1;
+        }
+
+        return new Slice(
+                Arrays.copyOfRange(timestamps, from, size),
+                Arrays.copyOfRange(prices, from, size),
+                Arrays.copyOfRange(marketCaps, from, size),
+                Arrays.copyOfRange(volumes, from, size));
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private int rewrite(long[] ts, double[] price, double[] marketCap, double[] volume, int count) {
+        Slice existing = new Slice(
+                Arrays.copyOf(timestamps, size), Arrays.copyOf(prices, size),
+                Arrays.copyOf(marketCaps, size), Arrays.copyOf(volumes, size));
+        int before = size;
+        int i = 0;
+        int j = 0;
+
+        size = 0;
+        while (i < count || j < existing.timestamps.length) {
+            boolean takeFetched = j >= existing.timestamps.length
+                    || (i < count && ts[i] < existing.timestamps[j]);
+
+            if (takeFetched) {
+                if (size == 0 || ts[i] > timestamps[size - 1]) {
+                    append(ts[i], price[i], marketCap[i], volume[i]);
+                }
+                i++;
+            } else {
+                if (size == 0 || existing.timestamps[j] > timestamps[size - 1]) {
+                    append(existing.timestamps[j], existing.prices[j], existing.marketCaps[j], existing.volumes[j]);
+                }
+                j++;
+            }
+        }
+
+        return size - before;
+    }
+
+    private void append(long ts, double price, double marketCap, double volume) {
+        if (size == capacity) {
+            map(capacity * 2);
+        }
+
+        timestamps[size] = ts;
+        prices[size] = price;
+        marketCaps[size] = marketCap;
+        volumes[size] = volume;
+
+        int offset = HEADER_BYTES + size * RECORD_BYTES;
+        buffer.putLong(offset, ts);
+        buffer.putDouble(offset + 8, price);
+        buffer.putDouble(offset + 16, marketCap);
+        buffer.putDouble(offset + 24, volume);
+
+        size++;
+    }
+
+    private void load() {
+        if (buffer.getInt(0) != MAGIC) {
+            writeHeader();
+            return;
+        }
+
+        int stored = (int) buffer.getLong(8);
+        coveredFrom = buffer.getLong(16);
+
+        for (int i = 0; i < stored; i++) {
+            int offset = HEADER_BYTES + i * RECORD_BYTES;
+            timestamps[i] = buffer.getLong(offset);
+            prices[i] = buffer.getDouble(offset + 8);
+            marketCaps[i] = buffer.getDouble(offset + 16);
+            volumes[i] = buffer.getDouble(offset + 24);
+        }
+        size = stored;
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, size);
+        buffer.putLong(16, coveredFrom);
+    }
+
+    private void map(int newCapacity) {
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) newCapacity * RECORD_BYTES);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to map time series file", e);
+        }
+
+        capacity = newCapacity;
+        timestamps = timestamps == null ? new long[newCapacity] : Arrays.copyOf(timestamps, newCapacity);
+        prices = prices == null ? new double[newCapacity] : Arrays.copyOf(prices, newCapacity);
+        marketCaps = marketCaps == null ? new double[newCapacity] : Arrays.copyOf(marketCaps, newCapacity);
+        volumes = volumes == null ? new double[newCapacity] : Arrays.copyOf(volumes, newCapacity);
+    }
+
+    public static class Slice {
+        public final long[] timestamps;
+        public final double[] prices;
+        public final double[] marketCaps;
+        public final double[] volumes;
+
+        public Slice(long[] timestamps, double[] prices, double[] marketCaps, double[] volumes) {
+            this.timestamps = timestamps;
+            this.prices = prices;
+            this.marketCaps = marketCaps;
+            this.volumes = volumes;
+        }
+    }
+}
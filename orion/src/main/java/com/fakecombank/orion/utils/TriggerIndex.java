@@ -0,0 +1,250 @@
+package com.fakecombank.orion.utils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+// Resting price triggers keyed by coin. Each coin has a heap of triggers that fire when the price rises to them and
+// one for triggers that fire when it falls to them, both kept as parallel primitive arrays with an open-addressing
+// id-to-slot table beside them: 32 to 64 bytes per trigger depending on where the arrays are in their doubling, and
+// no allocation on add, cancel or fire once they have grown. A price update only pops the triggers it crossed, so
+// its cost does not depend on how many are resting.
+public class TriggerIndex {
+    private final Map<String, Heap> above = new HashMap<>();
+    private final Map<String, Heap> below = new HashMap<>();
+    private int size;
+
+    public synchronized void add(String coinId, long triggerId, boolean firesAbove, double price) {
+        if (firesAbove) {
+            above.computeIfAbsent(coinId, id -> new Heap()).push(price, triggerId);
+        } else {
+            below.computeIfAbsent(coinId, id -> new Heap()).push(-price, triggerId);
+        }
+
+        size++;
+    }
+
+    public synchronized boolean remove(String coinId, long triggerId, boolean firesAbove) {
+        Heap heap = (firesAbove ? above : below).get(coinId);
+
+        if (heap == null || !heap.remove(triggerId)) {
+            return false;
+        }
+
+        size--;
+        return true;
+    }
+
+    public synchronized int fire(String coinId, double price, LongConsumer fired) {
+        int count = 0;
+        Heap rising = above.get(coinId);
+
+        while (rising != null && rising.size > 0 && rising.keys[0] <= price) {
+            fired.accept(rising.pop());
+            count++;
+        }
+
+        Heap falling = below.get(coinId);
+
+        while (falling != null && falling.size > 0 && -falling.keys[0] >= price) {
+            fired.accept(falling.pop());
+            count++;
+        }
+
+        size -= count;
+        return count;
+    }
+
+    public synchronized int size() {
+
+        return size;
+    }
+
+    // Binary min-heap on price; triggers that fire on a falling price are stored negated. Each trigger's slot is
+    // tracked as it moves so a cancel finds it without scanning the heap.
+    private static class Heap {
+        private final SlotTable slots = new SlotTable();
+        private double[] keys = new double[16];
+        private long[] ids = new long[16];
+        private int size;
+
+        private void push(double key, long id) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+
+            keys[size] = key;
+            ids[size] = id;
+            slots.put(id, size);
+            siftUp(size++);
+        }
+
+        private long pop() {
+            long id = ids[0];
+
+            removeAt(0);
+
+            return id;
+        }
+
+        private boolean remove(long id) {
+            int slot = slots.get(id);
+
+            if (slot < 0) {
+                return false;
+            }
+
+            removeAt(slot);
+            return true;
+        }
+
+        private void removeAt(int index) {
+            slots.remove(ids[index]);
+            size--;
+
+            if (index == size) {
+                return;
+            }
+
+            keys[index] = keys[size];
+            ids[index] = ids[size];
+            slots.put(ids[index], index);
+            siftDown(index);
+            siftUp(index);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+
+                if (keys[parent] <= keys[index]) {
+                    return;
+                }
+
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int child = 2 * index + 1;
+
+                if (child >= size) {
+                    return;
+                }
+
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+
+                if (keys[index] <= keys[child]) {
+                    return;
+                }
+
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double key = keys[a];
+            long id = ids[a];
+
+            keys[a] = keys[b];
+            ids[a] = ids[b];
+            keys[b] = key;
+            ids[b] = id;
+            slots.put(ids[a], a);
+            slots.put(id, b);
+        }
+    }
+
+    // Trigger id to heap slot with linear probing over two primitive arrays, at most three-quarters full. Slots are
+    // stored plus one so zero marks an empty cell. Removal shifts the rest of the probe run back instead of leaving
+    // tombstones, so lookups stay short however many cancels happen.
+    private static class SlotTable {
+        private long[] ids = new long[32];
+        private int[] slots = new int[32];
+        private int size;
+
+        private int get(long id) {
+            int mask = ids.length - 1;
+
+            for (int i = index(id, mask); slots[i] != 0; i = (i + 1) & mask) {
+                if (ids[i] == id) {
+                    return slots[i] - 1;
+                }
+            }
+
+            return -1;
+        }
+
+        private void put(long id, int slot) {
+            if (4 * (size + 1) > 3 * ids.length) {
+                resize();
+            }
+
+            int mask = ids.length - 1;
+            int i = index(id, mask);
+
+            while (slots[i] != 0 && ids[i] != id) {
+                i = (i + 1) & mask;
+            }
+
+            if (slots[i] == 0) {
+                ids[i] = id;
+                size++;
+            }
+
+            slots[i] = slot + 1;
+        }
+
+        private void remove(long id) {
+            int mask = ids.length - 1;
+            int gap = index(id, mask);
+
+            while (slots[gap] != 0 && ids[gap] != id) {
+                gap = (gap + 1) & mask;
+            }
+
+            if (slots[gap] == 0) {
+                return;
+            }
+
+            // Later entries of the run move into the gap unless their home cell lies between the gap and them.
+            for (int next = (gap + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+                if (((next - index(ids[next], mask)) & mask) >= ((next - gap) & mask)) {
+                    ids[gap] = ids[next];
+                    slots[gap] = slots[next];
+                    gap = next;
+                }
+            }
+
+            slots[gap] = 0;
+            size--;
+        }
+
+        private void resize() {
+            long[] oldIds = ids;
+            int[] oldSlots = slots;
+
+            ids = new long[oldIds.length * 2];
+            slots = new int[oldIds.length * 2];
+            size = 0;
+
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldSlots[i] != 0) {
+                    put(oldIds[i], oldSlots[i] - 1);
+                }
+            }
+        }
+
+        private static int index(long id, int mask) {
+
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.fakecombank.orion.utils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Size-bounded LRU cache with a TTL per lookup. Entries past their TTL but inside the stale window are
+// still served while a single background reload replaces them.
+public class TtlCache<K, V> {
+    private final LongSupplier nanoClock;
+    private final Map<K, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TtlCache(int maximumSize) {
+        this(maximumSize, System::nanoTime);
+    }
+
+    public TtlCache(int maximumSize, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    public CompletableFuture<V> get(K key, Duration ttl, Duration maxStale, Supplier<CompletableFuture<V>> loader) {
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null) {
+            long age = nanoClock.getAsLong() - entry.loadedAt;
+
+            if (age < ttl.toNanos()) {
+                hits.increment();
+                return CompletableFuture.completedFuture(entry.value);
+            }
+
+            if (age < ttl.toNanos() + maxStale.toNanos()) {
+                staleHits.increment();
+                refresh(key, entry, loader);
+                return CompletableFuture.completedFuture(entry.value);
+            }
+        }
+
+        misses.increment();
+
+        return load(loader).thenApply(value -> {
+            put(key, value);
+            return value;
+        });
+    }
+
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            return entry != null ? entry.value : null;
+        }
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, nanoClock.getAsLong()));
+        }
+    }
+
+    public void put(K key, V value, Duration age) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, nanoClock.getAsLong() - age.toNanos()));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long staleHits() {
+        return staleHits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long refreshes() {
+        return refreshes.sum();
+    }
+
+    public long refreshFailures() {
+        return refreshFailures.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private void refresh(K key, Entry<V> entry, Supplier<CompletableFuture<V>> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        refreshes.increment();
+
+        load(loader).whenComplete((value, error) -> {
+            if (error == null) {
+                put(key, value);
+            } else {
+                refreshFailures.increment();
+                entry.refreshing.set(false);
+            }
+        });
+    }
+
+    private CompletableFuture<V> load(Supplier<CompletableFuture<V>> loader) {
+        try {
+            return loader.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
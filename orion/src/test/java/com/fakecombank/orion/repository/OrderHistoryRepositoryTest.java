@@ -0,0 +1,115 @@
+package com.fakecombank.orion.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.fakecombank.orion.constant.OrderStatus;
+import com.fakecombank.orion.constant.OrderType;
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.model.Order;
+import com.fakecombank.orion.model.OrderItem;
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.response.OrderSummary;
+
+@DataJpaTest(showSql = false)
+class OrderHistoryRepositoryTest {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CoinRepository coinRepository;
+
+    private User user;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User());
+        other = userRepository.save(new User());
+        Coin bitcoin = coinRepository.save(coin("bitcoin", "btc"));
+        Coin ethereum = coinRepository.save(coin("ethereum", "eth"));
+
+        for (int i = 0; i < 30; i++) {
+            // Pairs of orders share a timestamp so the cursor has to break ties on id.
+            LocalDateTime timestamp = START.plusMinutes(i / 2);
+            orderRepository.save(order(user, i % 3 == 0 ? ethereum : bitcoin, i % 2 == 0 ? OrderType.BUY : OrderType.SELL, timestamp));
+            orderRepository.save(order(other, bitcoin, OrderType.BUY, timestamp));
+        }
+
+        orderRepository.flush();
+    }
+
+    @Test
+    void pagesThroughHistoryNewestFirstWithoutGapsOrRepeats() {
+        List<OrderSummary> seen = new ArrayList<>();
+        List<OrderSummary> page = orderRepository.findHistory(user.getId(), null, null, null, null, null, null, 7);
+
+        while (!page.isEmpty()) {
+            seen.addAll(page);
+            OrderSummary last = page.get(page.size() - 1);
+            page = orderRepository.findHistory(user.getId(), null, null, null, null, last.getTimestamp(), last.getId(), 7);
+        }
+
+        assertEquals(30, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            OrderSummary previous = seen.get(i - 1);
+            OrderSummary current = seen.get(i);
+            assertTrue(previous.getTimestamp().isAfter(current.getTimestamp())
+                    || previous.getTimestamp().equals(current.getTimestamp()) && previous.getId() > current.getId());
+        }
+    }
+
+    @Test
+    void appliesTypeCoinAndTimeFilters() {
+        List<OrderSummary> sells = orderRepository.findHistory(user.getId(), OrderType.SELL, null, null, null, null, null, 100);
+        List<OrderSummary> eth = orderRepository.findHistory(user.getId(), null, "ETH", null, null, null, null, 100);
+        List<OrderSummary> window = orderRepository.findHistory(user.getId(), null, null, START.plusMinutes(5),
+                START.plusMinutes(10), null, null, 100);
+
+        assertEquals(15, sells.size());
+        assertTrue(sells.stream().allMatch(order -> order.getOrderType() == OrderType.SELL));
+        assertEquals(10, eth.size());
+        assertTrue(eth.stream().allMatch(order -> order.getCoinId().equals("ethereum")));
+        assertEquals(10, window.size());
+        assertEquals(OrderStatus.SUCCESS, window.get(0).getStatus());
+    }
+
+    private static Coin coin(String id, String symbol) {
+        Coin coin = new Coin();
+        coin.setId(id);
+        coin.setSymbol(symbol);
+
+        return coin;
+    }
+
+    private static Order order(User user, Coin coin, OrderType type, LocalDateTime timestamp) {
+        OrderItem item = new OrderItem();
+        item.setCoin(coin);
+        item.setQuantity(1);
+        item.setBuyPrice(100);
+
+        Order order = new Order();
+        order.setUser(user);
+        order.setOrderType(type);
+        order.setPrice(BigDecimal.valueOf(100));
+        order.setTimestamp(timestamp);
+        order.setStatus(OrderStatus.SUCCESS);
+        order.setOrderItem(item);
+        item.setOrder(order);
+
+        return order;
+    }
+}
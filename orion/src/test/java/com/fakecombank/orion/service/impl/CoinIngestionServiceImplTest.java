@@ -0,0 +1,54 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.repository.CoinRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoinIngestionServiceImplTest {
+    private final CoinRepository coinRepository = mock(CoinRepository.class);
+    private final CoinIngestionServiceImpl ingestion = new CoinIngestionServiceImpl(coinRepository, new SimpleMeterRegistry());
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void upsertsOnlyCoinsWithNewLastUpdated() {
+        when(coinRepository.upsertAll(anyList())).thenAnswer(invocation -> ((List<Coin>) invocation.getArgument(0)).size());
+
+        assertEquals(2, ingestion.ingest(List.of(coin("bitcoin", 1_000), coin("ethereum", 1_000))));
+        assertEquals(1, ingestion.ingest(List.of(coin("bitcoin", 1_000), coin("ethereum", 2_000))));
+        assertEquals(0, ingestion.ingest(List.of(coin("bitcoin", 1_000), coin("ethereum", 2_000))));
+
+        ArgumentCaptor<List<Coin>> batches = ArgumentCaptor.forClass(List.class);
+        verify(coinRepository, times(2)).upsertAll(batches.capture());
+        assertEquals("ethereum", batches.getAllValues().get(1).get(0).getId());
+        assertEquals(1, batches.getAllValues().get(1).size());
+    }
+
+    @Test
+    void retriesCoinsAfterFailedBatch() {
+        when(coinRepository.upsertAll(anyList())).thenThrow(new RuntimeException("db down")).thenReturn(1);
+
+        assertEquals(0, ingestion.ingest(List.of(coin("bitcoin", 1_000))));
+        assertEquals(1, ingestion.ingest(List.of(coin("bitcoin", 1_000))));
+    }
+
+    private static Coin coin(String id, long lastUpdated) {
+        Coin coin = new Coin();
+        coin.setId(id);
+        coin.setLastUpdated(new Date(lastUpdated));
+        return coin;
+    }
+}
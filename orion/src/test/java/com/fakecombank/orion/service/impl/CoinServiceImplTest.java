@@ -0,0 +1,77 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.service.CoinIngestionService;
+import com.fakecombank.orion.service.MarketDataClient;
+import com.fakecombank.orion.service.MarketDataSnapshotStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CoinServiceImplTest {
+    private static final String PAGE = "[{\"id\":\"bitcoin\",\"symbol\":\"btc\",\"current_price\":65000.0}]";
+
+    @Mock
+    private MarketDataClient marketDataClient;
+    @Mock
+    private CoinIngestionService coinIngestionService;
+    @Mock
+    private MarketDataSnapshotStore snapshotStore;
+    @InjectMocks
+    private CoinServiceImpl coinService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        ReflectionTestUtils.setField(coinService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(coinService, "marketDataCache",
+                new MarketDataCacheImpl(meterRegistry, snapshotStore, 100, 300, 30, 30, 300, 600));
+        when(marketDataClient.get(any(), anyString()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(PAGE.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void ingestsOnlyPagesLoadedFromUpstream() {
+        List<Coin> first = coinService.getCoinsList(1).join();
+        List<Coin> cached = coinService.getCoinsList(1).join();
+
+        assertEquals("bitcoin", first.get(0).getId());
+        assertEquals("bitcoin", cached.get(0).getId());
+        verify(marketDataClient, times(1)).get(any(), anyString());
+        verify(coinIngestionService, times(1)).ingest(argThat(coins -> coins.size() == 1));
+    }
+
+    @Test
+    void ingestsEachNewPage() {
+        coinService.getCoinsList(1).join();
+        coinService.getCoinsList(2).join();
+        coinService.getCoinsList(2).join();
+
+        verify(coinIngestionService, times(2)).ingest(any());
+    }
+}
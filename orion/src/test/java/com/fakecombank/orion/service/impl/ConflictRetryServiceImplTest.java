@@ -0,0 +1,130 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fakecombank.orion.model.Wallet;
+import com.fakecombank.orion.repository.WalletRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Commits from several threads at once, so the test itself must not hold a transaction around them.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConflictRetryServiceImplTest {
+    private static final int THREADS = 8;
+    private static final int DEPOSITS_PER_THREAD = 50;
+
+    @Autowired
+    private WalletRepository walletRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentDepositsAreNotLost() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConflictRetryServiceImpl retryService = new ConflictRetryServiceImpl(transactionManager, meterRegistry, 100, 1, 20);
+        Long walletId = newWallet();
+
+        runConcurrently(() -> retryService.inTransaction("deposit", () -> deposit(walletId)));
+
+        Wallet wallet = walletRepository.findById(walletId).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(THREADS * DEPOSITS_PER_THREAD).compareTo(wallet.getBalance()));
+        assertEquals(THREADS * DEPOSITS_PER_THREAD, wallet.getVersion());
+        assertEquals(meterRegistry.counter("optimistic_lock.conflicts", "operation", "deposit").count(),
+                meterRegistry.counter("optimistic_lock.retries", "operation", "deposit").count());
+    }
+
+    @Test
+    void conflictsWithoutRetryFailInsteadOfOverwriting() throws Exception {
+        ConflictRetryServiceImpl retryService = new ConflictRetryServiceImpl(transactionManager, new SimpleMeterRegistry(), 1, 1, 1);
+        Long walletId = newWallet();
+        AtomicInteger committed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            try {
+                retryService.inTransaction("deposit", () -> deposit(walletId));
+                committed.incrementAndGet();
+            } catch (OptimisticLockingFailureException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        Wallet wallet = walletRepository.findById(walletId).orElseThrow();
+        assertEquals(THREADS * DEPOSITS_PER_THREAD, committed.get() + rejected.get());
+        assertEquals(0, BigDecimal.valueOf(committed.get()).compareTo(wallet.getBalance()));
+    }
+
+    @Test
+    void rethrowsOtherFailuresWithoutRetrying() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConflictRetryServiceImpl retryService = new ConflictRetryServiceImpl(transactionManager, meterRegistry, 5, 1, 1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(RuntimeException.class, () -> retryService.inTransaction("deposit", () -> {
+            attempts.incrementAndGet();
+            throw new RuntimeException("Insufficient balance");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertTrue(meterRegistry.find("optimistic_lock.retries").counters().stream().allMatch(c -> c.count() == 0));
+    }
+
+    private Long newWallet() {
+        Wallet wallet = new Wallet();
+        wallet.setId(10000L + (long) (Math.random() * 90000L));
+
+        return walletRepository.save(wallet).getId();
+    }
+
+    private Wallet deposit(Long walletId) {
+        Wallet wallet = walletRepository.findById(walletId).orElseThrow();
+        wallet.setBalance(wallet.getBalance().add(BigDecimal.ONE));
+
+        return walletRepository.save(wallet);
+    }
+
+    private void runConcurrently(Runnable deposit) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < DEPOSITS_PER_THREAD; j++) {
+                        deposit.run();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
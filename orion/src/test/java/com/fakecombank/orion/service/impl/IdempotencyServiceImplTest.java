@@ -0,0 +1,207 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fakecombank.orion.constant.IdempotencyState;
+import com.fakecombank.orion.model.IdempotencyRecord;
+import com.fakecombank.orion.model.Wallet;
+import com.fakecombank.orion.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IdempotencyServiceImplTest {
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private IdempotencyServiceImpl idempotencyService;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry(), 1_000, 24, 300);
+    }
+
+    @Test
+    void replaysFirstResponseForSameKey() {
+        ResponseEntity<Wallet> first = idempotencyService.execute(1L, "key-1", "wallet_transfer", Wallet.class, this::transfer);
+        ResponseEntity<Wallet> retry = idempotencyService.execute(1L, "key-1", "wallet_transfer", Wallet.class, this::transfer);
+
+        assertSame(first, retry);
+        assertEquals(1, executions.get());
+        verify(idempotencyRecordRepository).saveAndFlush(argThat(record -> record.getIdempotencyKey().equals("key-1")));
+        verify(idempotencyRecordRepository).save(argThat(record -> record.getState() == IdempotencyState.COMPLETED
+                && record.getStatus() == 202));
+    }
+
+    @Test
+    void runsEveryCallWithoutKey() {
+        idempotencyService.execute(1L, null, "wallet_transfer", Wallet.class, this::transfer);
+        idempotencyService.execute(1L, null, "wallet_transfer", Wallet.class, this::transfer);
+
+        assertEquals(2, executions.get());
+        verify(idempotencyRecordRepository, never()).saveAndFlush(any());
+        verify(idempotencyRecordRepository, never()).save(any());
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForFirstExecution() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<Wallet>>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return idempotencyService.execute(1L, "key-2", "wallet_transfer", Wallet.class, () -> {
+                        sleep(50);
+                        return transfer();
+                    });
+                }));
+            }
+
+            start.countDown();
+            for (Future<ResponseEntity<Wallet>> result : results) {
+                assertEquals(BigDecimal.valueOf(900), result.get().getBody().getBalance());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void replaysStoredResponseAfterRestart() throws Exception {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setOperation("wallet_transfer");
+        record.setStatus(202);
+        record.setBody(new ObjectMapper().writeValueAsString(transfer().getBody()));
+        executions.set(0);
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-3")).thenReturn(record);
+
+        ResponseEntity<Wallet> response = idempotencyService.execute(1L, "key-3", "wallet_transfer", Wallet.class, this::transfer);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(0, BigDecimal.valueOf(900).compareTo(response.getBody().getBalance()));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void failedCallCanBeRetriedWithSameKey() {
+        assertThrows(RuntimeException.class, () -> idempotencyService.execute(1L, "key-4", "wallet_transfer", Wallet.class, () -> {
+            throw new RuntimeException("Insufficient balance");
+        }));
+
+        verify(idempotencyRecordRepository).delete(argThat(record -> record.getIdempotencyKey().equals("key-4")));
+
+        idempotencyService.execute(1L, "key-4", "wallet_transfer", Wallet.class, this::transfer);
+
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void replaysResponseOfInstanceThatWonTheClaim() throws Exception {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setOperation("wallet_transfer");
+        record.setState(IdempotencyState.COMPLETED);
+        record.setStatus(202);
+        record.setBody(new ObjectMapper().writeValueAsString(transfer().getBody()));
+        executions.set(0);
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-6")).thenReturn(null, record);
+        when(idempotencyRecordRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        ResponseEntity<Wallet> response = idempotencyService.execute(1L, "key-6", "wallet_transfer", Wallet.class, this::transfer);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void reportsKeyStillPendingOnAnotherInstance() {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setOperation("wallet_transfer");
+        record.setState(IdempotencyState.PENDING);
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-7")).thenReturn(record);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> idempotencyService.execute(1L, "key-7", "wallet_transfer", Wallet.class, this::transfer));
+
+        assertEquals("A request with this idempotency key is still being processed", e.getMessage());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void purgesExpiredRecordsAndAbandonedClaims() {
+        when(idempotencyRecordRepository.deleteByStateAndCreatedAtBefore(eq(IdempotencyState.COMPLETED), any())).thenReturn(3);
+        when(idempotencyRecordRepository.deleteByStateAndCreatedAtBefore(eq(IdempotencyState.PENDING), any())).thenReturn(1);
+
+        assertEquals(4, idempotencyService.purgeExpired());
+
+        verify(idempotencyRecordRepository).deleteByStateAndCreatedAtBefore(eq(IdempotencyState.COMPLETED),
+                argThat(before -> before.isBefore(LocalDateTime.now().minusHours(23))));
+        verify(idempotencyRecordRepository).deleteByStateAndCreatedAtBefore(eq(IdempotencyState.PENDING),
+                argThat(before -> before.isAfter(LocalDateTime.now().minusMinutes(6))));
+    }
+
+    @Test
+    void rejectsKeyReusedForDifferentOperation() {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setOperation("withdrawal");
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(1L, "key-5")).thenReturn(record);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.execute(1L, "key-5", "wallet_transfer", Wallet.class, this::transfer));
+    }
+
+    private ResponseEntity<Wallet> transfer() {
+        executions.incrementAndGet();
+        Wallet wallet = new Wallet();
+        wallet.setId(10001L);
+        wallet.setBalance(BigDecimal.valueOf(900));
+
+        return new ResponseEntity<>(wallet, HttpStatus.ACCEPTED);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fakecombank.orion.constant.LedgerAccount;
+import com.fakecombank.orion.constant.LedgerEntryType;
+import com.fakecombank.orion.model.LedgerEntry;
+import com.fakecombank.orion.repository.LedgerCheckpointRepository;
+import com.fakecombank.orion.repository.LedgerEntryRepository;
+import com.fakecombank.orion.utils.FixedPoint;
+
+@DataJpaTest(showSql = false, properties = "ledger.checkpoint.settle-seconds=0")
+@Import(LedgerServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LedgerServiceImplTest {
+    private static final long WALLET = 20000L;
+    private static final long FUNDING = LedgerAccount.FUNDING.getId();
+
+    @Autowired
+    private LedgerServiceImpl ledgerService;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    @Autowired
+    private LedgerCheckpointRepository ledgerCheckpointRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        ledgerEntryRepository.deleteAll();
+        ledgerCheckpointRepository.deleteAll();
+    }
+
+    @Test
+    void postingIsABalancedPair() {
+        ledgerService.post(LedgerEntryType.DEPOSIT, FUNDING, WALLET, units(100), "payment:1");
+        ledgerService.post(LedgerEntryType.ORDER_REFUND, LedgerAccount.ESCROW.getId(), WALLET, 0, "order:1");
+
+        List<LedgerEntry> entries = ledgerEntryRepository.findAll();
+
+        assertEquals(2, entries.size());
+        assertEquals(entries.get(0).getPostingId(), entries.get(1).getPostingId());
+        assertEquals(0, entries.stream().mapToLong(LedgerEntry::getAmount).sum());
+        assertEquals(-units(100), ledgerEntryRepository.findByPostingId(entries.get(0).getPostingId()).stream()
+                .filter(entry -> entry.getAccountId() == FUNDING).findFirst().orElseThrow().getAmount());
+        assertThrows(IllegalArgumentException.class, () -> ledgerService.post(LedgerEntryType.DEPOSIT, FUNDING, WALLET, -1, null));
+    }
+
+    @Test
+    void postingsInATransactionAreAppendedAtCommitOnly() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            ledgerService.post(LedgerEntryType.DEPOSIT, FUNDING, WALLET, units(100), null);
+            ledgerService.post(LedgerEntryType.TRANSFER, WALLET, 30000L, units(40), null);
+
+            assertEquals(0, ledgerEntryRepository.count());
+        });
+        transaction.executeWithoutResult(status -> {
+            ledgerService.post(LedgerEntryType.DEPOSIT, FUNDING, WALLET, units(1_000), null);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(4, ledgerEntryRepository.count());
+        assertEquals(amount(60), ledgerService.getBalance(WALLET, LocalDateTime.now()));
+    }
+
+    @Test
+    void balanceAtAnyTimeIsLatestCheckpointPlusLaterEntries() throws InterruptedException {
+        LocalDateTime start = tick();
+        ledgerService.post(LedgerEntryType.DEPOSIT, FUNDING, WALLET, units(100), null);
+        LocalDateTime afterDeposit = tick();
+
+        assertEquals(2, ledgerService.checkpoint());
+        assertEquals(0, ledgerService.checkpoint());
+
+        ledgerService.post(LedgerEntryType.WITHDRAWAL, WALLET, FUNDING, units(30), null);
+        LocalDateTime afterWithdrawal = tick();
+
+        assertEquals(2, ledgerService.checkpoint());
+
+        ledgerService.post(LedgerEntryType.WITHDRAWAL, WALLET, FUNDING, units(5), null);
+        LocalDateTime now = tick();
+
+        assertEquals(amount(0), ledgerService.getBalance(WALLET, start));
+        assertEquals(amount(100), ledgerService.getBalance(WALLET, afterDeposit));
+        assertEquals(amount(70), ledgerService.getBalance(WALLET, afterWithdrawal));
+        assertEquals(amount(65), ledgerService.getBalance(WALLET, now));
+        assertEquals(amount(-65), ledgerService.getBalance(FUNDING, now));
+
+        LocalDateTime latest = ledgerCheckpointRepository.findLatestAsOf();
+        assertTrue(latest.isAfter(afterDeposit));
+        assertEquals(units(70), ledgerCheckpointRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(WALLET, now)
+                .getBalance());
+    }
+
+    private static LocalDateTime tick() throws InterruptedException {
+        Thread.sleep(5);
+        LocalDateTime now = LocalDateTime.now();
+        Thread.sleep(5);
+
+        return now;
+    }
+
+    private static long units(long amount) {
+
+        return amount * FixedPoint.SCALE;
+    }
+
+    private static BigDecimal amount(long amount) {
+
+        return FixedPoint.toBigDecimal(units(amount));
+    }
+}
@@ -0,0 +1,62 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class LivePriceServiceImplTest {
+
+    @Test
+    void orderWaitsForTheFirstQuoteOnColdStart() throws Exception {
+        LivePriceServiceImpl prices = new LivePriceServiceImpl(120, 5_000);
+        CompletableFuture<Double> order = CompletableFuture.supplyAsync(() -> prices.getPriceForOrder("bitcoin"));
+
+        Thread.sleep(100);
+        prices.publish("bitcoin", 65_000, Instant.now());
+
+        assertEquals(65_000, order.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void coldStartGivesUpAfterTheWait() {
+        LivePriceServiceImpl prices = new LivePriceServiceImpl(120, 100);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> prices.getPriceForOrder("bitcoin"));
+
+        assertEquals("No live price for bitcoin", e.getMessage());
+    }
+
+    @Test
+    void missingQuoteFailsAtOnceAfterTheFirstPoll() {
+        LivePriceServiceImpl prices = new LivePriceServiceImpl(120, 60_000);
+        prices.markLoaded();
+
+        long start = System.nanoTime();
+        assertThrows(RuntimeException.class, () -> prices.getPriceForOrder("bitcoin"));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void rejectsStaleQuotesAndKeepsTheNewest() {
+        LivePriceServiceImpl prices = new LivePriceServiceImpl(120, 5_000);
+        Instant now = Instant.now();
+
+        prices.publish("bitcoin", 64_000, now.minus(Duration.ofMinutes(5)));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> prices.getPriceForOrder("bitcoin"));
+        assertEquals("Live price for bitcoin is stale", e.getMessage());
+
+        prices.publish("bitcoin", 65_000, now);
+        prices.publish("bitcoin", 63_000, now.minusSeconds(10));
+
+        assertEquals(65_000, prices.getPriceForOrder("bitcoin"));
+    }
+}
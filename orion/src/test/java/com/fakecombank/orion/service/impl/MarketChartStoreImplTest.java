@@ -0,0 +1,82 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class MarketChartStoreImplTest {
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MarketChartStoreImpl store;
+
+    @BeforeEach
+    void setUp() {
+        store = new MarketChartStoreImpl();
+        ReflectionTestUtils.setField(store, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(store, "storeDir", dir.toString());
+        ReflectionTestUtils.setField(store, "refreshSeconds", 300L);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void yearOfDailyPointsDoesNotServeOneDayChart() throws Exception {
+        long now = System.currentTimeMillis();
+
+        assertEquals(365, store.daysToFetch("bitcoin", 365));
+        store.merge("bitcoin", chart(now - 364 * DAY_MILLIS, DAY_MILLIS, 365), 365);
+
+        assertEquals(0, store.daysToFetch("bitcoin", 365));
+        assertEquals(1, store.daysToFetch("bitcoin", 1));
+
+        store.merge("bitcoin", chart(now - DAY_MILLIS + 300_000L, 300_000L, 288), 1);
+
+        assertEquals(0, store.daysToFetch("bitcoin", 1));
+        assertEquals(288, prices(store.render("bitcoin", 1, 0)));
+        assertEquals(365, prices(store.render("bitcoin", 365, 0)));
+    }
+
+    @Test
+    void refreshStaysWithinTheTierGranularity() throws Exception {
+        long now = System.currentTimeMillis();
+
+        store.merge("ethereum", chart(now - 30 * DAY_MILLIS, 3_600_000L, 30 * 24 - 12), 30);
+        store.merge("cardano", chart(now - 365 * DAY_MILLIS, DAY_MILLIS, 364), 365);
+
+        assertEquals(2, store.daysToFetch("ethereum", 30));
+        assertEquals(91, store.daysToFetch("cardano", 365));
+    }
+
+    private int prices(byte[] chart) throws Exception {
+        JsonNode node = objectMapper.readTree(chart);
+
+        return node.get("prices").size();
+    }
+
+    private static byte[] chart(long from, long step, int points) {
+        StringBuilder prices = new StringBuilder();
+
+        for (int i = 0; i < points; i++) {
+            prices.append(i == 0 ? "" : ",").append('[').append(from + i * step).append(',').append(100 + i).append(']');
+        }
+
+        return ("{\"prices\":[" + prices + "]}").getBytes(StandardCharsets.UTF_8);
+    }
+}
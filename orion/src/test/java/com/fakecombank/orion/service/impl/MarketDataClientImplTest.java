@@ -0,0 +1,185 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fakecombank.orion.constant.MarketDataPriority;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MarketDataClientImplTest {
+    private static final String MARKETS = "[{\"id\":\"bitcoin\",\"symbol\":\"btc\",\"current_price\":65000.0}]";
+    private static final String NODELAY = "sun.net.httpserver.nodelay";
+
+    private static String previousNodelay;
+
+    private HttpServer upstream;
+    private String baseUrl;
+    private MarketDataClientImpl client;
+    private final AtomicInteger brokenCalls = new AtomicInteger();
+
+    @BeforeAll
+    static void disableNagle() {
+        previousNodelay = System.setProperty(NODELAY, "true");
+    }
+
+    @AfterAll
+    static void restoreNagle() {
+        if (previousNodelay == null) {
+            System.clearProperty(NODELAY);
+        } else {
+            System.setProperty(NODELAY, previousNodelay);
+        }
+    }
+
+    @BeforeEach
+    void startUpstream() throws Exception {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 50);
+        upstream.createContext("/coins/markets", exchange -> {
+            byte[] body = MARKETS.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        upstream.createContext("/limited", exchange -> {
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+        });
+        upstream.createContext("/broken", exchange -> {
+            brokenCalls.incrementAndGet();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        upstream.setExecutor(Executors.newFixedThreadPool(8));
+        upstream.start();
+
+        baseUrl = "http://127.0.0.1:" + upstream.getAddress().getPort();
+        client = new MarketDataClientImpl(new SimpleMeterRegistry(), baseUrl, 1000, 2000, 600_000, 1_000, 1_000, 5, 30_000);
+    }
+
+    @AfterEach
+    void stopUpstream() {
+        client.close();
+        upstream.stop(0);
+    }
+
+    @Test
+    void returnsUpstreamBody() {
+        assertEquals(MARKETS, new String(client.get(MarketDataPriority.BROWSE, "/coins/markets").join(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void failsOnErrorStatus() {
+        assertThrows(CompletionException.class, () -> client.get(MarketDataPriority.BROWSE, "/missing").join());
+    }
+
+    @Test
+    void failsFastOnceCircuitOpens() {
+        for (int i = 0; i < 5; i++) {
+            assertThrows(CompletionException.class, () -> client.get(MarketDataPriority.BROWSE, "/broken").join());
+        }
+
+        assertThrows(CompletionException.class, () -> client.get(MarketDataPriority.BROWSE, "/broken").join());
+        assertThrows(CompletionException.class, () -> client.get(MarketDataPriority.BROWSE, "/coins/markets").join());
+        assertEquals(5, brokenCalls.get());
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        for (int i = 0; i < 10; i++) {
+            assertThrows(CompletionException.class, () -> client.get(MarketDataPriority.BROWSE, "/missing").join());
+        }
+
+        assertEquals(MARKETS, new String(client.get(MarketDataPriority.BROWSE, "/coins/markets").join(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rateLimitedResponsesOpenCircuit() {
+        for (int i = 0; i < 5; i++) {
+            assertThrows(CompletionException.class, () -> client.get(MarketDataPriority.BROWSE, "/limited").join());
+        }
+
+        assertThrows(CompletionException.class, () -> client.get(MarketDataPriority.BROWSE, "/coins/markets").join());
+    }
+
+    @Test
+    void dispatchesQueuedCallsByPriorityOnceBudgetIsSpent() {
+        MarketDataClientImpl limited = new MarketDataClientImpl(new SimpleMeterRegistry(), baseUrl, 1000, 2000, 60, 1, 10, 5, 30_000);
+        List<String> completed = new CopyOnWriteArrayList<>();
+
+        try {
+            limited.get(MarketDataPriority.BROWSE, "/coins/markets").join();
+
+            CompletableFuture<byte[]> chart = limited.get(MarketDataPriority.CHART, "/coins/markets")
+                    .whenComplete((body, error) -> completed.add("chart"));
+            CompletableFuture<byte[]> price = limited.get(MarketDataPriority.PRICE_REFRESH, "/coins/markets")
+                    .whenComplete((body, error) -> completed.add("price"));
+
+            CompletableFuture.allOf(chart, price).join();
+
+            assertEquals(List.of("price", "chart"), completed);
+        } finally {
+            limited.close();
+        }
+    }
+
+    @Test
+    void rejectsWhenPriorityQueueIsFull() {
+        MarketDataClientImpl limited = new MarketDataClientImpl(new SimpleMeterRegistry(), baseUrl, 1000, 2000, 1, 1, 1, 5, 30_000);
+
+        try {
+            limited.get(MarketDataPriority.BROWSE, "/coins/markets").join();
+            limited.get(MarketDataPriority.BROWSE, "/coins/markets");
+
+            assertThrows(CompletionException.class, () -> limited.get(MarketDataPriority.BROWSE, "/coins/markets").join());
+        } finally {
+            limited.close();
+        }
+    }
+
+    @Test
+    void expiredRequestsFreeTheirQueueSlot() throws Exception {
+        MarketDataClientImpl limited = new MarketDataClientImpl(new SimpleMeterRegistry(), baseUrl, 1000, 2000, 1, 1, 1, 5, 30_000);
+
+        try {
+            limited.get(MarketDataPriority.BROWSE, "/coins/markets").join();
+            CompletableFuture<byte[]> queued = limited.get(MarketDataPriority.BROWSE, "/coins/markets");
+
+            CompletionException expired = assertThrows(CompletionException.class, queued::join);
+            assertInstanceOf(TimeoutException.class, expired.getCause());
+
+            CompletableFuture<byte[]> next = limited.get(MarketDataPriority.BROWSE, "/coins/markets");
+
+            assertFalse(next.isDone());
+            next.cancel(false);
+        } finally {
+            limited.close();
+        }
+    }
+}
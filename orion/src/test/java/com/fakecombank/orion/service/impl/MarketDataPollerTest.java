@@ -0,0 +1,100 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fakecombank.orion.constant.MarketDataPriority;
+import com.fakecombank.orion.repository.CoinRepository;
+import com.fakecombank.orion.service.CoinIngestionService;
+import com.fakecombank.orion.service.CoinSearchService;
+import com.fakecombank.orion.service.MarketDataClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class MarketDataPollerTest {
+    private static final String FIRST_PAGE = "/coins/markets?vs_currency=usd&per_page=250&page=1";
+
+    private final MarketDataClient marketDataClient = mock(MarketDataClient.class);
+    private final CoinRepository coinRepository = mock(CoinRepository.class);
+    private final LivePriceServiceImpl livePriceService = new LivePriceServiceImpl(120, 5_000);
+    private final MarketDataPoller poller = new MarketDataPoller();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(poller, "marketDataClient", marketDataClient);
+        ReflectionTestUtils.setField(poller, "livePriceService", livePriceService);
+        ReflectionTestUtils.setField(poller, "coinSearchService", mock(CoinSearchService.class));
+        ReflectionTestUtils.setField(poller, "coinRepository", coinRepository);
+        ReflectionTestUtils.setField(poller, "coinIngestionService", mock(CoinIngestionService.class));
+        ReflectionTestUtils.setField(poller, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(poller, "pages", 1);
+    }
+
+    @Test
+    void firstPollReleasesOrdersWaitingForAPrice() throws Exception {
+        when(marketDataClient.get(MarketDataPriority.PRICE_REFRESH, FIRST_PAGE))
+                .thenReturn(page("bitcoin", 65_000, Instant.now()));
+
+        CompletableFuture<Double> order = CompletableFuture.supplyAsync(() -> livePriceService.getPriceForOrder("bitcoin"));
+        poller.refreshPrices();
+
+        assertEquals(65_000, order.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failedFirstPollStillEndsTheColdStart() {
+        when(marketDataClient.get(MarketDataPriority.PRICE_REFRESH, FIRST_PAGE))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("upstream down")));
+
+        poller.refreshPrices();
+
+        long start = System.nanoTime();
+        assertThrows(RuntimeException.class, () -> livePriceService.getPriceForOrder("bitcoin"));
+        assertEquals(0, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    @Test
+    void publishesUpstreamTimestampSoStalePricesAreRejected() {
+        when(marketDataClient.get(MarketDataPriority.PRICE_REFRESH, FIRST_PAGE))
+                .thenReturn(page("bitcoin", 65_000, Instant.now().minusSeconds(600)));
+
+        poller.refreshPrices();
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> livePriceService.getPriceForOrder("bitcoin"));
+        assertEquals("Live price for bitcoin is stale", e.getMessage());
+    }
+
+    @Test
+    void fetchesStoredCoinsMissingFromTheTopPages() {
+        when(marketDataClient.get(MarketDataPriority.PRICE_REFRESH, FIRST_PAGE))
+                .thenReturn(page("bitcoin", 65_000, Instant.now()));
+        when(coinRepository.findAllIds()).thenReturn(List.of("bitcoin", "dogecoin"));
+        when(marketDataClient.get(eq(MarketDataPriority.PRICE_REFRESH), startsWith("/coins/markets?vs_currency=usd&per_page=250&ids=")))
+                .thenReturn(page("dogecoin", 0.15, Instant.now()));
+
+        poller.refreshPrices();
+
+        verify(marketDataClient).get(MarketDataPriority.PRICE_REFRESH, "/coins/markets?vs_currency=usd&per_page=250&ids=dogecoin");
+        assertEquals(0.15, livePriceService.getPriceForOrder("dogecoin"));
+    }
+
+    private static CompletableFuture<byte[]> page(String coinId, double price, Instant updatedAt) {
+        String body = "[{\"id\":\"" + coinId + "\",\"current_price\":" + price + ",\"last_updated\":\"" + updatedAt + "\"}]";
+
+        return CompletableFuture.completedFuture(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,259 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.fakecombank.orion.constant.LedgerAccount;
+import com.fakecombank.orion.constant.LedgerEntryType;
+import com.fakecombank.orion.constant.OrderStatus;
+import com.fakecombank.orion.constant.OrderType;
+import com.fakecombank.orion.model.Asset;
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.model.Order;
+import com.fakecombank.orion.model.OrderItem;
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.model.Wallet;
+import com.fakecombank.orion.repository.AssetRepository;
+import com.fakecombank.orion.repository.OrderFillDeadLetterRepository;
+import com.fakecombank.orion.repository.OrderFillRepository;
+import com.fakecombank.orion.repository.OrderRepository;
+import com.fakecombank.orion.service.ConflictRetryService;
+import com.fakecombank.orion.service.JournalService;
+import com.fakecombank.orion.service.LedgerService;
+import com.fakecombank.orion.service.WalletService;
+import com.fakecombank.orion.utils.FixedPoint;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Runs the real matching shard and fill writer against in-memory wallets, holdings and orders, so a match is checked
+// from submission through to the balances and asset rows it leaves behind.
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MatchingEngineImplTest {
+    @Mock
+    private ConflictRetryService conflictRetryService;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderFillRepository orderFillRepository;
+    @Mock
+    private OrderFillDeadLetterRepository deadLetterRepository;
+    @Mock
+    private AssetRepository assetRepository;
+    @Mock
+    private WalletService walletService;
+    @Mock
+    private JournalService journalService;
+    @Mock
+    private LedgerService ledgerService;
+
+    private final User buyer = user(1L);
+    private final User seller = user(2L);
+    private final Coin coin = new Coin();
+    private final Map<Long, Order> orders = new HashMap<>();
+    private final Map<Long, Wallet> wallets = new HashMap<>();
+    private final Map<Long, Asset> assets = new HashMap<>();
+    private final Semaphore written = new Semaphore(0);
+
+    private OrderFillWriter fillWriter;
+    private MatchingEngineImpl matchingEngine;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        coin.setId("bitcoin");
+        wallets.put(buyer.getId(), wallet(20001L, buyer));
+        wallets.put(seller.getId(), wallet(20002L, seller));
+        assets.put(seller.getId(), asset(seller, 1, 80));
+
+        when(conflictRetryService.inTransaction(anyString(), any())).thenAnswer(invocation -> {
+            Object result = ((Supplier<Object>) invocation.getArgument(1)).get();
+
+            written.release();
+            return result;
+        });
+        when(orderRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Order> found = new ArrayList<>();
+
+            ids.forEach(id -> found.add(orders.get(id)));
+            return found;
+        });
+        when(walletService.getUserWallet(any(User.class)))
+                .thenAnswer(invocation -> wallets.get(((User) invocation.getArgument(0)).getId()));
+        when(walletService.credit(anyLong(), any(BigDecimal.class))).thenAnswer(invocation -> {
+            Wallet wallet = wallets.values().stream()
+                    .filter(w -> w.getId().equals(invocation.getArgument(0)))
+                    .findFirst()
+                    .orElseThrow();
+
+            wallet.setBalance(wallet.getBalance().add(invocation.getArgument(1)));
+            return wallet;
+        });
+        when(assetRepository.addQuantity(anyLong(), eq("bitcoin"), anyDouble())).thenAnswer(invocation -> {
+            Asset asset = assets.get(invocation.getArgument(0));
+
+            if (asset == null) {
+                return 0;
+            }
+
+            asset.setQuantity(asset.getQuantity() + (double) invocation.getArgument(2));
+            return 1;
+        });
+        when(assetRepository.save(any(Asset.class))).thenAnswer(invocation -> {
+            Asset asset = invocation.getArgument(0);
+
+            assets.put(asset.getUser().getId(), asset);
+            return asset;
+        });
+
+        fillWriter = new OrderFillWriter(conflictRetryService, orderRepository, orderFillRepository, deadLetterRepository,
+                assetRepository, walletService, journalService, ledgerService, new SimpleMeterRegistry(), 500, 1024, 5, 1, 10);
+        matchingEngine = new MatchingEngineImpl(fillWriter, orderRepository, new SimpleMeterRegistry(), 1, 1024);
+    }
+
+    @AfterEach
+    void close() {
+        matchingEngine.close();
+        fillWriter.close();
+    }
+
+    @Test
+    void crossingBuyFillsRestingSellAtTheRestingPrice() throws InterruptedException {
+        // The seller reserved 2 of their 3 coins when the order was placed; the buyer reserved 110 for 1 coin.
+        Order sell = order(11L, seller, OrderType.SELL, 2, 80, 100);
+        Order buy = order(12L, buyer, OrderType.BUY, 1, 110, 0);
+
+        matchingEngine.submit(sell);
+        matchingEngine.submit(buy);
+        awaitStatus(buy, OrderStatus.FILLED);
+
+        assertEquals(OrderStatus.PARTIALLY_FILLED, sell.getStatus());
+        assertEquals(1, sell.getFilledQuantity(), 1e-9);
+        assertEquals(1, buy.getFilledQuantity(), 1e-9);
+
+        assertEquals(0, new BigDecimal(10).compareTo(wallets.get(buyer.getId()).getBalance()));
+        assertEquals(0, new BigDecimal(100).compareTo(wallets.get(seller.getId()).getBalance()));
+        verify(ledgerService).post(LedgerEntryType.ORDER_REFUND, LedgerAccount.ESCROW.getId(), 20001L,
+                10 * FixedPoint.SCALE, "order:12");
+        verify(ledgerService).post(LedgerEntryType.ORDER_PROCEEDS, LedgerAccount.ESCROW.getId(), 20002L,
+                100 * FixedPoint.SCALE, "order:11");
+
+        Asset bought = assets.get(buyer.getId());
+        assertEquals(1, bought.getQuantity(), 1e-9);
+        assertEquals(100, bought.getBuyPrice(), 1e-9);
+        assertEquals(1, assets.get(seller.getId()).getQuantity(), 1e-9);
+    }
+
+    @Test
+    void cancellingThePartlyFilledSellReturnsTheRestToTheSeller() throws InterruptedException {
+        Order sell = order(11L, seller, OrderType.SELL, 2, 80, 100);
+        Order buy = order(12L, buyer, OrderType.BUY, 1, 110, 0);
+
+        matchingEngine.submit(sell);
+        matchingEngine.submit(buy);
+        awaitStatus(buy, OrderStatus.FILLED);
+        matchingEngine.cancel(sell);
+        awaitStatus(sell, OrderStatus.CANCLED);
+
+        assertEquals(OrderStatus.FILLED, buy.getStatus());
+        assertEquals(2, assets.get(seller.getId()).getQuantity(), 1e-9);
+        assertEquals(1, assets.get(buyer.getId()).getQuantity(), 1e-9);
+        assertEquals(0, new BigDecimal(10).compareTo(wallets.get(buyer.getId()).getBalance()));
+        assertEquals(0, new BigDecimal(100).compareTo(wallets.get(seller.getId()).getBalance()));
+    }
+
+    @Test
+    void nonCrossingOrdersBothRest() throws InterruptedException {
+        Order sell = order(11L, seller, OrderType.SELL, 2, 80, 120);
+        Order buy = order(12L, buyer, OrderType.BUY, 1, 110, 0);
+
+        matchingEngine.submit(sell);
+        matchingEngine.submit(buy);
+        matchingEngine.cancel(buy);
+        awaitStatus(buy, OrderStatus.CANCLED);
+
+        assertEquals(OrderStatus.PENDING, sell.getStatus());
+        assertEquals(0, new BigDecimal(110).compareTo(wallets.get(buyer.getId()).getBalance()));
+        assertEquals(0, wallets.get(seller.getId()).getBalance().signum());
+        assertNull(assets.get(buyer.getId()));
+        assertEquals(1, assets.get(seller.getId()).getQuantity(), 1e-9);
+    }
+
+    // Each committed batch releases a permit, so this waits for batches until the order reaches the status.
+    private void awaitStatus(Order order, OrderStatus status) throws InterruptedException {
+        while (order.getStatus() != status) {
+            assertTrue(written.tryAcquire(5, TimeUnit.SECONDS), "order " + order.getId() + " never became " + status);
+        }
+    }
+
+    private Order order(Long id, User user, OrderType orderType, double quantity, double buyPrice, double sellPrice) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setCoin(coin);
+        orderItem.setQuantity(quantity);
+        orderItem.setBuyPrice(buyPrice);
+        orderItem.setSellPrice(sellPrice);
+
+        Order order = new Order();
+        order.setId(id);
+        order.setUser(user);
+        order.setOrderItem(orderItem);
+        order.setOrderType(orderType);
+        order.setStatus(OrderStatus.PENDING);
+        orderItem.setOrder(order);
+        orders.put(id, order);
+
+        return order;
+    }
+
+    private Asset asset(User user, double quantity, double buyPrice) {
+        Asset asset = new Asset();
+        asset.setUser(user);
+        asset.setCoin(coin);
+        asset.setQuantity(quantity);
+        asset.setBuyPrice(buyPrice);
+
+        return asset;
+    }
+
+    private static Wallet wallet(Long id, User user) {
+        Wallet wallet = new Wallet();
+        wallet.setId(id);
+        wallet.setUser(user);
+
+        return wallet;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+
+        return user;
+    }
+}
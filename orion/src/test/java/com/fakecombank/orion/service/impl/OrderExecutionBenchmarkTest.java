@@ -0,0 +1,169 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.model.Wallet;
+import com.fakecombank.orion.repository.CoinRepository;
+import com.fakecombank.orion.repository.LedgerEntryRepository;
+import com.fakecombank.orion.repository.UserRepository;
+import com.fakecombank.orion.repository.WalletRepository;
+import com.fakecombank.orion.service.ConflictRetryService;
+import com.fakecombank.orion.service.JournalService;
+import com.fakecombank.orion.service.LivePriceService;
+import com.fakecombank.orion.service.MatchingEngine;
+
+// Counts JDBC round trips (executes and executeBatch calls) per market order on the embedded database and fails
+// when an order issues more than it did when the order path was batched. The order, asset, wallet and ledger writes
+// all run through the real services; only the live price, the matching engine, the retry wrapper (not on the direct
+// buy and sell path) and the journal, which writes to files rather than the database, are mocked.
+@DataJpaTest(showSql = false)
+@Import({ OrderServiceImpl.class, AssetServiceImpl.class, WalletServiceImpl.class, LedgerServiceImpl.class,
+        OrderExecutionBenchmarkTest.StatementCounting.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderExecutionBenchmarkTest {
+    private static final int WARMUP = 100;
+    private static final int ORDERS = 500;
+    private static final AtomicLong STATEMENTS = new AtomicLong();
+
+    @MockitoBean
+    private LivePriceService livePriceService;
+    @MockitoBean
+    private MatchingEngine matchingEngine;
+    @MockitoBean
+    private ConflictRetryService conflictRetryService;
+    @MockitoBean
+    private JournalService journalService;
+    @Autowired
+    private OrderServiceImpl orderService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CoinRepository coinRepository;
+    @Autowired
+    private WalletRepository walletRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    private User user;
+    private Coin coin;
+
+    @BeforeEach
+    void setUp() {
+        when(livePriceService.getPriceForOrder(anyString())).thenReturn(100.0);
+        user = new User();
+        user.setEmail("bench@fakecombank.com");
+        user = userRepository.save(user);
+        Wallet wallet = new Wallet();
+        wallet.setId(10000L);
+        wallet.setUser(user);
+        wallet.setBalance(new BigDecimal(1_000_000));
+        walletRepository.save(wallet);
+        coin = new Coin();
+        coin.setId("bitcoin");
+        coin.setSymbol("btc");
+        coin = coinRepository.save(coin);
+    }
+
+    @Test
+    void boundsStatementsPerOrder() {
+        for (int i = 0; i < WARMUP; i++) {
+            orderService.buyAsset(coin, 1, user);
+            orderService.sellAsset(coin, 0.5, user);
+        }
+
+        long start = STATEMENTS.get();
+        for (int i = 0; i < ORDERS; i++) {
+            orderService.buyAsset(coin, 1, user);
+        }
+        double buyStatements = (double) (STATEMENTS.get() - start) / ORDERS;
+
+        start = STATEMENTS.get();
+        for (int i = 0; i < ORDERS; i++) {
+            orderService.sellAsset(coin, 0.5, user);
+        }
+        double sellStatements = (double) (STATEMENTS.get() - start) / ORDERS;
+
+        assertEquals(4L * (WARMUP + ORDERS), ledgerEntryRepository.count());
+        assertTrue(buyStatements <= 7.1, "buy issued " + buyStatements + " statements per order");
+        assertTrue(sellStatements <= 8.1, "sell issued " + sellStatements + " statements per order");
+    }
+
+    @TestConfiguration
+    static class StatementCounting {
+        private static final Set<String> EXECUTES = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+                "executeBatch", "executeLargeBatch");
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+                    return bean instanceof DataSource dataSource ? counting(DataSource.class, dataSource) : bean;
+                }
+            };
+        }
+
+        private static <T> T counting(Class<T> type, T target) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                if (EXECUTES.contains(method.getName())) {
+                    STATEMENTS.incrementAndGet();
+                }
+
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+
+                if (result instanceof Connection connection) {
+                    return counting(Connection.class, connection);
+                }
+
+                if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                    return counting(statementType(method.getReturnType()), statement);
+                }
+
+                return result;
+            };
+
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T extends Statement> Class<T> statementType(Class<?> returnType) {
+
+            return (Class<T>) returnType;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fakecombank.orion.constant.BatchOrderMode;
+import com.fakecombank.orion.constant.LedgerAccount;
+import com.fakecombank.orion.constant.LedgerEntryType;
+import com.fakecombank.orion.constant.OrderStatus;
+import com.fakecombank.orion.constant.OrderType;
+import com.fakecombank.orion.model.Asset;
+import com.fakecombank.orion.model.Coin;
+import com.fakecombank.orion.model.Order;
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.model.Wallet;
+import com.fakecombank.orion.repository.AssetRepository;
+import com.fakecombank.orion.repository.CoinRepository;
+import com.fakecombank.orion.repository.OrderRepository;
+import com.fakecombank.orion.repository.WalletRepository;
+import com.fakecombank.orion.request.CreateOrderRequest;
+import com.fakecombank.orion.response.BatchOrderResponse;
+import com.fakecombank.orion.service.JournalService;
+import com.fakecombank.orion.service.LedgerService;
+import com.fakecombank.orion.service.LivePriceService;
+import com.fakecombank.orion.service.WalletService;
+import com.fakecombank.orion.utils.FixedPoint;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OrderServiceImplTest {
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private CoinRepository coinRepository;
+    @Mock
+    private AssetRepository assetRepository;
+    @Mock
+    private WalletRepository walletRepository;
+    @Mock
+    private WalletService walletService;
+    @Mock
+    private LivePriceService livePriceService;
+    @Mock
+    private JournalService journalService;
+    @Mock
+    private LedgerService ledgerService;
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    private final User user = new User();
+    private final Wallet wallet = new Wallet();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderService, "maxBatchSize", 100);
+        user.setId(1L);
+        wallet.setId(20000L);
+        wallet.setBalance(BigDecimal.valueOf(1_000));
+
+        when(coinRepository.findAllById(any())).thenReturn(List.of(coin("bitcoin"), coin("ethereum")));
+        when(assetRepository.findByUserId(1L)).thenReturn(List.of(asset("ethereum", 2)));
+        when(walletService.getUserWallet(user)).thenReturn(wallet);
+        when(walletRepository.debitIfSufficient(eq(20000L), any())).thenReturn(wallet);
+        when(walletRepository.credit(eq(20000L), any())).thenReturn(wallet);
+        when(livePriceService.getPriceForOrder("bitcoin")).thenReturn(400.0);
+        when(livePriceService.getPriceForOrder("ethereum")).thenReturn(100.0);
+    }
+
+    @Test
+    void allOrNothingRejectsWholeBatchWhenTotalExceedsBalance() {
+        BatchOrderResponse response = orderService.processBatch(user,
+                List.of(order("bitcoin", 2, OrderType.BUY), order("bitcoin", 1, OrderType.BUY)), BatchOrderMode.ALL_OR_NOTHING);
+
+        assertFalse(response.isExecuted());
+        assertEquals(OrderStatus.CANCLED, response.getResults().get(0).getStatus());
+        assertNull(response.getResults().get(0).getOrder());
+        verify(orderRepository, never()).saveAll(anyList());
+        verify(walletRepository, never()).debitIfSufficient(any(), any());
+    }
+
+    @Test
+    void allOrNothingNetsSellsAgainstBuys() {
+        BatchOrderResponse response = orderService.processBatch(user,
+                List.of(order("bitcoin", 3, OrderType.BUY), order("ethereum", 2, OrderType.SELL)), BatchOrderMode.ALL_OR_NOTHING);
+
+        assertTrue(response.isExecuted());
+        verify(walletRepository).debitIfSufficient(eq(20000L), amount(1_000));
+        verify(walletRepository, never()).save(any());
+        verify(ledgerService).post(eq(LedgerEntryType.ORDER_PAYMENT), eq(20000L), eq(LedgerAccount.MARKET.getId()),
+                eq(1_200 * FixedPoint.SCALE), any());
+        verify(ledgerService).post(eq(LedgerEntryType.ORDER_PROCEEDS), eq(LedgerAccount.MARKET.getId()), eq(20000L),
+                eq(200 * FixedPoint.SCALE), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bestEffortExecutesOrdersThatFit() {
+        BatchOrderResponse response = orderService.processBatch(user,
+                List.of(order("bitcoin", 2, OrderType.BUY), order("bitcoin", 2, OrderType.BUY), order("ethereum", 5, OrderType.SELL)),
+                BatchOrderMode.BEST_EFFORT);
+
+        assertTrue(response.isExecuted());
+        assertEquals(List.of(OrderStatus.SUCCESS, OrderStatus.ERROR, OrderStatus.ERROR),
+                response.getResults().stream().map(result -> result.getStatus()).toList());
+
+        ArgumentCaptor<List<Order>> saved = ArgumentCaptor.forClass(List.class);
+        verify(orderRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        verify(walletRepository).debitIfSufficient(eq(20000L), amount(800));
+    }
+
+    @Test
+    void batchFailsWhenBalanceWasSpentConcurrently() {
+        when(walletRepository.debitIfSufficient(eq(20000L), any())).thenReturn(null);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> orderService.processBatch(user,
+                List.of(order("bitcoin", 1, OrderType.BUY)), BatchOrderMode.ALL_OR_NOTHING));
+
+        assertEquals("Insufficient balance for the batch", e.getMessage());
+        verify(orderRepository, never()).saveAll(anyList());
+    }
+
+    private static BigDecimal amount(long value) {
+
+        return argThat(amount -> amount.compareTo(BigDecimal.valueOf(value)) == 0);
+    }
+
+    private static CreateOrderRequest order(String coinId, double quantity, OrderType orderType) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCoinId(coinId);
+        request.setQuantity(quantity);
+        request.setOrderType(orderType);
+        return request;
+    }
+
+    private static Coin coin(String id) {
+        Coin coin = new Coin();
+        coin.setId(id);
+        return coin;
+    }
+
+    private Asset asset(String coinId, double quantity) {
+        Asset asset = new Asset();
+        asset.setId(10L);
+        asset.setUser(user);
+        asset.setCoin(coin(coinId));
+        asset.setQuantity(quantity);
+        return asset;
+    }
+}
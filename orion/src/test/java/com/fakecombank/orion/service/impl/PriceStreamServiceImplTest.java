@@ -0,0 +1,159 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitterReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fakecombank.orion.model.PriceQuote;
+import com.fakecombank.orion.service.LivePriceService;
+import com.fakecombank.orion.service.PriceStreamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Each emitter is attached to a mock servlet response through Spring MVC's own return value handler, so events are
+// written out and completion callbacks fire the way they do behind a real connection.
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PriceStreamServiceImplTest {
+    @Mock
+    private LivePriceService livePriceService;
+
+    private final ResponseBodyEmitterReturnValueHandler returnValueHandler = new ResponseBodyEmitterReturnValueHandler(
+            List.of(new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter()));
+
+    private PriceStreamServiceImpl priceStreamService;
+    private Consumer<PriceQuote> priceChanges;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        priceStreamService = new PriceStreamServiceImpl(livePriceService, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry(), 60_000, 2, 16);
+
+        ArgumentCaptor<Consumer<PriceQuote>> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(livePriceService).addPriceChangeListener(listener.capture());
+        priceChanges = listener.getValue();
+    }
+
+    @AfterEach
+    void close() {
+        priceStreamService.close();
+    }
+
+    @Test
+    void subscriberReceivesOnlyTheCoinsItWatches() throws Exception {
+        MockHttpServletResponse response = connect(priceStreamService.subscribe(Set.of("bitcoin")));
+
+        priceChanges.accept(quote("ethereum", 3_000));
+        priceChanges.accept(quote("bitcoin", 60_000));
+        awaitContent(response, "\"coinId\":\"bitcoin\"");
+
+        String content = response.getContentAsString();
+        assertTrue(content.startsWith("event:prices\n"));
+        assertTrue(content.contains("\"price\":60000.0"));
+        assertFalse(content.contains("ethereum"));
+    }
+
+    @Test
+    void subscriberWithoutCoinsReceivesEveryCoin() throws Exception {
+        MockHttpServletResponse response = connect(priceStreamService.subscribe(Set.of()));
+
+        priceChanges.accept(quote("ethereum", 3_000));
+        priceChanges.accept(quote("bitcoin", 60_000));
+
+        awaitContent(response, "\"coinId\":\"ethereum\"");
+        awaitContent(response, "\"coinId\":\"bitcoin\"");
+    }
+
+    @Test
+    void completingTheEmitterRemovesTheSubscriber() throws Exception {
+        SseEmitter emitter = priceStreamService.subscribe(Set.of("bitcoin"));
+
+        connect(emitter);
+        assertEquals(1, priceStreamService.subscriberCount());
+
+        emitter.complete();
+
+        assertEquals(0, priceStreamService.subscriberCount());
+    }
+
+    @Test
+    void connectionEndingRemovesTheSubscriber() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        connect(priceStreamService.subscribe(Set.of("bitcoin")), request);
+        connect(priceStreamService.subscribe(Set.of()));
+        assertEquals(2, priceStreamService.subscriberCount());
+
+        request.getAsyncContext().complete();
+
+        assertEquals(1, priceStreamService.subscriberCount());
+    }
+
+    @Test
+    void rejectsMoreCoinsThanAllowed() {
+        assertThrows(RuntimeException.class, () -> priceStreamService.subscribe(Set.of("bitcoin", "ethereum", "solana")));
+        assertEquals(0, priceStreamService.subscriberCount());
+    }
+
+    private MockHttpServletResponse connect(SseEmitter emitter) throws Exception {
+
+        return connect(emitter, new MockHttpServletRequest());
+    }
+
+    private MockHttpServletResponse connect(SseEmitter emitter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+
+        request.setAsyncSupported(true);
+        WebAsyncUtils.getAsyncManager(webRequest).setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+        returnValueHandler.handleReturnValue(emitter,
+                new MethodParameter(PriceStreamService.class.getMethod("subscribe", Set.class), -1),
+                new ModelAndViewContainer(), webRequest);
+
+        return response;
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+
+        while (!response.getContentAsString().contains(expected)) {
+            assertTrue(System.nanoTime() < deadline, "stream never contained " + expected);
+            Thread.sleep(10);
+        }
+    }
+
+    private static PriceQuote quote(String coinId, double price) {
+
+        return new PriceQuote(coinId, price, 1, Instant.now());
+    }
+}
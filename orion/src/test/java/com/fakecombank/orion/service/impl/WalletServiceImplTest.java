@@ -0,0 +1,158 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.fakecombank.orion.constant.LedgerAccount;
+import com.fakecombank.orion.constant.LedgerEntryType;
+import com.fakecombank.orion.constant.OrderStatus;
+import com.fakecombank.orion.constant.OrderType;
+import com.fakecombank.orion.model.Order;
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.model.Wallet;
+import com.fakecombank.orion.repository.WalletRepository;
+import com.fakecombank.orion.service.JournalService;
+import com.fakecombank.orion.service.LedgerService;
+import com.fakecombank.orion.utils.FixedPoint;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WalletServiceImplTest {
+    @Mock
+    private WalletRepository walletRepository;
+    @Mock
+    private JournalService journalService;
+    @Mock
+    private LedgerService ledgerService;
+    @InjectMocks
+    private WalletServiceImpl walletService;
+
+    private final User user = new User();
+
+    @BeforeEach
+    void setUp() {
+        user.setId(1L);
+        when(walletRepository.findIdByUserId(1L)).thenReturn(20000L);
+    }
+
+    @Test
+    void buyDebitsWithoutLoadingWallet() {
+        when(walletRepository.debitIfSufficient(20000L, BigDecimal.valueOf(250))).thenReturn(wallet(20000L, 750));
+
+        Wallet wallet = walletService.payOrderPayment(order(OrderType.BUY, 250), user);
+
+        assertEquals(BigDecimal.valueOf(750), wallet.getBalance());
+        assertSame(user, wallet.getUser());
+        verify(walletRepository, never()).findById(anyLong());
+        verify(walletRepository, never()).save(any());
+    }
+
+    @Test
+    void buyFailsWhenDebitConditionDoesNotHold() {
+        assertThrows(RuntimeException.class, () -> walletService.payOrderPayment(order(OrderType.BUY, 250), user));
+    }
+
+    @Test
+    void sellCreditsWallet() {
+        when(walletRepository.credit(20000L, BigDecimal.valueOf(250))).thenReturn(wallet(20000L, 1_250));
+
+        assertEquals(BigDecimal.valueOf(1_250), walletService.payOrderPayment(order(OrderType.SELL, 250), user).getBalance());
+    }
+
+    @Test
+    void transferTouchesLowerWalletIdFirst() {
+        when(walletRepository.credit(10000L, BigDecimal.valueOf(40))).thenReturn(wallet(10000L, 40));
+        when(walletRepository.debitIfSufficient(20000L, BigDecimal.valueOf(40))).thenReturn(wallet(20000L, 60));
+
+        Wallet sender = walletService.walletToWalletTransfer(user, wallet(10000L, 0), 40L);
+
+        assertEquals(BigDecimal.valueOf(60), sender.getBalance());
+        InOrder order = inOrder(walletRepository);
+        order.verify(walletRepository).credit(10000L, BigDecimal.valueOf(40));
+        order.verify(walletRepository).debitIfSufficient(20000L, BigDecimal.valueOf(40));
+        verify(ledgerService).post(LedgerEntryType.TRANSFER, 20000L, 10000L, 40 * FixedPoint.SCALE, null);
+    }
+
+    @Test
+    void pendingBuyReservesIntoEscrowAndMarketBuyPaysMarket() {
+        when(walletRepository.debitIfSufficient(20000L, BigDecimal.valueOf(250))).thenReturn(wallet(20000L, 750));
+        Order limit = order(OrderType.BUY, 250);
+        Order market = order(OrderType.BUY, 250);
+
+        limit.setId(7L);
+        limit.setStatus(OrderStatus.PENDING);
+        market.setId(8L);
+        market.setStatus(OrderStatus.SUCCESS);
+        walletService.payOrderPayment(limit, user);
+        walletService.payOrderPayment(market, user);
+
+        verify(ledgerService).post(LedgerEntryType.ORDER_PAYMENT, 20000L, LedgerAccount.ESCROW.getId(), 250 * FixedPoint.SCALE,
+                "order:7");
+        verify(ledgerService).post(LedgerEntryType.ORDER_PAYMENT, 20000L, LedgerAccount.MARKET.getId(), 250 * FixedPoint.SCALE,
+                "order:8");
+    }
+
+    @Test
+    void withdrawalPostsToFunding() {
+        when(walletRepository.debitIfSufficient(20000L, BigDecimal.valueOf(5))).thenReturn(wallet(20000L, 95));
+
+        walletService.addBalance(wallet(20000L, 100), -5L);
+
+        verify(walletRepository, never()).credit(any(), any());
+        verify(ledgerService).post(LedgerEntryType.WITHDRAWAL, 20000L, LedgerAccount.FUNDING.getId(), 5 * FixedPoint.SCALE, null);
+    }
+
+    @Test
+    void withdrawalFailsOnInsufficientBalance() {
+        when(walletRepository.debitIfSufficient(20000L, BigDecimal.valueOf(500))).thenReturn(null);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> walletService.addBalance(wallet(20000L, 100), -500L));
+
+        assertEquals("Insufficient balance", e.getMessage());
+        verify(ledgerService, never()).post(any(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void transferFailsOnInsufficientBalance() {
+        when(walletRepository.credit(30000L, BigDecimal.valueOf(40))).thenReturn(wallet(30000L, 40));
+
+        assertThrows(RuntimeException.class, () -> walletService.walletToWalletTransfer(user, wallet(30000L, 0), 40L));
+        verify(walletRepository, never()).credit(30000L, BigDecimal.valueOf(40));
+        verify(ledgerService, never()).post(any(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    private static Order order(OrderType type, long price) {
+        Order order = new Order();
+        order.setOrderType(type);
+        order.setPrice(BigDecimal.valueOf(price));
+
+        return order;
+    }
+
+    private static Wallet wallet(Long id, long balance) {
+        Wallet wallet = new Wallet();
+        wallet.setId(id);
+        wallet.setBalance(BigDecimal.valueOf(balance));
+
+        return wallet;
+    }
+}
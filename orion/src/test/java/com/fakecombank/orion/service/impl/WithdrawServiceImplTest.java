@@ -0,0 +1,120 @@
+package com.fakecombank.orion.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.fakecombank.orion.constant.WalletTransactionType;
+import com.fakecombank.orion.constant.WithdrawStatus;
+import com.fakecombank.orion.model.User;
+import com.fakecombank.orion.model.Wallet;
+import com.fakecombank.orion.model.Withdraw;
+import com.fakecombank.orion.repository.WithdrawRepository;
+import com.fakecombank.orion.service.TransactionService;
+import com.fakecombank.orion.service.WalletService;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WithdrawServiceImplTest {
+    @Mock
+    private WithdrawRepository withdrawRepository;
+    @Mock
+    private WalletService walletService;
+    @Mock
+    private TransactionService transactionService;
+    @InjectMocks
+    private WithdrawServiceImpl withdrawService;
+
+    private final User user = new User();
+    private final Wallet wallet = new Wallet();
+
+    @BeforeEach
+    void setUp() {
+        user.setId(1L);
+        wallet.setId(20000L);
+        wallet.setUser(user);
+        when(withdrawRepository.save(any(Withdraw.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(walletService.getUserWallet(user)).thenReturn(wallet);
+    }
+
+    @Test
+    void debitsBeforeRecordingTheRequest() {
+        Withdraw withdraw = withdrawService.requestWithdraw(300L, user, wallet);
+
+        assertEquals(WithdrawStatus.PENDING, withdraw.getStatus());
+        assertEquals(300L, withdraw.getAmount());
+        verify(walletService).addBalance(wallet, -300L);
+        verify(transactionService).createTransaction(wallet, WalletTransactionType.WITHDRAW, null, "Withdraw request", 300L);
+    }
+
+    @Test
+    void withdrawalLargerThanBalanceRecordsNothing() {
+        when(walletService.addBalance(wallet, -5_000L)).thenThrow(new RuntimeException("Insufficient balance"));
+
+        assertThrows(RuntimeException.class, () -> withdrawService.requestWithdraw(5_000L, user, wallet));
+
+        verify(withdrawRepository, never()).save(any());
+        verify(transactionService, never()).createTransaction(any(), any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void rejectsNonPositiveAmounts() {
+        assertThrows(RuntimeException.class, () -> withdrawService.requestWithdraw(-300L, user, wallet));
+        assertThrows(RuntimeException.class, () -> withdrawService.requestWithdraw(0L, user, wallet));
+
+        verify(walletService, never()).addBalance(any(), anyLong());
+    }
+
+    @Test
+    void declinedRequestPaysBackTheRequester() {
+        when(withdrawRepository.findById(7L)).thenReturn(Optional.of(pending(7L, 300L)));
+
+        Withdraw declined = withdrawService.processWithdraw(7L, false);
+
+        assertEquals(WithdrawStatus.DECLINED, declined.getStatus());
+        verify(walletService).addBalance(wallet, 300L);
+    }
+
+    @Test
+    void acceptedRequestKeepsTheDebit() {
+        when(withdrawRepository.findById(7L)).thenReturn(Optional.of(pending(7L, 300L)));
+
+        assertEquals(WithdrawStatus.SUCCESS, withdrawService.processWithdraw(7L, true).getStatus());
+        verify(walletService, never()).addBalance(any(), anyLong());
+    }
+
+    @Test
+    void processedRequestCannotBeDecidedAgain() {
+        Withdraw declined = pending(7L, 300L);
+        declined.setStatus(WithdrawStatus.DECLINED);
+        when(withdrawRepository.findById(7L)).thenReturn(Optional.of(declined));
+
+        assertThrows(RuntimeException.class, () -> withdrawService.processWithdraw(7L, false));
+        verify(walletService, never()).addBalance(any(), anyLong());
+    }
+
+    private Withdraw pending(Long id, Long amount) {
+        Withdraw withdraw = new Withdraw();
+        withdraw.setId(id);
+        withdraw.setAmount(amount);
+        withdraw.setUser(user);
+        withdraw.setStatus(WithdrawStatus.PENDING);
+
+        return withdraw;
+    }
+}
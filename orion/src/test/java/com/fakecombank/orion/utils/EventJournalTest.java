@@ -0,0 +1,130 @@
+package com.fakecombank.orion.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EventJournalTest {
+    private static final byte CREDIT = 1;
+    private static final byte DEBIT = 2;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysAcrossSegmentsAndRestart() throws IOException {
+        try (EventJournal journal = new EventJournal(dir, 4096)) {
+            for (int i = 0; i < 1_000; i++) {
+                journal.append(i % 4 == 0 ? DEBIT : CREDIT, payload(i % 10, 5));
+            }
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.count() > 1);
+        }
+
+        try (EventJournal reopened = new EventJournal(dir, 4096)) {
+            assertEquals(1_000, reopened.lastSequence());
+            assertEquals(1_001, reopened.append(CREDIT, payload(0, 5)));
+
+            Map<Long, Long> balances = reopened.replay(HashMap::new, EventJournalTest::apply, EventJournalTest::merge);
+
+            // Each of the 10 accounts gets 100 events; 1 in 4 overall are debits of 5, the rest credits of 5.
+            long total = balances.values().stream().mapToLong(Long::longValue).sum();
+            assertEquals(750 * 5 - 250 * 5 + 5, total);
+            assertEquals(10, balances.size());
+        }
+    }
+
+    @Test
+    void ignoresTornTailRecord() throws IOException {
+        try (EventJournal journal = new EventJournal(dir, 1 << 16)) {
+            journal.append(CREDIT, payload(1, 10));
+            journal.append(CREDIT, payload(1, 20));
+        }
+
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+
+        // Flip a payload byte of the second record so its crc no longer matches.
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int second = 8 + 17 + 16;
+            channel.write(ByteBuffer.wrap(new byte[] { 0x7f }), second + 8 + 17 + 15);
+        }
+
+        try (EventJournal reopened = new EventJournal(dir, 1 << 16)) {
+            Map<Long, Long> balances = reopened.replay(HashMap::new, EventJournalTest::apply, EventJournalTest::merge);
+
+            assertEquals(10L, balances.get(1L));
+            assertEquals(2, reopened.append(CREDIT, payload(1, 30)));
+        }
+    }
+
+    @Test
+    void concurrentWritersShareFlushes() throws Exception {
+        int threads = 16;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try (EventJournal journal = new EventJournal(dir, 1 << 20)) {
+            List<Future<?>> writers = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+                long account = t;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.awaitFlushed(journal.append(CREDIT, payload(account, 1)));
+                    }
+                }));
+            }
+
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+
+            Map<Long, Long> balances = journal.replay(HashMap::new, EventJournalTest::apply, EventJournalTest::merge);
+
+            assertEquals(threads, balances.size());
+            balances.values().forEach(balance -> assertEquals(perThread, balance));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static byte[] payload(long account, long amount) {
+
+        return ByteBuffer.allocate(16).putLong(account).putLong(amount).array();
+    }
+
+    private static void apply(Map<Long, Long> balances, EventJournal.Event event) {
+        long account = event.payload().getLong();
+        long amount = event.payload().getLong();
+
+        balances.merge(account, event.type() == DEBIT ? -amount : amount, Long::sum);
+    }
+
+    private static Map<Long, Long> merge(Map<Long, Long> left, Map<Long, Long> right) {
+        right.forEach((account, amount) -> left.merge(account, amount, Long::sum));
+
+        return left;
+    }
+}
@@ -0,0 +1,67 @@
+package com.fakecombank.orion.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.junit.jupiter.api.Test;
+
+class FixedPointTest {
+
+    @Test
+    void convertsAtEightDecimals() {
+        assertEquals(6_500_012_345_678L, FixedPoint.of(65000.12345678));
+        assertEquals(0L, FixedPoint.of(new BigDecimal("0.000000005")));
+        assertEquals(2L, FixedPoint.of(new BigDecimal("0.000000015")));
+        assertEquals(new BigDecimal("0.10000000"), FixedPoint.toBigDecimal(FixedPoint.of(0.1)));
+        assertEquals(0.1, FixedPoint.toDouble(FixedPoint.of(0.1)));
+    }
+
+    @Test
+    void roundsProductsInTheRequestedDirection() {
+        long price = FixedPoint.of(0.00000003);
+        long quantity = FixedPoint.of(0.5);
+
+        assertEquals(2, FixedPoint.multiply(price, quantity, RoundingMode.CEILING));
+        assertEquals(1, FixedPoint.multiply(price, quantity, RoundingMode.FLOOR));
+        assertEquals(2, FixedPoint.multiply(price, quantity, RoundingMode.HALF_EVEN));
+        assertEquals(-1, FixedPoint.multiply(-price, quantity, RoundingMode.CEILING));
+        assertEquals(-2, FixedPoint.multiply(-price, quantity, RoundingMode.FLOOR));
+        assertEquals(-2, FixedPoint.multiply(-price, quantity, RoundingMode.HALF_UP));
+        assertEquals(-1, FixedPoint.multiply(-price, quantity, RoundingMode.HALF_DOWN));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.multiply(price, quantity, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    void agreesWithBigDecimalForEveryRoundingMode() {
+        long[] values = { 1, 7, 49_999_999, 50_000_000, 150_000_000, 123_456_789_012L, 6_500_012_000_000L, 1_500_000L,
+                -3, -150_000_000, -987_654_321L, -4_000_000_000_000L };
+
+        for (RoundingMode mode : RoundingMode.values()) {
+            if (mode == RoundingMode.UNNECESSARY) {
+                continue;
+            }
+
+            for (long a : values) {
+                for (long b : values) {
+                    long expected = FixedPoint.toBigDecimal(a).multiply(FixedPoint.toBigDecimal(b))
+                            .setScale(FixedPoint.DECIMALS, mode).unscaledValue().longValueExact();
+
+                    assertEquals(expected, FixedPoint.multiply(a, b, mode), a + " * " + b + " " + mode);
+                }
+            }
+        }
+    }
+
+    @Test
+    void handlesProductsWiderThanALong() {
+        long price = FixedPoint.of(1_000_000.5);
+        long quantity = FixedPoint.of(5_000.25);
+
+        assertEquals(new BigDecimal("5000252500.12500000"),
+                FixedPoint.toBigDecimal(FixedPoint.multiply(price, quantity, RoundingMode.HALF_EVEN)));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.multiply(Long.MAX_VALUE, 10 * FixedPoint.SCALE, RoundingMode.DOWN));
+    }
+}
@@ -0,0 +1,110 @@
+package com.fakecombank.orion.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LaneExecutorTest {
+    private static final int WALLETS = 256;
+    private static final int CALLERS = 64;
+    private static final int OPERATIONS = 200;
+
+    private final LaneExecutor lanes = new LaneExecutor(64, "test-lane");
+
+    @AfterEach
+    void close() {
+        lanes.close();
+    }
+
+    @Test
+    void serializesReadModifyWritePerKey() throws Exception {
+        long[] balances = new long[WALLETS];
+
+        run(CALLERS, random -> {
+            int wallet = random.nextInt(WALLETS);
+            lanes.execute(wallet, () -> {
+                long balance = balances[wallet];
+                Thread.yield();
+                balances[wallet] = balance + 1;
+                return null;
+            });
+        });
+
+        long total = 0;
+        for (long balance : balances) {
+            total += balance;
+        }
+
+        assertEquals((long) CALLERS * OPERATIONS, total);
+    }
+
+    @Test
+    void transfersAcrossLanesConserveTotalWithoutDeadlock() {
+        long[] balances = new long[WALLETS];
+        Arrays.fill(balances, 1_000);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> run(CALLERS, random -> {
+            int from = random.nextInt(WALLETS);
+            int to = random.nextInt(WALLETS);
+            lanes.execute(from, to, () -> {
+                if (balances[from] > 0) {
+                    balances[from]--;
+                    Thread.yield();
+                    balances[to]++;
+                }
+                return null;
+            });
+        }));
+
+        long total = 0;
+        for (long balance : balances) {
+            total += balance;
+        }
+
+        assertEquals(1_000L * WALLETS, total);
+    }
+
+    @Test
+    void nestedCallOnOwnedLaneRunsInline() {
+        assertEquals(42, (int) lanes.execute(1, () -> lanes.execute(1, () -> 42)));
+        assertEquals(7, (int) lanes.execute(1, 2, () -> lanes.execute(2, () -> 7)));
+        assertThrows(IllegalStateException.class, () -> lanes.execute(3, () -> lanes.execute(3, 4, () -> 0)));
+    }
+
+    private interface Operation {
+
+        void run(SplittableRandom random) throws Exception;
+    }
+
+    private static void run(int callers, Operation operation) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int i = 0; i < callers; i++) {
+                SplittableRandom random = new SplittableRandom(i);
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < OPERATIONS; j++) {
+                        operation.run(random);
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fakecombank.orion.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class LatestValueBufferTest {
+
+    @Test
+    void keepsOnlyLatestValuePerKey() throws Exception {
+        LatestValueBuffer<String, Integer> buffer = new LatestValueBuffer<>(10);
+
+        buffer.offer("bitcoin", 1);
+        buffer.offer("ethereum", 2);
+        buffer.offer("bitcoin", 3);
+
+        assertEquals(List.of(3, 2), buffer.take());
+        assertEquals(1, buffer.dropped());
+    }
+
+    @Test
+    void dropsOldestKeyWhenFull() throws Exception {
+        LatestValueBuffer<String, Integer> buffer = new LatestValueBuffer<>(2);
+
+        buffer.offer("bitcoin", 1);
+        buffer.offer("ethereum", 2);
+        buffer.offer("solana", 3);
+
+        assertEquals(List.of(2, 3), buffer.take());
+        assertEquals(1, buffer.dropped());
+    }
+
+    @Test
+    void takeWaitsForNextValue() throws Exception {
+        LatestValueBuffer<String, Integer> buffer = new LatestValueBuffer<>(10);
+        CompletableFuture<List<Integer>> batch = new CompletableFuture<>();
+
+        Thread.ofVirtual().start(() -> {
+            try {
+                batch.complete(buffer.take());
+            } catch (InterruptedException e) {
+                batch.completeExceptionally(e);
+            }
+        });
+        buffer.offer("bitcoin", 1);
+
+        assertEquals(List.of(1), batch.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,111 @@
+package com.fakecombank.orion.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class OrderBookTest {
+    private static final long ALICE = 1;
+    private static final long BOB = 2;
+
+    private final OrderBook book = new OrderBook();
+    private final List<long[]> fills = new ArrayList<>();
+    private final OrderBook.FillListener recorder = (maker, taker, takerBuys, price, quantity) ->
+            fills.add(new long[] { maker, taker, price, quantity });
+
+    @Test
+    void matchesBestPriceFirstThenTimePriority() {
+        book.submit(1, ALICE, false, 101, 5, recorder);
+        book.submit(2, ALICE, false, 100, 5, recorder);
+        book.submit(3, ALICE, false, 100, 5, recorder);
+
+        long remaining = book.submit(4, BOB, true, 101, 12, recorder);
+
+        assertEquals(0, remaining);
+        assertEquals(3, fills.size());
+        assertEquals(List.of(2L, 3L, 1L), fills.stream().map(fill -> fill[0]).toList());
+        assertEquals(List.of(100L, 100L, 101L), fills.stream().map(fill -> fill[2]).toList());
+        assertEquals(3, book.quantityAt(false, 101));
+    }
+
+    @Test
+    void restsUnfilledRemainderAtLimit() {
+        book.submit(1, ALICE, false, 100, 4, recorder);
+
+        long remaining = book.submit(2, BOB, true, 100, 10, recorder);
+
+        assertEquals(6, remaining);
+        assertEquals(100, book.bestBid());
+        assertEquals(0, book.bestAsk());
+        assertEquals(6, book.quantityAt(true, 100));
+    }
+
+    @Test
+    void doesNotCrossBeyondLimit() {
+        book.submit(1, ALICE, false, 105, 4, recorder);
+
+        assertEquals(4, book.submit(2, BOB, true, 104, 4, recorder));
+        assertTrue(fills.isEmpty());
+        assertEquals(104, book.bestBid());
+        assertEquals(105, book.bestAsk());
+    }
+
+    @Test
+    void cancelRemovesOrderAndEmptyLevel() {
+        book.submit(1, ALICE, true, 99, 5, recorder);
+        book.submit(2, ALICE, true, 98, 5, recorder);
+        book.submit(3, ALICE, true, 99, 5, recorder);
+
+        assertEquals(5, book.cancel(1));
+        assertEquals(0, book.cancel(1));
+        assertEquals(5, book.quantityAt(true, 99));
+
+        book.cancel(3);
+
+        assertEquals(98, book.bestBid());
+        assertEquals(1, book.levels(true));
+
+        book.submit(4, BOB, false, 98, 2, recorder);
+
+        assertEquals(2L, fills.get(0)[0]);
+        assertEquals(3, book.quantityAt(true, 98));
+    }
+
+    @Test
+    void cancelsOwnRestingOrderInsteadOfTradingWithIt() {
+        List<long[]> selfTrades = new ArrayList<>();
+        OrderBook.FillListener listener = new OrderBook.FillListener() {
+            @Override
+            public void onFill(long maker, long taker, boolean takerBuys, long price, long quantity) {
+                recorder.onFill(maker, taker, takerBuys, price, quantity);
+            }
+
+            @Override
+            public void onSelfTradeCancel(long maker, long remaining) {
+                selfTrades.add(new long[] { maker, remaining });
+            }
+        };
+
+        book.submit(1, ALICE, false, 100, 5, listener);
+        book.submit(2, BOB, false, 100, 5, listener);
+        book.submit(3, ALICE, false, 101, 5, listener);
+
+        long remaining = book.submit(4, ALICE, true, 101, 8, listener);
+
+        assertEquals(3, remaining);
+        assertEquals(2, selfTrades.size());
+        assertEquals(List.of(1L, 3L), selfTrades.stream().map(cancel -> cancel[0]).toList());
+        assertEquals(List.of(5L, 5L), selfTrades.stream().map(cancel -> cancel[1]).toList());
+        assertEquals(1, fills.size());
+        assertEquals(2L, fills.get(0)[0]);
+        assertEquals(5L, fills.get(0)[3]);
+        assertEquals(0, book.bestAsk());
+        assertEquals(101, book.bestBid());
+        assertEquals(3, book.quantityAt(true, 101));
+        assertEquals(1, book.restingOrders());
+    }
+}
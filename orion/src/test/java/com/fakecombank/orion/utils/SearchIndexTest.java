@@ -0,0 +1,44 @@
+package com.fakecombank.orion.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fakecombank.orion.model.CoinSearchEntry;
+
+class SearchIndexTest {
+    private final SearchIndex index = SearchIndex.build(List.of(
+            new CoinSearchEntry("bitcoin-cash", "bch", "Bitcoin Cash", null, 15),
+            new CoinSearchEntry("bitcoin", "btc", "Bitcoin", null, 1),
+            new CoinSearchEntry("wrapped-bitcoin", "wbtc", "Wrapped Bitcoin", null, 12),
+            new CoinSearchEntry("ethereum", "eth", "Ethereum", null, 2),
+            new CoinSearchEntry("bitcoin-fork-token", "btcft", "Bitcoin Fork Token", null, 0)));
+
+    @Test
+    void ranksExactMatchesFirstThenPrefixByMarketCap() {
+        List<String> ids = index.search("bitcoin", 10).stream().map(CoinSearchEntry::getId).toList();
+
+        assertEquals(List.of("bitcoin", "wrapped-bitcoin", "bitcoin-cash", "bitcoin-fork-token"), ids);
+    }
+
+    @Test
+    void matchesSymbolPrefix() {
+        assertEquals("bitcoin", index.search("BT", 10).get(0).getId());
+    }
+
+    @Test
+    void toleratesTypos() {
+        List<CoinSearchEntry> results = index.search("etherium", 10);
+
+        assertTrue(!results.isEmpty());
+        assertEquals("ethereum", results.get(0).getId());
+    }
+
+    @Test
+    void respectsLimit() {
+        assertEquals(2, index.search("bit", 2).size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.fakecombank.orion.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        int callers = 16;
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<String>>> calls = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                calls.add(executor.submit(() -> {
+                    start.await();
+                    return singleFlight.execute("bitcoin", () -> load(upstream));
+                }));
+            }
+
+            start.countDown();
+
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (Future<CompletableFuture<String>> call : calls) {
+                results.add(call.get());
+            }
+
+            assertEquals(1, singleFlight.inFlight());
+            results.forEach(result -> assertFalse(result.isDone()));
+
+            upstream.complete("65000");
+
+            results.forEach(result -> assertEquals("65000", result.join()));
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(callers, singleFlight.calls());
+        assertEquals(callers - 1, singleFlight.coalesced());
+    }
+
+    @Test
+    void forgetsKeyOnceLoadCompletes() {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> result = singleFlight.execute("bitcoin", () -> load(first));
+
+        first.complete("65000");
+
+        assertEquals("65000", result.join());
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals("66000", singleFlight.execute("bitcoin", () -> load(CompletableFuture.completedFuture("66000"))).join());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void failedLoadReachesEveryCaller() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        IllegalStateException failure = new IllegalStateException("upstream down");
+
+        CompletableFuture<String> first = singleFlight.execute("bitcoin", () -> load(upstream));
+        CompletableFuture<String> second = singleFlight.execute("bitcoin", () -> load(upstream));
+
+        upstream.completeExceptionally(failure);
+
+        assertSame(failure, assertThrows(CompletionException.class, first::join).getCause());
+        assertSame(failure, assertThrows(CompletionException.class, second::join).getCause());
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void loaderThatThrowsFailsTheCallAndFreesTheKey() {
+        IllegalStateException failure = new IllegalStateException("no connection");
+
+        CompletableFuture<String> result = singleFlight.execute("bitcoin", () -> {
+            throw failure;
+        });
+
+        assertSame(failure, assertThrows(CompletionException.class, result::join).getCause());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void cancellingOneCallerLeavesTheOthersWaiting() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("bitcoin", () -> load(upstream));
+        CompletableFuture<String> second = singleFlight.execute("bitcoin", () -> load(upstream));
+
+        first.cancel(false);
+        upstream.complete("65000");
+
+        assertEquals("65000", second.join());
+    }
+
+    private CompletableFuture<String> load(CompletableFuture<String> upstream) {
+        loads.incrementAndGet();
+
+        return upstream;
+    }
+}
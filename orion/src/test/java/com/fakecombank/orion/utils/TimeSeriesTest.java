@@ -0,0 +1,84 @@
+package com.fakecombank.orion.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TimeSeriesTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendsOnlyNewerPointsAndReloadsFromDisk() throws Exception {
+        Path file = dir.resolve("bitcoin.ts");
+
+        try (TimeSeries series = TimeSeries.open(file)) {
+            assertEquals(3, series.merge(new long[] { 10, 20, 30 }, values(1, 2, 3), values(0, 0, 0), values(0, 0, 0), 3, 10));
+            assertEquals(1, series.merge(new long[] { 20, 30, 40 }, values(2, 3, 4), values(0, 0, 0), values(0, 0, 0), 3, 20));
+        }
+
+        try (TimeSeries series = TimeSeries.open(file)) {
+            TimeSeries.Slice slice = series.slice(20);
+
+            assertEquals(4, series.size());
+            assertEquals(10, series.coveredFrom());
+            assertArrayEquals(new long[] { 20, 30, 40 }, slice.timestamps);
+            assertArrayEquals(values(2, 3, 4), slice.prices);
+        }
+    }
+
+    @Test
+    void mergesBackfilledHistoryInOrder() throws Exception {
+        try (TimeSeries series = TimeSeries.open(dir.resolve("eth.ts"))) {
+            series.merge(new long[] { 30, 40 }, values(3, 4), values(0, 0), values(0, 0), 2, 30);
+            series.merge(new long[] { 5, 15, 30 }, values(0.5, 1.5, 3), values(0, 0, 0), values(0, 0, 0), 3, 5);
+
+            assertArrayEquals(new long[] { 5, 15, 30, 40 }, series.slice(0).timestamps);
+            assertEquals(5, series.coveredFrom());
+        }
+    }
+
+    @Test
+    void growsPastInitialCapacity() throws Exception {
+        int count = 5000;
+        long[] ts = new long[count];
+        double[] prices = new double[count];
+        for (int i = 0; i < count; i++) {
+            ts[i] = i;
+            prices[i] = i * 0.5;
+        }
+
+        try (TimeSeries series = TimeSeries.open(dir.resolve("sol.ts"))) {
+            series.merge(ts, prices, new double[count], new double[count], count, 0);
+        }
+
+        try (TimeSeries series = TimeSeries.open(dir.resolve("sol.ts"))) {
+            assertEquals(count, series.size());
+            assertEquals(4999 * 0.5, series.slice(4999).prices[0]);
+        }
+    }
+
+    @Test
+    void downsamplesKeepingEndpoints() {
+        long[] x = new long[1000];
+        double[] y = new double[1000];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i;
+            y[i] = Math.sin(i / 20.0);
+        }
+
+        int[] selected = Lttb.select(x, y, 100);
+
+        assertEquals(100, selected.length);
+        assertEquals(0, selected[0]);
+        assertEquals(999, selected[99]);
+    }
+
+    private static double[] values(double... values) {
+        return values;
+    }
+}
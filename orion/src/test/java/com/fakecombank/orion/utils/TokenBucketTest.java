@@ -0,0 +1,57 @@
+package com.fakecombank.orion.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+    private final AtomicLong now = new AtomicLong();
+    private final TokenBucket bucket = new TokenBucket(3, 2, now::get);
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+
+        assertFalse(bucket.tryAcquire());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bucket.nanosUntilAvailable());
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        drain();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        assertFalse(bucket.tryAcquire());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(250), bucket.nanosUntilAvailable());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        assertEquals(0, bucket.nanosUntilAvailable());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void neverRefillsBeyondCapacity() {
+        drain();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    private void drain() {
+        while (bucket.tryAcquire()) {
+            // spend the initial burst
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.fakecombank.orion.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class TriggerIndexTest {
+    private final TriggerIndex index = new TriggerIndex();
+    private final List<Long> fired = new ArrayList<>();
+
+    @Test
+    void firesOnlyCrossedTriggers() {
+        index.add("bitcoin", 1, false, 90);
+        index.add("bitcoin", 2, false, 80);
+        index.add("bitcoin", 3, true, 110);
+        index.add("bitcoin", 4, true, 120);
+        index.add("ethereum", 5, false, 95);
+
+        assertEquals(0, index.fire("bitcoin", 100, fired::add));
+        assertEquals(1, index.fire("bitcoin", 85, fired::add));
+        assertEquals(List.of(1L), fired);
+
+        assertEquals(2, index.fire("bitcoin", 125, fired::add));
+        assertEquals(List.of(1L, 3L, 4L), fired);
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void removedTriggersDoNotFire() {
+        index.add("bitcoin", 1, false, 90);
+        index.add("bitcoin", 2, false, 95);
+
+        assertTrue(index.remove("bitcoin", 2, false));
+        assertFalse(index.remove("bitcoin", 2, false));
+        assertFalse(index.remove("bitcoin", 1, true));
+
+        index.fire("bitcoin", 50, fired::add);
+
+        assertEquals(List.of(1L), fired);
+    }
+
+    @Test
+    void removesFromAnywhereInTheHeap() {
+        SplittableRandom random = new SplittableRandom(11);
+        double[] prices = new double[1_000];
+
+        for (int id = 0; id < prices.length; id++) {
+            prices[id] = 100 + random.nextDouble(100);
+            index.add("bitcoin", id, true, prices[id]);
+        }
+
+        for (int id = 0; id < prices.length; id += 3) {
+            assertTrue(index.remove("bitcoin", id, true));
+        }
+
+        index.fire("bitcoin", 200, fired::add);
+
+        assertEquals(666, fired.size());
+        for (int i = 0; i < fired.size(); i++) {
+            assertTrue(fired.get(i) % 3 != 0);
+            assertTrue(i == 0 || prices[fired.get(i - 1).intValue()] <= prices[fired.get(i).intValue()]);
+        }
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void staysConsistentThroughInterleavedAddsCancelsAndFires() {
+        SplittableRandom random = new SplittableRandom(3);
+        Map<Long, Double> resting = new HashMap<>();
+        long nextId = 0;
+
+        for (int step = 0; step < 50_000; step++) {
+            int action = random.nextInt(10);
+
+            if (action < 6 || resting.isEmpty()) {
+                double price = 100 + random.nextInt(1_000) / 10.0;
+                index.add("bitcoin", nextId, true, price);
+                resting.put(nextId++, price);
+            } else if (action < 9) {
+                long id = random.nextLong(nextId);
+                assertEquals(resting.remove(id) != null, index.remove("bitcoin", id, true));
+            } else {
+                double price = 100 + random.nextInt(200) / 10.0;
+                fired.clear();
+                index.fire("bitcoin", price, fired::add);
+                fired.forEach(id -> assertTrue(resting.remove(id) <= price));
+                resting.values().forEach(left -> assertTrue(left > price));
+            }
+
+            assertEquals(resting.size(), index.size());
+        }
+    }
+
+    @Test
+    void firesInPriceOrderAcrossManyTriggers() {
+        SplittableRandom random = new SplittableRandom(7);
+        int count = 1_000_000;
+
+        for (long id = 0; id < count; id++) {
+            index.add("bitcoin", id, true, 100 + random.nextDouble(100));
+        }
+
+        int firedCount = index.fire("bitcoin", 101, fired::add);
+
+        assertEquals(firedCount, fired.size());
+        assertEquals(count - firedCount, index.size());
+        assertEquals(0, index.fire("bitcoin", 101, fired::add));
+    }
+}
@@ -0,0 +1,80 @@
+package com.fakecombank.orion.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TtlCacheTest {
+    private static final Duration TTL = Duration.ofSeconds(10);
+    private static final Duration MAX_STALE = Duration.ofSeconds(60);
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesFreshValueWithoutReloading() {
+        TtlCache<String, String> cache = new TtlCache<>(10, now::get);
+
+        assertEquals("v1", cache.get("k", TTL, MAX_STALE, this::load).join());
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals("v1", cache.get("k", TTL, MAX_STALE, this::load).join());
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    void servesStaleValueWhileOneRefreshRuns() {
+        TtlCache<String, String> cache = new TtlCache<>(10, now::get);
+        CompletableFuture<String> refresh = new CompletableFuture<>();
+
+        cache.get("k", TTL, MAX_STALE, this::load).join();
+        now.addAndGet(Duration.ofSeconds(20).toNanos());
+
+        assertEquals("v1", cache.get("k", TTL, MAX_STALE, () -> refresh).join());
+        assertEquals("v1", cache.get("k", TTL, MAX_STALE, this::load).join());
+        assertEquals(1, cache.refreshes());
+        assertEquals(1, loads.get());
+
+        refresh.complete("v2");
+
+        assertEquals("v2", cache.get("k", TTL, MAX_STALE, this::load).join());
+        assertEquals(2, cache.staleHits());
+    }
+
+    @Test
+    void reloadsOncePastTheStaleWindow() {
+        TtlCache<String, String> cache = new TtlCache<>(10, now::get);
+
+        cache.get("k", TTL, MAX_STALE, this::load).join();
+        now.addAndGet(Duration.ofSeconds(120).toNanos());
+
+        assertEquals("v2", cache.get("k", TTL, MAX_STALE, this::load).join());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        TtlCache<String, String> cache = new TtlCache<>(2, now::get);
+
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.getIfPresent("a");
+        cache.put("c", "3");
+
+        assertNull(cache.getIfPresent("b"));
+        assertEquals("1", cache.getIfPresent("a"));
+        assertEquals(1, cache.evictions());
+    }
+
+    private CompletableFuture<String> load() {
+        return CompletableFuture.completedFuture("v" + loads.incrementAndGet());
+    }
+}